@@ -0,0 +1,61 @@
+package com.caw.game;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * The part of the level that is simulated: the camera view plus a margin, in pixels. Entities outside it are
+ * put to sleep by GameScreen. Entities wake when they enter the margin and only sleep again once they are a
+ * little further out, so something sitting on the edge does not flip every frame.
+ */
+public class ActivationRegion {
+    private final float margin;
+    private final float hysteresis;
+    private final Rectangle wakeBounds = new Rectangle();
+    private final Rectangle sleepBounds = new Rectangle();
+    private float lastCameraX = Float.NaN;
+    private float lastCameraY = Float.NaN;
+    private float lastWidth = Float.NaN;
+    private float lastHeight = Float.NaN;
+    private boolean dirty = true;
+
+    public ActivationRegion(float marginPixels, float hysteresisPixels) {
+        this.margin = marginPixels;
+        this.hysteresis = hysteresisPixels;
+    }
+
+    /**
+     * Moves the region to the camera. Returns false when the camera moved less than the hysteresis since the
+     * last re-evaluation, in which case nothing can have changed and the entity pass can be skipped.
+     */
+    public boolean update(OrthographicCamera camera) {
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        float x = camera.position.x;
+        float y = camera.position.y;
+        if (!dirty && Math.abs(x - lastCameraX) < hysteresis / 2f && Math.abs(y - lastCameraY) < hysteresis / 2f
+            && width == lastWidth && height == lastHeight) {
+            return false;
+        }
+        lastCameraX = x;
+        lastCameraY = y;
+        lastWidth = width;
+        lastHeight = height;
+        dirty = false;
+
+        wakeBounds.set(x - width / 2f - margin, y - height / 2f - margin, width + margin * 2f, height + margin * 2f);
+        float outer = margin + hysteresis;
+        sleepBounds.set(x - width / 2f - outer, y - height / 2f - outer, width + outer * 2f, height + outer * 2f);
+        return true;
+    }
+
+    /** Forces the next update() to re-evaluate, e.g. after entities were added. */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /** Whether an entity at (x, y) pixels should be simulated, given whether it currently is. */
+    public boolean shouldBeAwake(boolean awake, float xPixels, float yPixels) {
+        return awake ? sleepBounds.contains(xPixels, yPixels) : wakeBounds.contains(xPixels, yPixels);
+    }
+}
@@ -0,0 +1,26 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.ai.btree.BehaviorTree;
+
+/**
+ * An enemy's behaviour tree and what {@link AiSystem} keeps for it between ticks. The tree's blackboard is the
+ * entity itself; its tasks (see {@link EnemyTasks}) read {@link #elapsed} and {@link #playerDistanceSquared}
+ * from here instead of assuming they run every step.
+ */
+public class AiComponent implements Component {
+    public final BehaviorTree<Entity> tree;
+    // game time since the tree last ran, what its tasks advance timers by
+    public float elapsed = 0f;
+    // set by AiSystem before each tick, Float.MAX_VALUE beyond its query radius or with no live player
+    public float playerDistanceSquared = Float.MAX_VALUE;
+    // AiSystem's step and game time at the last tick, and the step the player query last found it in
+    long lastTickStep;
+    double lastTickTime;
+    long foundStep = -1;
+
+    public AiComponent(BehaviorTree<Entity> tree) {
+        this.tree = tree;
+    }
+}
@@ -0,0 +1,167 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Comparator;
+
+/**
+ * Runs the enemies' behaviour trees, time-sliced over the fixed steps: every step within
+ * {@link #NEAR_RADIUS_METERS} of the player, every {@link #MID_INTERVAL} steps within {@link #MID_RADIUS_METERS},
+ * and the rest in a rotation that reaches each of them once every {@link #FAR_INTERVAL} steps. The near and
+ * mid enemies come from one spatial hash query around the player, so a step only touches those plus a
+ * 1/{@link #FAR_INTERVAL} slice of the others, and at most {@link #TICK_BUDGET} trees run.
+ */
+public class AiSystem extends TimedSystem {
+    public static final float NEAR_RADIUS_METERS = 8f;
+    public static final float MID_RADIUS_METERS = 20f;
+    public static final int MID_INTERVAL = 4;
+    public static final int FAR_INTERVAL = 16;
+    // -Dcaw.aiBudget=N caps the trees ticked per step, 0 for no cap
+    public static final int TICK_BUDGET = Integer.getInteger("caw.aiBudget", 128);
+    private static final int ENEMY_CATEGORIES =
+        CollisionLayers.category(FixtureTag.ENEMY) | CollisionLayers.category(FixtureTag.SHOOTING_ENEMY);
+
+    private final GameWorld gameWorld;
+    private ImmutableArray<Entity> entities;
+    private final IntArray foundIds = new IntArray();
+    private final Array<Entity> near = new Array<>(false, 32);
+    private final Array<Entity> mid = new Array<>(false, 32);
+    private long step = 0;
+    private double time = 0;
+    private int farCursor = 0;
+    private int lastTicks = 0;
+    private int lastDeferred = 0;
+
+    // least recently ticked first, so the budget never starves the same trees
+    private static final Comparator<Entity> OLDEST_TICK_FIRST = new Comparator<Entity>() {
+        @Override
+        public int compare(Entity a, Entity b) {
+            return Long.compare(Components.AI.get(a).lastTickStep, Components.AI.get(b).lastTickStep);
+        }
+    };
+
+    // a tree that wakes up (or is new) is due straight away, with no time to catch up on
+    private final EntityListener wakeListener = new EntityListener() {
+        @Override
+        public void entityAdded(Entity entity) {
+            AiComponent ai = Components.AI.get(entity);
+            ai.lastTickStep = step - FAR_INTERVAL;
+            ai.lastTickTime = time;
+        }
+
+        @Override
+        public void entityRemoved(Entity entity) {
+        }
+    };
+
+    public AiSystem(GameWorld gameWorld) {
+        super(SystemOrder.AI);
+        this.gameWorld = gameWorld;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Components.THINKERS);
+        engine.addEntityListener(Components.THINKERS, wakeListener);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(wakeListener);
+        entities = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        long start = System.nanoTime();
+        step++;
+        time += deltaTime;
+        lastTicks = 0;
+        lastDeferred = 0;
+        findNearPlayer();
+        tickDue(near, 1);
+        tickDue(mid, MID_INTERVAL);
+        tickFarSlice();
+        record(start);
+    }
+
+    /** Sorts the awake enemies within MID_RADIUS_METERS of a live player into near and mid, with their distance. */
+    private void findNearPlayer() {
+        near.clear();
+        mid.clear();
+        Player player = gameWorld.getPlayer();
+        if (player == null || player.isDead()) return;
+        Vector2 playerPos = player.getPositionMeters();
+        SpatialHash hash = gameWorld.getSpatialHash();
+        hash.queryRadius(playerPos.x, playerPos.y, MID_RADIUS_METERS, ENEMY_CATEGORIES, foundIds);
+        float nearSquared = NEAR_RADIUS_METERS * NEAR_RADIUS_METERS;
+        for (int i = 0; i < foundIds.size; i++) {
+            int id = foundIds.get(i);
+            SpatialHash.Tracked owner = hash.getOwner(id);
+            Entity entity = owner instanceof Enemy ? ((Enemy) owner).entity
+                : owner instanceof ShootingEnemy ? ((ShootingEnemy) owner).entity : null;
+            if (entity == null || !Components.THINKERS.matches(entity)) continue; // dormant, or no tree
+            AiComponent ai = Components.AI.get(entity);
+            float dx = hash.getX(id) - playerPos.x, dy = hash.getY(id) - playerPos.y;
+            ai.playerDistanceSquared = dx * dx + dy * dy;
+            ai.foundStep = step;
+            (ai.playerDistanceSquared <= nearSquared ? near : mid).add(entity);
+        }
+    }
+
+    /** Ticks the band's trees that are due, oldest tick first, while the budget lasts. */
+    private void tickDue(Array<Entity> band, int interval) {
+        band.sort(OLDEST_TICK_FIRST);
+        for (int i = 0; i < band.size; i++) {
+            AiComponent ai = Components.AI.get(band.get(i));
+            if (step - ai.lastTickStep < interval) break; // the rest were ticked even more recently
+            tick(ai);
+        }
+    }
+
+    /** Visits the next 1/FAR_INTERVAL of all trees and ticks those the query did not find this step. */
+    private void tickFarSlice() {
+        int size = entities.size();
+        if (size == 0) return;
+        int slice = (size + FAR_INTERVAL - 1) / FAR_INTERVAL;
+        int index = farCursor % size;
+        int firstDeferred = -1;
+        for (int visited = 0; visited < slice; visited++, index = (index + 1) % size) {
+            AiComponent ai = Components.AI.get(entities.get(index));
+            if (ai.foundStep == step) continue;
+            ai.playerDistanceSquared = Float.MAX_VALUE;
+            if (!tick(ai) && firstDeferred < 0) firstDeferred = index;
+        }
+        farCursor = firstDeferred >= 0 ? firstDeferred : index;
+    }
+
+    /** Runs the tree unless the budget is used up; false when it was deferred. */
+    private boolean tick(AiComponent ai) {
+        if (TICK_BUDGET > 0 && lastTicks >= TICK_BUDGET) {
+            lastDeferred++;
+            return false;
+        }
+        ai.elapsed = (float) (time - ai.lastTickTime);
+        ai.tree.step();
+        ai.lastTickStep = step;
+        ai.lastTickTime = time;
+        lastTicks++;
+        return true;
+    }
+
+    /** Trees ticked in the last step. */
+    public int getLastTicks() {
+        return lastTicks;
+    }
+
+    /** Trees that were due in the last step but left for the next one by the budget. */
+    public int getLastDeferred() {
+        return lastDeferred;
+    }
+}
@@ -0,0 +1,22 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Which frame of a shared {@link FacingAnimation} an entity shows. Gameplay code sets the animation, facing and
+ * pose; {@link AnimationSystem} advances the state time and puts the frame into the {@link SpriteComponent}.
+ */
+public class AnimationComponent implements Component {
+    public static final int ANIMATED = -1;
+
+    public FacingAnimation animation;
+    public float stateTime;
+    public boolean facingRight = true;
+    // a fixed frame index to hold instead of animating, or ANIMATED
+    public int pose = ANIMATED;
+
+    public AnimationComponent(FacingAnimation animation, float stateTime) {
+        this.animation = animation;
+        this.stateTime = stateTime;
+    }
+}
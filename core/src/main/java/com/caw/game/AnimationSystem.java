@@ -0,0 +1,20 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+
+/** Per frame: advances each awake animation and hands the frame for the entity's facing to its sprite. */
+public class AnimationSystem extends TimedIteratingSystem {
+    public AnimationSystem() {
+        super(Components.ANIMATED, SystemOrder.ANIMATION);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        AnimationComponent animation = Components.ANIMATION.get(entity);
+        if (animation.animation == null) return; // headless
+        animation.stateTime += deltaTime;
+        Components.SPRITE.get(entity).region = animation.pose == AnimationComponent.ANIMATED
+            ? animation.animation.getKeyFrame(animation.stateTime, animation.facingRight)
+            : animation.animation.getFrame(animation.pose, animation.facingRight);
+    }
+}
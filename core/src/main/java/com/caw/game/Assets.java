@@ -0,0 +1,221 @@
+package com.caw.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetErrorListener;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/**
+ * Game-wide asset cache owned by {@link GameStart}.
+ * Everything listed in the generated assets.txt manifest is queued once and loaded asynchronously
+ * behind the {@link LoadingScreen}; screens then borrow the loaded instances instead of decoding from disk.
+ * The underlying {@link AssetManager} is reference counted: {@link #acquire} adds a reference, {@link #release} drops it,
+ * and the preload reference held by this class keeps shared assets alive across screen switches.
+ */
+public class Assets implements Disposable {
+    public static final String ROOT = "assets/";
+    public static final String MANIFEST = ROOT + "assets.txt";
+
+    // textures
+    public static final String PLAYER_IDLE = ROOT + "skeleton_idle.png";
+    public static final String PLAYER_RUN = ROOT + "skeleton_run.png";
+    public static final String PLAYER_JUMP = ROOT + "player_jump.png";
+    public static final String PLAYER_FALL = ROOT + "player_fall.png";
+    public static final String COIN_SHEET = ROOT + "coin_animation_sheet.png";
+    public static final String KEY = ROOT + "key.png";
+    public static final String DOOR_CLOSED = ROOT + "door_closed.png";
+    public static final String DOOR_OPEN = ROOT + "door_open.png";
+    public static final String ENEMY_SHEET = ROOT + "enemy_animation_sheet.png";
+    public static final String SHOOTING_ENEMY_SHEET = ROOT + "shooting_enemy_animation_sheet.png";
+    public static final String PROJECTILE = ROOT + "projectile.png";
+    // plain white, tinted by SpriteBatch for bars and overlays
+    public static final String WHITE = ROOT + "white.png";
+
+    // sounds
+    public static final String SOUND_WALK = ROOT + "sounds/walk.wav";
+    public static final String SOUND_JUMP = ROOT + "sounds/jump.wav";
+    public static final String SOUND_PLAYER_HURT = ROOT + "sounds/player_hurt.wav";
+    public static final String SOUND_PLAYER_DEATH = ROOT + "sounds/player_death.wav";
+    public static final String SOUND_ENEMY_DEATH = ROOT + "sounds/enemy_death.wav";
+    public static final String SOUND_SHOOT = ROOT + "sounds/shoot.wav";
+    public static final String SOUND_COIN = ROOT + "sounds/coin.wav";
+    public static final String SOUND_KEY = ROOT + "sounds/key.wav";
+
+    // every sprite above, packed by the lwjgl3 packTextures task
+    public static final String ATLAS = ROOT + "atlas/game.atlas";
+
+    // ui
+    public static final String UI_SKIN = ROOT + "ui/uiskin.json";
+
+    // used when the manifest was not generated (running straight from the IDE)
+    private static final String[] REQUIRED_TEXTURES = {
+        PLAYER_IDLE, PLAYER_RUN, PLAYER_JUMP, PLAYER_FALL, COIN_SHEET, KEY, DOOR_CLOSED, DOOR_OPEN,
+        ENEMY_SHEET, SHOOTING_ENEMY_SHEET, PROJECTILE, WHITE
+    };
+    private static final String[] REQUIRED_SOUNDS = {
+        SOUND_WALK, SOUND_JUMP, SOUND_PLAYER_HURT, SOUND_PLAYER_DEATH, SOUND_ENEMY_DEATH, SOUND_SHOOT, SOUND_COIN, SOUND_KEY
+    };
+
+    final AssetManager manager;
+    private final ObjectMap<String, TextureRegion> regions = new ObjectMap<>();
+    private boolean queued = false;
+
+    public Assets() {
+        manager = new AssetManager();
+        manager.setErrorListener(new AssetErrorListener() {
+            @Override
+            public void error(AssetDescriptor asset, Throwable throwable) {
+                Gdx.app.error("Assets", "Could not load '" + asset.fileName + "'", throwable);
+            }
+        });
+    }
+
+    /** Queues every preloadable entry of the manifest. Call once, then pump {@link #update()} every frame. */
+    public void queueAll() {
+        if (queued) return;
+        queued = true;
+
+        Array<String> entries = readManifest();
+        ObjectSet<String> packed = new ObjectSet<>();
+        if (entries.contains("atlas/game.atlas", false) || Gdx.files.internal(ATLAS).exists()) {
+            manager.load(ATLAS, TextureAtlas.class);
+            packed = readPackedSprites();
+        }
+        if (entries.isEmpty()) {
+            Gdx.app.log("Assets", "Manifest '" + MANIFEST + "' not found, queueing required assets only");
+            for (String path : REQUIRED_TEXTURES) {
+                if (!packed.contains(path)) manager.load(path, Texture.class);
+            }
+            for (String path : REQUIRED_SOUNDS) manager.load(path, Sound.class);
+        } else {
+            for (String entry : entries) {
+                if (entry.endsWith(".png") && entry.indexOf('/') < 0) {
+                    // top level sprites and tilesets, unless the atlas has them; ui/ pngs belong to the skin atlas
+                    if (!packed.contains(ROOT + entry)) manager.load(ROOT + entry, Texture.class);
+                } else if (entry.startsWith("sounds/") && entry.endsWith(".wav")) {
+                    manager.load(ROOT + entry, Sound.class);
+                }
+            }
+        }
+        manager.load(UI_SKIN, Skin.class);
+        Gdx.app.log("Assets", "Queued " + manager.getQueuedAssets() + " assets");
+    }
+
+    // paths of the pngs packed into the atlas, from its region names; reading the .atlas text decodes no image
+    private ObjectSet<String> readPackedSprites() {
+        ObjectSet<String> packed = new ObjectSet<>();
+        try {
+            FileHandle atlasFile = Gdx.files.internal(ATLAS);
+            TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(atlasFile, atlasFile.parent(), false);
+            for (TextureAtlas.TextureAtlasData.Region region : data.getRegions()) packed.add(ROOT + region.name + ".png");
+        } catch (Exception e) {
+            Gdx.app.error("Assets", "Could not read '" + ATLAS + "', queueing the standalone sprites", e);
+        }
+        return packed;
+    }
+
+    private Array<String> readManifest() {
+        Array<String> entries = new Array<>();
+        FileHandle manifest = Gdx.files.internal(MANIFEST);
+        if (!manifest.exists()) return entries;
+
+        for (String line : manifest.readString("UTF-8").split("\n")) {
+            String entry = line.trim().replace('\\', '/');
+            if (!entry.isEmpty()) entries.add(entry);
+        }
+        return entries;
+    }
+
+    /** Loads a slice of the queue. Returns true once everything queued is ready. */
+    public boolean update() {
+        return manager.update();
+    }
+
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    public boolean isFinished() {
+        return manager.isFinished();
+    }
+
+    /**
+     * Borrows an asset without taking a reference. The asset stays owned by this cache;
+     * callers must not dispose it. Falls back to a blocking load if it was not preloaded.
+     */
+    public <T> T get(String path, Class<T> type) {
+        if (!manager.isLoaded(path, type)) {
+            Gdx.app.log("Assets", "'" + path + "' was not preloaded, loading synchronously");
+            manager.load(path, type);
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, type);
+    }
+
+    /** Same as {@link #get} but returns null instead of throwing when the file is missing or broken. */
+    public <T> T getOrNull(String path, Class<T> type) {
+        try {
+            return get(path, type);
+        } catch (Exception e) {
+            Gdx.app.error("Assets", "Could not load '" + path + "'", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the region for one of the sprite constants above. Regions come from the packed atlas so that
+     * every entity draws from the same page; without an atlas the standalone texture is wrapped instead.
+     * Regions are shared, never flip or otherwise mutate them.
+     */
+    public TextureRegion region(String texturePath) {
+        TextureRegion region = regions.get(texturePath);
+        if (region != null) return region;
+
+        // the packed sprites are not queued on their own, so wait for the atlas rather than load them twice
+        if (!manager.isLoaded(ATLAS, TextureAtlas.class) && manager.contains(ATLAS)) manager.finishLoadingAsset(ATLAS);
+        if (manager.isLoaded(ATLAS, TextureAtlas.class)) {
+            String name = texturePath.substring(ROOT.length(), texturePath.length() - ".png".length());
+            region = manager.get(ATLAS, TextureAtlas.class).findRegion(name);
+        }
+        if (region == null) {
+            Texture texture = getOrNull(texturePath, Texture.class);
+            if (texture != null) region = new TextureRegion(texture);
+        }
+        if (region != null) regions.put(texturePath, region);
+        return region;
+    }
+
+    /** Takes a reference on an asset (loading it if needed). Balance every call with {@link #release}. */
+    public <T> T acquire(String path, Class<T> type) {
+        if (manager.isLoaded(path, type)) {
+            manager.setReferenceCount(path, manager.getReferenceCount(path) + 1);
+        } else {
+            manager.load(path, type);
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, type);
+    }
+
+    /** Drops a reference taken by {@link #acquire}. The asset is disposed when nobody references it anymore. */
+    public void release(String path) {
+        if (manager.isLoaded(path)) {
+            manager.unload(path);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        regions.clear();
+        manager.dispose();
+    }
+}
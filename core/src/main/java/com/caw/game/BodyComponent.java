@@ -0,0 +1,17 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * A body that moves, whose position {@link TransformSyncSystem} copies into the entity's transform after
+ * every step. Entities on static bodies (coins, shooters, doors, the key) leave it out and keep the
+ * transform they were created with.
+ */
+public class BodyComponent implements Component {
+    public Body body;
+
+    public BodyComponent(Body body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,76 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A simple player for unattended runs: walks in one direction, jumps at a fixed interval and turns around
+ * when it has not made progress for a while. Good enough to walk through a level, touch enemies, pick up
+ * coins and get shot at.
+ * <p>
+ * Given a seed it becomes a random walk on top of that: it turns around and jumps at random moments as well,
+ * so a batch of bots with different seeds covers more of a level than identical copies would.
+ */
+public class BotInput implements PlayerInput {
+    private static final int JUMP_INTERVAL_POLLS = 45;
+    private static final int STUCK_POLLS = 90;
+    private static final float MIN_PROGRESS_METERS = 0.25f;
+    private static final float RANDOM_TURN_CHANCE = 1f / 240f;
+    private static final float RANDOM_JUMP_CHANCE = 1f / 60f;
+
+    private final GameWorld gameWorld;
+    private final RandomXS128 random;
+    private boolean movingRight = true;
+    private boolean jump = false;
+    private int polls = 0;
+    private int pollsWithoutProgress = 0;
+    private float progressX = Float.NaN;
+
+    public BotInput(GameWorld gameWorld) {
+        this.gameWorld = gameWorld;
+        this.random = null;
+    }
+
+    /** Random-walk bot; the same seed walks the same way in the same world. */
+    public BotInput(GameWorld gameWorld, long seed) {
+        this.gameWorld = gameWorld;
+        this.random = new RandomXS128(seed);
+    }
+
+    @Override
+    public void poll() {
+        polls++;
+        Player player = gameWorld.getPlayer();
+        if (player == null) return;
+        Vector2 position = player.getPositionMeters();
+
+        if (Float.isNaN(progressX) || Math.abs(position.x - progressX) >= MIN_PROGRESS_METERS) {
+            progressX = position.x;
+            pollsWithoutProgress = 0;
+        } else if (++pollsWithoutProgress >= STUCK_POLLS) {
+            movingRight = !movingRight;
+            pollsWithoutProgress = 0;
+        }
+        jump = polls % JUMP_INTERVAL_POLLS == 0 || pollsWithoutProgress == STUCK_POLLS / 2;
+
+        if (random != null) {
+            if (random.nextFloat() < RANDOM_TURN_CHANCE) movingRight = !movingRight;
+            if (random.nextFloat() < RANDOM_JUMP_CHANCE) jump = true;
+        }
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return !movingRight;
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return movingRight;
+    }
+
+    @Override
+    public boolean isJumpJustPressed() {
+        return jump;
+    }
+}
@@ -0,0 +1,249 @@
+package com.caw.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Arrays;
+
+/**
+ * Draws a map's tile layers from {@link SpriteCache} chunks baked once at load, instead of walking every
+ * visible cell of every layer each frame like OrthogonalTiledMapRenderer. A chunk holds CHUNK_TILES x
+ * CHUNK_TILES cells of all layers in layer order, so a frame is one cache draw per chunk on screen.
+ * The tile layers must not change after baking.
+ * <p>
+ * Invisible and fully transparent layers are skipped at bake time, and so is every tile lying under a fully
+ * opaque tile of a higher layer that is itself fully opaque. A layer covered everywhere costs nothing.
+ */
+public class ChunkedMapRenderer implements Disposable {
+    public static final int CHUNK_TILES = 32;
+    private static final int NO_CACHE = -1;
+
+    private final SpriteCache cache;
+    private final int[] cacheIds;
+    private final int chunkColumns;
+    private final int chunkRows;
+    private final float chunkWidth;
+    private final float chunkHeight;
+
+    private int bakedTiles = 0;
+    private int hiddenTiles = 0;
+    private int coveredTiles = 0;
+    private int droppedLayers = 0;
+    private int drawnChunks = 0;
+
+    public ChunkedMapRenderer(TiledMap map) {
+        long start = System.nanoTime();
+        Array<TiledMapTileLayer> layers = map.getLayers().getByType(TiledMapTileLayer.class);
+        int width = 0, height = 0;
+        float tileWidth = 1f, tileHeight = 1f;
+        for (TiledMapTileLayer layer : layers) {
+            width = Math.max(width, layer.getWidth());
+            height = Math.max(height, layer.getHeight());
+            tileWidth = layer.getTileWidth();
+            tileHeight = layer.getTileHeight();
+        }
+        chunkColumns = Math.max(1, (width + CHUNK_TILES - 1) / CHUNK_TILES);
+        chunkRows = Math.max(1, (height + CHUNK_TILES - 1) / CHUNK_TILES);
+        chunkWidth = CHUNK_TILES * tileWidth;
+        chunkHeight = CHUNK_TILES * tileHeight;
+
+        boolean[][] keep = findDrawnTiles(layers, width, height);
+
+        cache = new SpriteCache(Math.max(1, bakedTiles), false); // no indices, so more than 8191 tiles fit
+        cacheIds = new int[chunkColumns * chunkRows];
+        Arrays.fill(cacheIds, NO_CACHE);
+        for (int chunkY = 0; chunkY < chunkRows; chunkY++) {
+            for (int chunkX = 0; chunkX < chunkColumns; chunkX++) {
+                bakeChunk(layers, keep, width, chunkX, chunkY);
+            }
+        }
+        cache.setColor(1f, 1f, 1f, 1f);
+
+        Gdx.app.log("MAP_RENDER", "Baked " + bakedTiles + " tiles into " + chunkColumns * chunkRows + " chunks in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms (skipped " + hiddenTiles + " hidden and " + coveredTiles
+            + " covered tiles, " + droppedLayers + " of " + layers.size + " layers dropped entirely)");
+    }
+
+    /** Per layer, which cells get baked: walks the layers top down, remembering which cells are already opaque. */
+    private boolean[][] findDrawnTiles(Array<TiledMapTileLayer> layers, int width, int height) {
+        boolean[][] keep = new boolean[layers.size][];
+        boolean[] covered = new boolean[width * height];
+        IntIntMap opaqueByTileId = new IntIntMap();
+        ObjectMap<Texture, Pixmap> pixmaps = new ObjectMap<>();
+
+        for (int i = layers.size - 1; i >= 0; i--) {
+            TiledMapTileLayer layer = layers.get(i);
+            boolean drawn = layer.isVisible() && layer.getOpacity() > 0f;
+            boolean occludes = drawn && layer.getOpacity() >= 1f;
+            keep[i] = new boolean[width * height];
+            int kept = 0;
+
+            for (int y = 0; y < layer.getHeight(); y++) {
+                for (int x = 0; x < layer.getWidth(); x++) {
+                    TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                    if (cell == null || cell.getTile() == null) continue;
+                    int index = y * width + x;
+                    if (!drawn) {
+                        hiddenTiles++;
+                    } else if (covered[index]) {
+                        coveredTiles++;
+                    } else {
+                        keep[i][index] = true;
+                        kept++;
+                        if (occludes && isOpaque(cell.getTile(), opaqueByTileId, pixmaps)) covered[index] = true;
+                    }
+                }
+            }
+            bakedTiles += kept;
+            if (kept == 0) droppedLayers++;
+        }
+
+        for (Pixmap pixmap : pixmaps.values()) {
+            if (pixmap != null) pixmap.dispose();
+        }
+        return keep;
+    }
+
+    /** Whether every pixel of the tile is fully opaque. Unreadable textures count as transparent. */
+    private static boolean isOpaque(TiledMapTile tile, IntIntMap opaqueByTileId, ObjectMap<Texture, Pixmap> pixmaps) {
+        int cached = opaqueByTileId.get(tile.getId(), -1);
+        if (cached >= 0) return cached == 1;
+
+        boolean opaque = false;
+        TextureRegion region = tile.getTextureRegion();
+        Pixmap pixmap = pixmapOf(region.getTexture(), pixmaps);
+        if (pixmap != null) {
+            opaque = true;
+            int x0 = region.getRegionX(), y0 = region.getRegionY();
+            for (int y = y0; y < y0 + region.getRegionHeight() && opaque; y++) {
+                for (int x = x0; x < x0 + region.getRegionWidth(); x++) {
+                    if ((pixmap.getPixel(x, y) & 0xff) != 0xff) {
+                        opaque = false;
+                        break;
+                    }
+                }
+            }
+        }
+        opaqueByTileId.put(tile.getId(), opaque ? 1 : 0);
+        return opaque;
+    }
+
+    /** Reads the texture's pixels back from its source, once per texture. Null when that is not possible. */
+    private static Pixmap pixmapOf(Texture texture, ObjectMap<Texture, Pixmap> pixmaps) {
+        if (pixmaps.containsKey(texture)) return pixmaps.get(texture);
+        Pixmap pixmap = null;
+        TextureData data = texture.getTextureData();
+        if (data.getType() == TextureData.TextureDataType.Pixmap) {
+            try {
+                if (!data.isPrepared()) data.prepare();
+                Pixmap source = data.consumePixmap();
+                // the texture may still own a pixmap it keeps around, so always work on a copy
+                pixmap = new Pixmap(source.getWidth(), source.getHeight(), source.getFormat());
+                pixmap.setBlending(Pixmap.Blending.None);
+                pixmap.drawPixmap(source, 0, 0);
+                if (data.disposePixmap()) source.dispose();
+            } catch (Exception e) {
+                Gdx.app.error("MAP_RENDER", "Could not read tile pixels, tiles will not hide each other", e);
+                pixmap = null;
+            }
+        }
+        pixmaps.put(texture, pixmap);
+        return pixmap;
+    }
+
+    private void bakeChunk(Array<TiledMapTileLayer> layers, boolean[][] keep, int width, int chunkX, int chunkY) {
+        int x0 = chunkX * CHUNK_TILES, y0 = chunkY * CHUNK_TILES;
+        int tiles = 0;
+        cache.beginCache();
+        for (int i = 0; i < layers.size; i++) {
+            TiledMapTileLayer layer = layers.get(i);
+            float tileWidth = layer.getTileWidth(), tileHeight = layer.getTileHeight();
+            int x1 = Math.min(x0 + CHUNK_TILES, layer.getWidth()), y1 = Math.min(y0 + CHUNK_TILES, layer.getHeight());
+            cache.setColor(1f, 1f, 1f, layer.getOpacity());
+
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    if (!keep[i][y * width + x]) continue;
+                    TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                    TextureRegion region = cell.getTile().getTextureRegion();
+                    float drawX = x * tileWidth + cell.getTile().getOffsetX();
+                    float drawY = y * tileHeight + cell.getTile().getOffsetY();
+                    float regionWidth = region.getRegionWidth(), regionHeight = region.getRegionHeight();
+                    if (!cell.getFlipHorizontally() && !cell.getFlipVertically() && cell.getRotation() == 0) {
+                        cache.add(region, drawX, drawY, regionWidth, regionHeight);
+                    } else {
+                        // flip first, then turn; Cell rotations go clockwise in OrthogonalTiledMapRenderer
+                        cache.add(region, drawX, drawY, regionWidth / 2f, regionHeight / 2f, regionWidth, regionHeight,
+                            cell.getFlipHorizontally() ? -1f : 1f, cell.getFlipVertically() ? -1f : 1f,
+                            -90f * cell.getRotation());
+                    }
+                    tiles++;
+                }
+            }
+        }
+        int id = cache.endCache();
+        if (tiles > 0) cacheIds[chunkY * chunkColumns + chunkX] = id;
+    }
+
+    /** Draws the chunks that overlap the camera's view. Call between other batches, not inside one. */
+    public void render(OrthographicCamera camera) {
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        int minX = Math.max(0, (int) Math.floor((camera.position.x - width / 2f) / chunkWidth));
+        int maxX = Math.min(chunkColumns - 1, (int) Math.floor((camera.position.x + width / 2f) / chunkWidth));
+        int minY = Math.max(0, (int) Math.floor((camera.position.y - height / 2f) / chunkHeight));
+        int maxY = Math.min(chunkRows - 1, (int) Math.floor((camera.position.y + height / 2f) / chunkHeight));
+
+        drawnChunks = 0;
+        // SpriteCache leaves blending alone, the tiles need it for their transparent pixels
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(camera.combined);
+        cache.begin();
+        for (int chunkY = minY; chunkY <= maxY; chunkY++) {
+            for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+                int id = cacheIds[chunkY * chunkColumns + chunkX];
+                if (id == NO_CACHE) continue;
+                cache.draw(id);
+                drawnChunks++;
+            }
+        }
+        cache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    public int getBakedTiles() {
+        return bakedTiles;
+    }
+
+    public int getSkippedTiles() {
+        return hiddenTiles + coveredTiles;
+    }
+
+    public int getDroppedLayers() {
+        return droppedLayers;
+    }
+
+    /** Chunks drawn by the last {@link #render}. */
+    public int getDrawnChunks() {
+        return drawnChunks;
+    }
+
+    @Override
+    public void dispose() {
+        cache.dispose();
+    }
+}
@@ -1,17 +1,15 @@
 package com.caw.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.Body;
-import com.badlogic.gdx.utils.Array;
 
-public class Coin {
+public class Coin implements Component, SlotArray.Slotted, SpatialHash.Tracked {
     final Body body;
-    private Animation<TextureRegion> spinAnimation;
-    private float stateTime;
+    // this coin, its transform, sprite and spin animation; drawn by RenderSystem
+    public final Entity entity = new Entity();
+    private final SpriteComponent sprite = new SpriteComponent(null);
 
     public static final int SPRITESHEET_FRAME_WIDTH = 16;
     public static final int SPRITESHEET_FRAME_HEIGHT = 16;
@@ -19,48 +17,39 @@ public class Coin {
 
     private boolean scheduledForRemoval = false;
 
-    public Coin(Body body, Texture animationSheet) {
+    // index in the owning SlotArray, -1 when not in one
+    private int slot = -1;
+    // id in GameWorld's SpatialHash, -1 when not tracked
+    private int spatialId = -1;
+    private boolean dormant = false;
+
+    public Coin(Body body, FacingAnimation spinAnimation, float stateTime) {
         this.body = body;
+        TransformComponent transform = new TransformComponent(VISUAL_COIN_SIZE, VISUAL_COIN_SIZE);
         if (this.body != null) {
             this.body.setUserData(this);
+            transform.snap(this.body.getPosition());
         }
-        loadAnimation(animationSheet);
-        this.stateTime = (float)(Math.random() * 100);
+        // stateTime is the spin phase, so the coins do not turn in step
+        entity.add(this).add(transform).add(sprite).add(new AnimationComponent(spinAnimation, stateTime));
     }
 
-    private void loadAnimation(Texture animationSheet) {
-        if (animationSheet == null) {
-            Gdx.app.error("CoinAnimation", "Animation sheet for coin is null!");
-            return;
-        }
-
-
-        int frameCount = 8;
-        TextureRegion[][] tmpFrames = TextureRegion.split(animationSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT);
-        Array<TextureRegion> spinFrames = new Array<>(frameCount);
-        for (int i = 0; i < frameCount; i++) {
-            spinFrames.add(tmpFrames[0][i]);
-        }
-
-        spinAnimation = new Animation<>(0.15f, spinFrames, Animation.PlayMode.LOOP);
+    /** The spin animation of the coin sheet, shared by all coins; null without a sheet (headless). */
+    public static FacingAnimation spinAnimation(TextureRegion animationSheet) {
+        return FacingAnimation.fromSheetRow(animationSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT, 8, 0.15f);
     }
 
-    public void update(float deltaTime) {
-        if (scheduledForRemoval) return;
-        stateTime += deltaTime;
+    /** Deactivates the sensor body while the coin is outside the activation region. */
+    public void setDormant(boolean dormant) {
+        if (this.dormant == dormant || body == null || scheduledForRemoval) return;
+        this.dormant = dormant;
+        body.setActive(!dormant);
+        if (dormant) entity.add(DormantComponent.INSTANCE);
+        else entity.remove(DormantComponent.class);
     }
 
-    public void render(SpriteBatch batch) {
-        if (body == null || !body.isActive() || scheduledForRemoval || spinAnimation == null) {
-            return;
-        }
-
-        TextureRegion currentFrame = spinAnimation.getKeyFrame(stateTime, true);
-
-        float coinX = body.getPosition().x * GameScreen.PPM - VISUAL_COIN_SIZE / 2f;
-        float coinY = body.getPosition().y * GameScreen.PPM - VISUAL_COIN_SIZE / 2f;
-
-        batch.draw(currentFrame, coinX, coinY, VISUAL_COIN_SIZE, VISUAL_COIN_SIZE);
+    public boolean isDormant() {
+        return dormant;
     }
 
     public Body getBody() {
@@ -69,10 +58,30 @@ public class Coin {
 
     public void scheduleForRemoval() {
         this.scheduledForRemoval = true;
+        sprite.visible = false;
     }
 
     public boolean isScheduledForRemoval() {
         return scheduledForRemoval;
     }
 
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public int getSpatialId() {
+        return spatialId;
+    }
+
+    @Override
+    public void setSpatialId(int id) {
+        this.spatialId = id;
+    }
 }
@@ -0,0 +1,134 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.util.Locale;
+
+/**
+ * Contacts-per-second microbenchmark for contact classification, run from the core benchCollisions Gradle task.
+ * Box2D natives are not on the core classpath, so it works on the userData objects directly: "string" is the
+ * chain of equals/toString/instanceof checks the old WorldContactListener ran on both fixtures of every
+ * contact, "table" is the {@link FixtureTag} pair lookup it does now. Both only classify; handler bodies are
+ * the same in either version and are left out.
+ */
+public class CollisionDispatchBench {
+    private static final int CONTACTS = 1 << 16;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int ROUNDS = 200;
+
+    // rough contact mix of lvl1_final: mostly enemies and feet on the ground
+    private static final String[][] LEGACY_MIX = {
+        {"playerFeet", "ground"}, {"enemy_fixture", "ground"}, {"enemy_fixture", "ground"}, {"player", "ground"},
+        {"player", "wall"}, {"playerFeet", "coin_fixture"}, {"player", "key"}, {"projectile", "ground"},
+        {"player", "enemy_fixture"}, {"enemy_fixture", "wall"},
+    };
+
+    public static void main(String[] args) {
+        RandomXS128 random = new RandomXS128(42);
+        Object[] legacyA = new Object[CONTACTS];
+        Object[] legacyB = new Object[CONTACTS];
+        Object[] legacyBodyA = new Object[CONTACTS];
+        Object[] legacyBodyB = new Object[CONTACTS];
+        Object[] taggedA = new Object[CONTACTS];
+        Object[] taggedB = new Object[CONTACTS];
+        Marker enemy = new Marker();
+        Marker projectile = new Marker();
+        for (int i = 0; i < CONTACTS; i++) {
+            String[] pair = LEGACY_MIX[random.nextInt(LEGACY_MIX.length)];
+            boolean flip = random.nextBoolean();
+            String a = flip ? pair[1] : pair[0];
+            String b = flip ? pair[0] : pair[1];
+            legacyA[i] = "projectile".equals(a) ? projectile : a;
+            legacyB[i] = "projectile".equals(b) ? projectile : b;
+            legacyBodyA[i] = "enemy_fixture".equals(a) ? enemy : null;
+            legacyBodyB[i] = "enemy_fixture".equals(b) ? enemy : null;
+            taggedA[i] = tagFor(a);
+            taggedB[i] = tagFor(b);
+        }
+
+        Object[][] table = new Object[FixtureTag.VALUES.length][FixtureTag.VALUES.length];
+        Object handler = new Object();
+        for (String[] pair : LEGACY_MIX) {
+            FixtureTag a = tagFor(pair[0]);
+            FixtureTag b = tagFor(pair[1]);
+            if (a == FixtureTag.ENEMY && b != FixtureTag.PLAYER) continue;
+            table[a.ordinal()][b.ordinal()] = handler;
+            table[b.ordinal()][a.ordinal()] = handler;
+        }
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += runLegacy(legacyA, legacyB, legacyBodyA, legacyBodyB, projectile);
+            sink += runTable(taggedA, taggedB, table);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += runLegacy(legacyA, legacyB, legacyBodyA, legacyBodyB, projectile);
+        long legacyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += runTable(taggedA, taggedB, table);
+        long tableNanos = System.nanoTime() - start;
+
+        double contacts = (double) CONTACTS * ROUNDS;
+        System.out.println(String.format(Locale.ROOT, "%-8s %16s", "dispatch", "contacts/s"));
+        System.out.println(String.format(Locale.ROOT, "%-8s %16.0f", "string", contacts / (legacyNanos / 1e9)));
+        System.out.println(String.format(Locale.ROOT, "%-8s %16.0f", "table", contacts / (tableNanos / 1e9)));
+        System.out.println(String.format(Locale.ROOT, "speedup %.1fx (checksum %d)", legacyNanos / (double) Math.max(1, tableNanos), sink));
+    }
+
+    private static FixtureTag tagFor(String legacy) {
+        switch (legacy) {
+            case "player": return FixtureTag.PLAYER;
+            case "playerFeet": return FixtureTag.PLAYER_FEET;
+            case "ground": return FixtureTag.GROUND;
+            case "wall": return FixtureTag.WALL;
+            case "coin_fixture": return FixtureTag.COIN;
+            case "key": return FixtureTag.KEY;
+            case "enemy_fixture": return FixtureTag.ENEMY;
+            case "projectile": return FixtureTag.PROJECTILE;
+            default: return FixtureTag.NONE;
+        }
+    }
+
+    private static int runTable(Object[] a, Object[] b, Object[][] table) {
+        int handled = 0;
+        for (int i = 0; i < a.length; i++) {
+            int tagA = a[i] instanceof FixtureTag ? ((FixtureTag) a[i]).ordinal() : 0;
+            int tagB = b[i] instanceof FixtureTag ? ((FixtureTag) b[i]).ordinal() : 0;
+            if (table[tagA][tagB] != null) handled++;
+        }
+        return handled;
+    }
+
+    // the checks the old beginContact made, in order, before it knew which block applied
+    private static int runLegacy(Object[] a, Object[] b, Object[] bodyA, Object[] bodyB, Object projectile) {
+        int handled = 0;
+        for (int i = 0; i < a.length; i++) {
+            Object fa = a[i];
+            Object fb = b[i];
+            if ((fa == projectile && (isString(fb, "player") || is(fb, "playerFeet")))
+                || (fb == projectile && (isString(fa, "player") || is(fa, "playerFeet")))) handled++;
+            if ((is(fa, "playerFeet") && is(fb, "ground")) || (is(fb, "playerFeet") && is(fa, "ground"))) handled++;
+            if (((isString(fa, "player") || is(fa, "playerFeet")) && isString(fb, "coin_fixture"))
+                || ((isString(fb, "player") || is(fb, "playerFeet")) && isString(fa, "coin_fixture"))) handled++;
+            if ((is(fa, "player") && is(fb, "key")) || (is(fa, "key") && is(fb, "player"))
+                || (is(fa, "playerFeet") && is(fb, "key")) || (is(fa, "key") && is(fb, "playerFeet"))) handled++;
+            if (bodyA[i] instanceof Marker || bodyB[i] instanceof Marker) {
+                Object other = bodyA[i] instanceof Marker ? fb : fa;
+                if (isString(other, "player") || is(other, "playerFeet")) handled++;
+            }
+        }
+        return handled;
+    }
+
+    private static boolean is(Object userData, String type) {
+        return userData != null && userData.equals(type);
+    }
+
+    private static boolean isString(Object userData, String type) {
+        return userData != null && type.equals(userData.toString());
+    }
+
+    private static final class Marker { }
+}
@@ -0,0 +1,314 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Turns the "Collision" rectangles of a level into static Box2D geometry.
+ * <ul>
+ * <li>BOXES: one body and box per rectangle, the old behaviour.</li>
+ * <li>MERGED: touching, coplanar rectangles with the same surface_type are greedily merged into bigger boxes,
+ * and all boxes of one surface type share a single static body.</li>
+ * <li>CHAINS: every connected region of a surface type becomes one ChainShape loop around its outline, so the
+ * foot sensor no longer crosses seams between boxes. Slivers too thin for a chain stay merged boxes.</li>
+ * </ul>
+ */
+public class CollisionGeometryBuilder {
+    public enum Mode { BOXES, MERGED, CHAINS }
+
+    // rectangles closer than this (pixels) count as touching
+    static final float MERGE_EPSILON = 0.05f;
+    // chain vertices are snapped to this grid (pixels) so no edge gets shorter than Box2D's linear slop
+    static final float CHAIN_SNAP = 0.5f;
+
+    public static class Stats {
+        public Mode mode;
+        public int sourceRects;
+        public int mergedRects;
+        public int bodies;
+        public int fixtures;
+        public int chainLoops;
+        public long buildMicros;
+
+        @Override
+        public String toString() {
+            return mode + ": " + sourceRects + " rects (" + sourceRects + " bodies/" + sourceRects + " fixtures before) -> "
+                + bodies + " bodies/" + fixtures + " fixtures (" + mergedRects + " merged boxes, " + chainLoops
+                + " chain loops) in " + buildMicros + " us";
+        }
+    }
+
+    private CollisionGeometryBuilder() { }
+
+    public static Stats build(World world, LevelData level, Mode mode, CollisionLayers layers, float ppm) {
+        long start = System.nanoTime();
+        Stats stats = new Stats();
+        stats.mode = mode;
+        stats.sourceRects = level.collisionRects.size;
+
+        if (mode == Mode.BOXES) {
+            buildBoxes(world, level.collisionRects, layers, ppm, stats);
+        } else {
+            ObjectMap<String, Array<Rectangle>> bySurface = groupBySurface(level.collisionRects);
+            for (ObjectMap.Entry<String, Array<Rectangle>> entry : bySurface) {
+                Array<Rectangle> merged = mergeRectangles(entry.value);
+                stats.mergedRects += merged.size;
+
+                Body body = createStaticBody(world);
+                stats.bodies++;
+                if (mode == Mode.CHAINS) {
+                    buildChains(body, entry.key, merged, layers, ppm, stats);
+                } else {
+                    for (Rectangle rect : merged) addBox(body, entry.key, rect, layers, ppm, stats);
+                }
+            }
+        }
+        stats.buildMicros = (System.nanoTime() - start) / 1000;
+        return stats;
+    }
+
+    static ObjectMap<String, Array<Rectangle>> groupBySurface(Array<LevelData.CollisionRect> rects) {
+        ObjectMap<String, Array<Rectangle>> bySurface = new ObjectMap<>();
+        for (LevelData.CollisionRect rect : rects) {
+            Array<Rectangle> group = bySurface.get(rect.surfaceType);
+            if (group == null) {
+                group = new Array<>();
+                bySurface.put(rect.surfaceType, group);
+            }
+            group.add(new Rectangle(rect.boundsPixels));
+        }
+        return bySurface;
+    }
+
+    /**
+     * Greedy merge: repeatedly joins pairs that share a full edge (same y and height and touching along x,
+     * or same x and width and touching along y) and drops rectangles fully covered by another one.
+     */
+    public static Array<Rectangle> mergeRectangles(Array<Rectangle> source) {
+        Array<Rectangle> rects = new Array<>(source.size);
+        for (Rectangle rect : source) rects.add(new Rectangle(rect));
+        rects.sort(new Comparator<Rectangle>() {
+            @Override
+            public int compare(Rectangle a, Rectangle b) {
+                if (a.y != b.y) return Float.compare(a.y, b.y);
+                return Float.compare(a.x, b.x);
+            }
+        });
+
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < rects.size; i++) {
+                Rectangle a = rects.get(i);
+                for (int j = rects.size - 1; j > i; j--) {
+                    Rectangle b = rects.get(j);
+                    if (contains(a, b)) {
+                        rects.removeIndex(j);
+                        merged = true;
+                    } else if (contains(b, a)) {
+                        a.set(b);
+                        rects.removeIndex(j);
+                        merged = true;
+                    } else if (near(a.y, b.y) && near(a.height, b.height) && touches(a.x, a.width, b.x, b.width)) {
+                        float minX = Math.min(a.x, b.x);
+                        a.set(minX, a.y, Math.max(a.x + a.width, b.x + b.width) - minX, a.height);
+                        rects.removeIndex(j);
+                        merged = true;
+                    } else if (near(a.x, b.x) && near(a.width, b.width) && touches(a.y, a.height, b.y, b.height)) {
+                        float minY = Math.min(a.y, b.y);
+                        a.set(a.x, minY, a.width, Math.max(a.y + a.height, b.y + b.height) - minY);
+                        rects.removeIndex(j);
+                        merged = true;
+                    }
+                }
+            }
+        }
+        return rects;
+    }
+
+    private static boolean near(float a, float b) {
+        return Math.abs(a - b) <= MERGE_EPSILON;
+    }
+
+    private static boolean touches(float startA, float lengthA, float startB, float lengthB) {
+        return startA <= startB + lengthB + MERGE_EPSILON && startB <= startA + lengthA + MERGE_EPSILON;
+    }
+
+    private static boolean contains(Rectangle outer, Rectangle inner) {
+        return inner.x >= outer.x - MERGE_EPSILON && inner.y >= outer.y - MERGE_EPSILON
+            && inner.x + inner.width <= outer.x + outer.width + MERGE_EPSILON
+            && inner.y + inner.height <= outer.y + outer.height + MERGE_EPSILON;
+    }
+
+    private static void buildBoxes(World world, Array<LevelData.CollisionRect> rects, CollisionLayers layers, float ppm, Stats stats) {
+        for (LevelData.CollisionRect rect : rects) {
+            Body body = createStaticBody(world);
+            stats.bodies++;
+            addBox(body, rect.surfaceType, rect.boundsPixels, layers, ppm, stats);
+        }
+    }
+
+    private static Body createStaticBody(World world) {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.StaticBody;
+        return world.createBody(bodyDef);
+    }
+
+    private static FixtureDef surfaceFixtureDef(String surfaceType) {
+        FixtureDef fixtureDef = new FixtureDef();
+        fixtureDef.friction = "wall".equals(surfaceType) ? 0.00f : 0.8f;
+        return fixtureDef;
+    }
+
+    private static void addBox(Body body, String surfaceType, Rectangle rect, CollisionLayers layers, float ppm, Stats stats) {
+        PolygonShape shape = new PolygonShape();
+        shape.setAsBox(rect.width / 2f / ppm, rect.height / 2f / ppm,
+            new Vector2((rect.x + rect.width / 2f) / ppm, (rect.y + rect.height / 2f) / ppm), 0);
+        FixtureDef fixtureDef = surfaceFixtureDef(surfaceType);
+        fixtureDef.shape = shape;
+        layers.tag(body.createFixture(fixtureDef), FixtureTag.forSurfaceType(surfaceType));
+        shape.dispose();
+        stats.fixtures++;
+    }
+
+    private static void buildChains(Body body, String surfaceType, Array<Rectangle> rects, CollisionLayers layers, float ppm, Stats stats) {
+        Array<Rectangle> solid = new Array<>();
+        for (Rectangle rect : rects) {
+            if (snap(rect.x + rect.width) - snap(rect.x) >= CHAIN_SNAP && snap(rect.y + rect.height) - snap(rect.y) >= CHAIN_SNAP) {
+                solid.add(rect);
+            } else {
+                addBox(body, surfaceType, rect, layers, ppm, stats); // sliver, no area to outline
+            }
+        }
+        if (solid.isEmpty()) return;
+
+        for (FloatArray loop : traceOutlines(solid)) {
+            float[] vertices = loop.toArray();
+            for (int i = 0; i < vertices.length; i++) vertices[i] /= ppm;
+
+            ChainShape chain = new ChainShape();
+            chain.createLoop(vertices);
+            FixtureDef fixtureDef = surfaceFixtureDef(surfaceType);
+            fixtureDef.shape = chain;
+            layers.tag(body.createFixture(fixtureDef), FixtureTag.forSurfaceType(surfaceType));
+            chain.dispose();
+            stats.fixtures++;
+            stats.chainLoops++;
+        }
+    }
+
+    private static float snap(float value) {
+        return Math.round(value / CHAIN_SNAP) * CHAIN_SNAP;
+    }
+
+    /**
+     * Outlines the union of the rectangles. Coordinates are compressed into a grid of the distinct snapped
+     * edges, every boundary cell side becomes a directed edge with the solid side on its left, and edges are
+     * linked into counter-clockwise loops (holes come out clockwise). Collinear vertices are dropped.
+     * Returns one x,y pixel vertex list per loop.
+     */
+    static Array<FloatArray> traceOutlines(Array<Rectangle> rects) {
+        Array<FloatArray> loops = new Array<>();
+        if (rects.isEmpty()) return loops;
+        float[] xs = distinctEdges(rects, true);
+        float[] ys = distinctEdges(rects, false);
+        int nx = xs.length - 1;
+        int ny = ys.length - 1;
+
+        boolean[][] filled = new boolean[nx][ny];
+        for (Rectangle rect : rects) {
+            int x0 = Arrays.binarySearch(xs, snap(rect.x));
+            int x1 = Arrays.binarySearch(xs, snap(rect.x + rect.width));
+            int y0 = Arrays.binarySearch(ys, snap(rect.y));
+            int y1 = Arrays.binarySearch(ys, snap(rect.y + rect.height));
+            for (int i = x0; i < x1; i++) {
+                for (int j = y0; j < y1; j++) filled[i][j] = true;
+            }
+        }
+
+        // vertex key = i * (ny + 1) + j; an edge is stored as its start and end vertex keys
+        int stride = ny + 1;
+        IntMap<IntArray> outgoing = new IntMap<>();
+        int edgeCount = 0;
+        for (int i = 0; i < nx; i++) {
+            for (int j = 0; j < ny; j++) {
+                if (!filled[i][j]) continue;
+                if (j == 0 || !filled[i][j - 1]) edgeCount += addEdge(outgoing, i * stride + j, (i + 1) * stride + j);
+                if (j == ny - 1 || !filled[i][j + 1]) edgeCount += addEdge(outgoing, (i + 1) * stride + j + 1, i * stride + j + 1);
+                if (i == 0 || !filled[i - 1][j]) edgeCount += addEdge(outgoing, i * stride + j + 1, i * stride + j);
+                if (i == nx - 1 || !filled[i + 1][j]) edgeCount += addEdge(outgoing, (i + 1) * stride + j, (i + 1) * stride + j + 1);
+            }
+        }
+
+        IntArray keys = new IntArray();
+        while (edgeCount > 0) {
+            int startVertex = firstVertexWithEdges(outgoing);
+            keys.clear();
+            int vertex = startVertex;
+            do {
+                keys.add(vertex);
+                IntArray targets = outgoing.get(vertex);
+                int next = targets.pop();
+                edgeCount--;
+                if (targets.isEmpty()) outgoing.remove(vertex);
+                vertex = next;
+            } while (vertex != startVertex && outgoing.containsKey(vertex));
+
+            FloatArray loop = new FloatArray();
+            for (int k = 0; k < keys.size; k++) {
+                int prev = keys.get((k - 1 + keys.size) % keys.size);
+                int current = keys.get(k);
+                int next = keys.get((k + 1) % keys.size);
+                boolean collinear = (prev / stride == current / stride && current / stride == next / stride)
+                    || (prev % stride == current % stride && current % stride == next % stride);
+                if (collinear) continue;
+                loop.add(xs[current / stride]);
+                loop.add(ys[current % stride]);
+            }
+            if (loop.size >= 6) loops.add(loop);
+        }
+        return loops;
+    }
+
+    private static int addEdge(IntMap<IntArray> outgoing, int from, int to) {
+        IntArray targets = outgoing.get(from);
+        if (targets == null) {
+            targets = new IntArray(2);
+            outgoing.put(from, targets);
+        }
+        targets.add(to);
+        return 1;
+    }
+
+    private static int firstVertexWithEdges(IntMap<IntArray> outgoing) {
+        return outgoing.keys().next();
+    }
+
+    private static float[] distinctEdges(Array<Rectangle> rects, boolean horizontal) {
+        FloatArray values = new FloatArray(rects.size * 2);
+        for (Rectangle rect : rects) {
+            values.add(snap(horizontal ? rect.x : rect.y));
+            values.add(snap(horizontal ? rect.x + rect.width : rect.y + rect.height));
+        }
+        values.sort();
+        FloatArray distinct = new FloatArray(values.size);
+        for (int i = 0; i < values.size; i++) {
+            if (distinct.isEmpty() || distinct.peek() != values.get(i)) distinct.add(values.get(i));
+        }
+        return distinct.toArray();
+    }
+}
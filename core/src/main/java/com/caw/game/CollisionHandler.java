@@ -0,0 +1,17 @@
+package com.caw.game;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * Reacts to contacts between two fixture tags. Registered with {@link WorldContactListener#register};
+ * the fixtures are always passed in the order of the tags it was registered with, whichever one Box2D
+ * reports as A.
+ */
+public interface CollisionHandler {
+    default void beginContact(Contact contact, Fixture first, Fixture second) { }
+
+    default void endContact(Contact contact, Fixture first, Fixture second) { }
+
+    default void preSolve(Contact contact, Fixture first, Fixture second) { }
+}
@@ -0,0 +1,130 @@
+package com.caw.game;
+
+import com.badlogic.gdx.physics.box2d.Filter;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Category/mask matrix for every {@link FixtureTag}. Each tag gets one category bit. Pairs that are not in the
+ * matrix are rejected by Box2D's broadphase filter and never reach the narrowphase or WorldContactListener.
+ * <p>
+ * A map can change a row with a property named "collision.&lt;tag&gt;" whose value lists the tags it collides
+ * with, e.g. collision.projectile = ground,wall,player,player_feet. The matrix is kept symmetric. The map
+ * property collision_filtering = false (or -Dcaw.collisionFiltering=false) turns filtering off, so every
+ * pair collides as before.
+ */
+public class CollisionLayers {
+    public static final String PROPERTY_PREFIX = "collision.";
+
+    private final short[] masks = new short[FixtureTag.VALUES.length];
+    private boolean enabled = true;
+
+    public CollisionLayers() {
+        // static level geometry; static vs static never collides anyway
+        FixtureTag[] solids = {FixtureTag.GROUND, FixtureTag.WALL, FixtureTag.NONE};
+        for (FixtureTag solid : solids) {
+            allow(solid, FixtureTag.PLAYER);
+            allow(solid, FixtureTag.ENEMY);
+            allow(solid, FixtureTag.PROJECTILE);
+        }
+        // the foot sensor only cares about ground and the things it can land on or pick up
+        allow(FixtureTag.PLAYER_FEET, FixtureTag.GROUND);
+        allow(FixtureTag.PLAYER_FEET, FixtureTag.ENEMY);
+
+        for (FixtureTag playerTag : new FixtureTag[]{FixtureTag.PLAYER, FixtureTag.PLAYER_FEET}) {
+            allow(playerTag, FixtureTag.COIN);
+            allow(playerTag, FixtureTag.KEY);
+            allow(playerTag, FixtureTag.DOOR);
+            allow(playerTag, FixtureTag.PROJECTILE);
+        }
+        allow(FixtureTag.PLAYER, FixtureTag.ENEMY);
+        allow(FixtureTag.PLAYER, FixtureTag.SHOOTING_ENEMY);
+
+        allow(FixtureTag.ENEMY, FixtureTag.ENEMY);
+        allow(FixtureTag.ENEMY, FixtureTag.SHOOTING_ENEMY);
+        allow(FixtureTag.ENEMY, FixtureTag.DOOR);
+        allow(FixtureTag.ENEMY, FixtureTag.PROJECTILE);
+
+        allow(FixtureTag.PROJECTILE, FixtureTag.PROJECTILE);
+        allow(FixtureTag.PROJECTILE, FixtureTag.SHOOTING_ENEMY);
+        allow(FixtureTag.PROJECTILE, FixtureTag.DOOR);
+    }
+
+    /** Applies the "collision.*" and collision_filtering overrides of a map. */
+    public void configure(ObjectMap<String, String> mapProperties) {
+        String filtering = mapProperties.get("collision_filtering", System.getProperty("caw.collisionFiltering"));
+        if (filtering != null) enabled = Boolean.parseBoolean(filtering);
+
+        for (ObjectMap.Entry<String, String> entry : mapProperties) {
+            if (!entry.key.startsWith(PROPERTY_PREFIX)) continue;
+            FixtureTag tag = parseTag(entry.key.substring(PROPERTY_PREFIX.length()));
+            if (tag == null) continue;
+
+            for (FixtureTag other : FixtureTag.VALUES) deny(tag, other);
+            for (String name : entry.value.split(",")) {
+                FixtureTag other = parseTag(name);
+                if (other != null) allow(tag, other);
+            }
+        }
+        Log.info(Log.Category.WORLD, "Collision filtering {}", enabled ? "enabled" : "disabled");
+    }
+
+    private static FixtureTag parseTag(String name) {
+        try {
+            return FixtureTag.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            Log.error(Log.Category.WORLD, "Unknown collision layer '{}'", name);
+            return null;
+        }
+    }
+
+    public void allow(FixtureTag a, FixtureTag b) {
+        masks[a.ordinal()] |= category(b);
+        masks[b.ordinal()] |= category(a);
+    }
+
+    public void deny(FixtureTag a, FixtureTag b) {
+        masks[a.ordinal()] &= ~category(b);
+        masks[b.ordinal()] &= ~category(a);
+    }
+
+    public boolean collides(FixtureTag a, FixtureTag b) {
+        return !enabled || (masks[a.ordinal()] & category(b)) != 0;
+    }
+
+    public static short category(FixtureTag tag) {
+        return (short) (1 << tag.ordinal());
+    }
+
+    public short mask(FixtureTag tag) {
+        return enabled ? masks[tag.ordinal()] : (short) -1;
+    }
+
+    /** Tags the fixture and gives it the filter of that tag. */
+    public Fixture tag(Fixture fixture, FixtureTag tag) {
+        fixture.setUserData(tag);
+        Filter filter = fixture.getFilterData();
+        filter.categoryBits = category(tag);
+        filter.maskBits = mask(tag);
+        fixture.setFilterData(filter);
+        return fixture;
+    }
+
+    /** Narrows a live fixture's mask to what it may still touch, e.g. a stomped enemy that only needs the ground. */
+    public void restrict(Fixture fixture, FixtureTag... stillCollidesWith) {
+        if (!enabled) return;
+        FixtureTag tag = FixtureTag.of(fixture);
+        short mask = 0;
+        for (FixtureTag other : stillCollidesWith) mask |= category(other);
+        Filter filter = fixture.getFilterData();
+        filter.maskBits = (short) (masks[tag.ordinal()] & mask);
+        fixture.setFilterData(filter);
+    }
+
+    /** Gives a fixture back the full mask of its tag. */
+    public void restore(Fixture fixture) {
+        Filter filter = fixture.getFilterData();
+        filter.maskBits = mask(FixtureTag.of(fixture));
+        fixture.setFilterData(filter);
+    }
+}
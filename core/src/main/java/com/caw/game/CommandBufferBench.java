@@ -0,0 +1,83 @@
+package com.caw.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.util.Locale;
+
+/**
+ * Removal bookkeeping at 10k entities, run from the core benchCommandBuffer Gradle task. Every entity dies in
+ * the same frame and is scheduled twice, like a coin trail touched by both player fixtures. "old" is the
+ * Array.contains dedupe plus ordered Array.removeValue GameScreen used to do. "new" is the identity set of
+ * {@link WorldCommandBuffer} plus {@link SlotArray} swap-removal. The Box2D destroyBody calls are the same in
+ * both and need natives, so they are left out.
+ */
+public class CommandBufferBench {
+    private static final int ENTITIES = 10_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        Entity[] entities = new Entity[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) entities[i] = new Entity();
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += runOld(entities);
+            sink += runNew(entities);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += runOld(entities);
+        long oldNanos = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += runNew(entities);
+        long newNanos = (System.nanoTime() - start) / ROUNDS;
+
+        System.out.println(String.format(Locale.ROOT, "%d entities removed in one frame", ENTITIES));
+        System.out.println(String.format(Locale.ROOT, "%-4s %10.2f ms", "old", oldNanos / 1e6));
+        System.out.println(String.format(Locale.ROOT, "%-4s %10.2f ms", "new", newNanos / 1e6));
+        System.out.println(String.format(Locale.ROOT, "speedup %.1fx (checksum %d)", oldNanos / (double) Math.max(1, newNanos), sink));
+    }
+
+    private static int runOld(Entity[] entities) {
+        Array<Entity> live = new Array<>(entities);
+        Array<Entity> scheduled = new Array<>();
+        for (int pass = 0; pass < 2; pass++) {
+            for (Entity entity : entities) {
+                if (!scheduled.contains(entity, true)) scheduled.add(entity);
+            }
+        }
+        for (Entity entity : scheduled) live.removeValue(entity, true);
+        return scheduled.size + live.size;
+    }
+
+    private static int runNew(Entity[] entities) {
+        SlotArray<Entity> live = new SlotArray<>();
+        for (Entity entity : entities) live.add(entity);
+        Array<Entity> scheduled = new Array<>(false, 64);
+        ObjectSet<Entity> scheduledSet = new ObjectSet<>();
+        for (int pass = 0; pass < 2; pass++) {
+            for (Entity entity : entities) {
+                if (scheduledSet.add(entity)) scheduled.add(entity);
+            }
+        }
+        for (Entity entity : scheduled) live.removeValue(entity, true);
+        return scheduled.size + live.size;
+    }
+
+    private static final class Entity implements SlotArray.Slotted {
+        private int slot = -1;
+
+        @Override
+        public int getSlot() {
+            return slot;
+        }
+
+        @Override
+        public void setSlot(int slot) {
+            this.slot = slot;
+        }
+    }
+}
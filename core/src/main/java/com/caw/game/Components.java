@@ -0,0 +1,39 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Family;
+
+/**
+ * Every component mapper and entity family of the game. Ashley registers component types and families in
+ * static maps without locking, and batch runs build worlds on several threads, so they are all made here,
+ * once, under the class initializer's lock; afterwards those maps are only read.
+ */
+public final class Components {
+    public static final ComponentMapper<TransformComponent> TRANSFORM = ComponentMapper.getFor(TransformComponent.class);
+    public static final ComponentMapper<BodyComponent> BODY = ComponentMapper.getFor(BodyComponent.class);
+    public static final ComponentMapper<SpriteComponent> SPRITE = ComponentMapper.getFor(SpriteComponent.class);
+    public static final ComponentMapper<AnimationComponent> ANIMATION = ComponentMapper.getFor(AnimationComponent.class);
+    public static final ComponentMapper<LifetimeComponent> LIFETIME = ComponentMapper.getFor(LifetimeComponent.class);
+    public static final ComponentMapper<AiComponent> AI = ComponentMapper.getFor(AiComponent.class);
+    public static final ComponentMapper<DormantComponent> DORMANT = ComponentMapper.getFor(DormantComponent.class);
+    public static final ComponentMapper<Player> PLAYER = ComponentMapper.getFor(Player.class);
+    public static final ComponentMapper<Enemy> ENEMY = ComponentMapper.getFor(Enemy.class);
+    public static final ComponentMapper<ShootingEnemy> SHOOTING_ENEMY = ComponentMapper.getFor(ShootingEnemy.class);
+    public static final ComponentMapper<Coin> COIN = ComponentMapper.getFor(Coin.class);
+    public static final ComponentMapper<Projectile> PROJECTILE = ComponentMapper.getFor(Projectile.class);
+    public static final ComponentMapper<GameWorld.DoorData> DOOR = ComponentMapper.getFor(GameWorld.DoorData.class);
+
+    public static final Family PLAYERS = Family.all(Player.class).get();
+    public static final Family THINKERS = Family.all(AiComponent.class, TransformComponent.class)
+        .exclude(DormantComponent.class).get();
+    public static final Family PROJECTILES = Family.all(Projectile.class, LifetimeComponent.class).get();
+    public static final Family MORTAL = Family.all(LifetimeComponent.class).get();
+    public static final Family MOVING = Family.all(BodyComponent.class, TransformComponent.class)
+        .exclude(DormantComponent.class).get();
+    public static final Family ANIMATED = Family.all(AnimationComponent.class, SpriteComponent.class)
+        .exclude(DormantComponent.class).get();
+    public static final Family DRAWN = Family.all(TransformComponent.class, SpriteComponent.class).get();
+
+    private Components() {
+    }
+}
@@ -0,0 +1,60 @@
+package com.caw.game;
+
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * What the contact handlers found during a step, for {@link WorldContactListener#applyContacts()} to act on
+ * after it. A preallocated ring; the callbacks run inside world.step on the same thread, so it needs no atomics.
+ */
+public class ContactEventQueue {
+    public enum Type { COIN_TOUCHED, KEY_TOUCHED, DOOR_REACHED }
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    static final class Event {
+        Type type;
+        Object subject;
+        Fixture fixture;
+    }
+
+    private final Event[] ring;
+    private final int mask;
+    private long tail = 0;
+    private long head = 0;
+    private long dropped = 0;
+
+    /** capacity is rounded up to a power of two. */
+    public ContactEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        ring = new Event[size];
+        for (int i = 0; i < size; i++) ring[i] = new Event();
+        mask = size - 1;
+    }
+
+    /** Records the event, or drops it when the ring is full. */
+    public void publish(Type type, Object subject, Fixture fixture) {
+        if (tail - head >= ring.length) {
+            if (dropped++ == 0) Log.error(Log.Category.CONTACT, "Contact queue full, dropping {} and later events", type);
+            return;
+        }
+        Event event = ring[(int) (tail++ & mask)];
+        event.type = type;
+        event.subject = subject;
+        event.fixture = fixture;
+    }
+
+    /** The oldest event not taken yet, or null; it stays valid until the next call. */
+    Event poll() {
+        if (head >= tail) return null;
+        return ring[(int) (head++ & mask)];
+    }
+
+    /** Forgets the events not taken yet. */
+    public void clear() {
+        head = tail;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,84 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Locale;
+
+/**
+ * Culling cost as off-screen content grows, run from the core benchCulling Gradle task. The view is the game's
+ * 320x240 camera; 100 up to 100k coin-sized static entities are spread over a level that grows with them, so
+ * the number on screen stays about the same. "all" is the old per-frame work of visiting every entity (only a
+ * bounds test here; the game also made native position calls and submitted a quad for each), "grid" is the
+ * {@link RenderGrid} query {@link RenderCuller} makes. "drawn" is how many entities a frame submits.
+ */
+public class CullingBench {
+    private static final int[] COUNTS = {100, 1_000, 10_000, 100_000};
+    private static final float AREA_PER_ENTITY = 64f * 64f;
+    private static final float SIZE = Coin.VISUAL_COIN_SIZE;
+    private static final float VIEW_WIDTH = GameScreen.WORLD_WIDTH_PIXELS;
+    private static final float VIEW_HEIGHT = GameScreen.WORLD_HEIGHT_PIXELS;
+    private static final int FRAMES = 1_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        System.out.println(String.format(Locale.ROOT, "%8s %14s %14s %8s", "entities", "all us/frame", "grid us/frame", "drawn"));
+        long sink = 0;
+        for (int count : COUNTS) sink += run(count);
+        System.out.println(String.format(Locale.ROOT, "(checksum %d)", sink));
+    }
+
+    private static long run(int count) {
+        RandomXS128 random = new RandomXS128(count);
+        float side = (float) Math.sqrt(count * AREA_PER_ENTITY);
+        float[] xs = new float[count];
+        float[] ys = new float[count];
+        RenderGrid grid = new RenderGrid(side, side, RenderCuller.CELL_SIZE_PIXELS);
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextFloat() * side;
+            ys[i] = random.nextFloat() * side;
+            grid.add(xs[i], ys[i], SIZE, SIZE);
+        }
+        IntArray out = new IntArray(256);
+        float[] viewX = new float[FRAMES];
+        float[] viewY = new float[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            viewX[i] = random.nextFloat() * Math.max(0f, side - VIEW_WIDTH);
+            viewY[i] = random.nextFloat() * Math.max(0f, side - VIEW_HEIGHT);
+        }
+
+        long sink = 0;
+        long drawn = 0;
+        long allNanos = 0, gridNanos = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) sink += all(xs, ys, viewX[i], viewY[i]);
+            long scanned = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) {
+                drawn += grid.query(viewX[i], viewY[i], viewX[i] + VIEW_WIDTH, viewY[i] + VIEW_HEIGHT, out);
+            }
+            long queried = System.nanoTime();
+
+            if (round >= WARMUP_ROUNDS) {
+                allNanos += scanned - start;
+                gridNanos += queried - scanned;
+            }
+        }
+
+        double frames = (double) FRAMES * ROUNDS;
+        System.out.println(String.format(Locale.ROOT, "%8d %14.2f %14.2f %8.1f", count,
+            allNanos / frames / 1e3, gridNanos / frames / 1e3, drawn / ((double) FRAMES * (WARMUP_ROUNDS + ROUNDS))));
+        return sink + drawn;
+    }
+
+    private static int all(float[] xs, float[] ys, float viewX, float viewY) {
+        int visible = 0;
+        for (int i = 0; i < xs.length; i++) {
+            if (xs[i] <= viewX + VIEW_WIDTH && xs[i] + SIZE >= viewX && ys[i] <= viewY + VIEW_HEIGHT && ys[i] + SIZE >= viewY) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+}
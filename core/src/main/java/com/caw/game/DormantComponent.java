@@ -0,0 +1,14 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Tag for entities outside the activation region. The simulation, animation and render families exclude it,
+ * so sleeping entities are not even visited. It has no state, so every entity shares {@link #INSTANCE}.
+ */
+public final class DormantComponent implements Component {
+    public static final DormantComponent INSTANCE = new DormantComponent();
+
+    private DormantComponent() {
+    }
+}
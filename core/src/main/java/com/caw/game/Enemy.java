@@ -1,19 +1,19 @@
 package com.caw.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
 
-public class Enemy {
-    private float stateTime;
+public class Enemy implements Component, SlotArray.Slotted, SpatialHash.Tracked {
     public Body body;
-    private Animation<TextureRegion> patrolAnimation;
+    // this enemy with its body, transform, sprite, patrol animation and behaviour tree (see EnemyTasks)
+    public final Entity entity = new Entity();
+    private final TransformComponent transform;
+    private final SpriteComponent sprite = new SpriteComponent(null);
+    private final AnimationComponent animation;
     public static final int SPRITESHEET_FRAME_WIDTH = 32;
     public static final int SPRITESHEET_FRAME_HEIGHT = 20;
     private boolean movingRight = true;
@@ -25,24 +25,32 @@ public class Enemy {
 
     private boolean isStomped = false;
     private boolean scheduledForRemoval = false;
-    final GameScreen gameScreen;
+
+    // index in the owning SlotArray, -1 when not in one
+    private int slot = -1;
+    // id in GameWorld's SpatialHash, -1 when not tracked
+    private int spatialId = -1;
+    // outside the activation region: body inactive, no update/draw, patrol state kept as is
+    private boolean dormant = false;
+    final GameWorld gameWorld;
 
     final float visualWidthPixels;
     final float visualHeightPixels;
 
-    public Enemy(Body body, Texture patrolSheet, float initialX_pixels, float patrolDistance_pixels,
-                 float visualWidth_pixels, float visualHeight_pixels, GameScreen gameScreen) {
+    public Enemy(Body body, FacingAnimation patrolAnimation, float initialX_pixels, float patrolDistance_pixels,
+                 float visualWidth_pixels, float visualHeight_pixels, GameWorld gameWorld) {
 
         this.body = body;
         this.visualWidthPixels = visualWidth_pixels;
         this.visualHeightPixels = visualHeight_pixels;
 
-        this.gameScreen = gameScreen;
+        this.gameWorld = gameWorld;
 
         this.patrolCenterX_meters = initialX_pixels / GameScreen.PPM;
         this.patrolHalfDistanceMeters = (patrolDistance_pixels / 2f) / GameScreen.PPM;
 
-        loadAnimations(patrolSheet);
+        this.transform = new TransformComponent(visualWidth_pixels, visualHeight_pixels);
+        this.animation = new AnimationComponent(patrolAnimation, 0f);
 
         if (this.body != null) {
             if (!this.body.getFixtureList().isEmpty()) {
@@ -52,36 +60,35 @@ public class Enemy {
             this.movingRight = true;
             this.body.setLinearVelocity(speed, 0);
             this.body.setUserData(this);
+            transform.snap(this.body.getPosition());
         }
-        stateTime = 0f;
+        entity.add(this).add(new BodyComponent(this.body)).add(transform).add(sprite).add(animation);
     }
-    private void loadAnimations(Texture patrolSheet) {
-        if (patrolSheet != null) {
-            int patrolFrameCount = 4;
-            TextureRegion[][] tmpPatrol = TextureRegion.split(patrolSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT);
-            Array<TextureRegion> patrolFrames = new Array<>(patrolFrameCount);
-            for (int i = 0; i < patrolFrameCount; i++) {
-                patrolFrames.add(tmpPatrol[0][i]);
-            }
-            patrolAnimation = new Animation<>(0.15f, patrolFrames, Animation.PlayMode.LOOP);
-        }
+
+    /** The patrol animation of the enemy sheet, shared by all enemies; null without a sheet. */
+    public static FacingAnimation patrolAnimation(TextureRegion patrolSheet) {
+        return FacingAnimation.fromSheetRow(patrolSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT, 4, 0.15f);
     }
 
-    public void update(float deltaTime) {
+    /**
+     * One patrol tick, run by the patroller behaviour tree (see {@link EnemyTasks.Patrol}), possibly only every
+     * few steps: turns at the ends of the patrol, clamping back onto them. Returns false once the enemy is out
+     * of play.
+     */
+    public boolean patrol() {
         if (body == null || !body.isActive()) {
-            return;
+            return !isStomped;
         }
 
         if (isStomped || scheduledForRemoval) {
             if (!scheduledForRemoval) {
                 body.setLinearVelocity(0, 0);
-                gameScreen.scheduleBodyForRemoval(this.body);
+                gameWorld.scheduleBodyForRemoval(this.body);
                 scheduledForRemoval = true;
             }
-            return;
+            return false;
         }
 
-        stateTime += deltaTime; //update anim time
         Vector2 currentPosition = body.getPosition();
 
         if (patrolHalfDistanceMeters > 0.001f) {
@@ -91,6 +98,7 @@ public class Enemy {
             if (movingRight) {
                 if (currentPosition.x >= rightBound) {
                     movingRight = false;
+                    animation.facingRight = false;
                     body.setTransform(rightBound, currentPosition.y, body.getAngle());
                     body.setLinearVelocity(-speed, body.getLinearVelocity().y);
                 } else if (body.getLinearVelocity().x < speed * 0.9f) {
@@ -99,6 +107,7 @@ public class Enemy {
             } else {
                 if (currentPosition.x <= leftBound) {
                     movingRight = true;
+                    animation.facingRight = true;
                     body.setTransform(leftBound, currentPosition.y, body.getAngle());
                     body.setLinearVelocity(speed, body.getLinearVelocity().y);
                 } else if (body.getLinearVelocity().x > -speed * 0.9f) {
@@ -110,62 +119,50 @@ public class Enemy {
                 body.setLinearVelocity(0, body.getLinearVelocity().y);
             }
         }
-    }
-
-    private TextureRegion getFrameToRender() {
-        if (patrolAnimation != null) {
-            return patrolAnimation.getKeyFrame(stateTime, true);
-        }
-        return null;
-    }
-
-    private void flipCurrentFrame(TextureRegion frame) {
-        if (frame == null) return;
-
-        if (!movingRight && !frame.isFlipX()) {
-            frame.flip(true, false);
-        } else if (movingRight && frame.isFlipX()) {
-            frame.flip(true, false);
-        }
-    }
-
-    public void draw(SpriteBatch batch) {
-        if (body == null || !body.isActive() || isStomped) {
-            return;
-        }
-
-        TextureRegion currentFrame = getFrameToRender();
-        if (currentFrame == null) {
-            return;
-        }
-
-        flipCurrentFrame(currentFrame);
-
-        float drawX = body.getPosition().x * GameScreen.PPM - visualWidthPixels / 2f;
-        float drawY = body.getPosition().y * GameScreen.PPM - visualHeightPixels / 2f;
-
-        batch.draw(currentFrame, drawX, drawY, visualWidthPixels, visualHeightPixels);
+        return true;
     }
 
     public void onStomped() {
         if (isStomped) return;
 
-        Gdx.app.log("ENEMY", "Enemy stomped!");
+        Log.debug(Log.Category.ENEMY, "Enemy stomped!");
         isStomped = true;
+        sprite.visible = false;
 
         if (body != null && body.isActive()) {
             body.setLinearVelocity(0, 0);
 
+            // drop out of every pair, the body is removed after this step
             for (Fixture fixture : body.getFixtureList()) {
                 fixture.setSensor(true);
+                gameWorld.getCollisionLayers().restrict(fixture);
             }
 
-            if (gameScreen != null && !scheduledForRemoval) {
-                gameScreen.scheduleBodyForRemoval(this.body);
+            if (!scheduledForRemoval) {
+                gameWorld.scheduleBodyForRemoval(this.body);
                 scheduledForRemoval = true;
             }
         }
-        if (gameScreen != null) gameScreen.playEnemyDeathSound();
+        gameWorld.getEvents().enemyKilled();
+    }
+
+    /** Puts the enemy to sleep or wakes it; must not be called during a world step. */
+    public void setDormant(boolean dormant) {
+        if (this.dormant == dormant || body == null || isStomped || scheduledForRemoval) return;
+        this.dormant = dormant;
+        body.setActive(!dormant);
+        if (dormant) {
+            entity.add(DormantComponent.INSTANCE);
+        } else {
+            entity.remove(DormantComponent.class);
+            transform.snap(body.getPosition()); // no interpolation from where it fell asleep
+            // resume the patrol in the direction it was going
+            body.setLinearVelocity(movingRight ? speed : -speed, body.getLinearVelocity().y);
+        }
+    }
+
+    public boolean isDormant() {
+        return dormant;
     }
 
     public boolean isStomped() {
@@ -184,4 +181,23 @@ public class Enemy {
         return visualHeightPixels;
     }
 
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public int getSpatialId() {
+        return spatialId;
+    }
+
+    @Override
+    public void setSpatialId(int id) {
+        this.spatialId = id;
+    }
 }
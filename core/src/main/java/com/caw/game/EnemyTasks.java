@@ -0,0 +1,98 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.ai.btree.LeafTask;
+import com.badlogic.gdx.ai.btree.Task;
+import com.badlogic.gdx.ai.btree.annotation.TaskAttribute;
+
+/**
+ * The leaf tasks enemy behaviour trees are built from, imported by the .tree files in assets/ai/ (as e.g.
+ * {@code import patrol:"com.caw.game.EnemyTasks$Patrol"}). The blackboard is the enemy's entity. A tree may
+ * run only every few steps (see {@link AiSystem}), so timers advance by {@link AiComponent#elapsed}, never
+ * by a fixed step.
+ */
+public final class EnemyTasks {
+    private EnemyTasks() {
+    }
+
+    /** Base for the stateless tasks: nothing to copy into a clone. */
+    public abstract static class EnemyTask extends LeafTask<Entity> {
+        protected AiComponent ai() {
+            return Components.AI.get(getObject());
+        }
+
+        protected ShootingEnemy shooter() {
+            return Components.SHOOTING_ENEMY.get(getObject());
+        }
+
+        @Override
+        protected Task<Entity> copyTo(Task<Entity> task) {
+            return task;
+        }
+    }
+
+    /** Walks the enemy back and forth over its patrol distance; runs until the enemy is stomped. */
+    public static class Patrol extends EnemyTask {
+        @Override
+        public Status execute() {
+            return Components.ENEMY.get(getObject()).patrol() ? Status.RUNNING : Status.FAILED;
+        }
+    }
+
+    /** Counts the shooter's cooldown down by the time since the last tick; always succeeds. */
+    public static class TickCooldown extends EnemyTask {
+        @Override
+        public Status execute() {
+            shooter().tickCooldown(ai().elapsed);
+            return Status.SUCCEEDED;
+        }
+    }
+
+    public static class CooldownReady extends EnemyTask {
+        @Override
+        public Status execute() {
+            return shooter().isCooldownReady() ? Status.SUCCEEDED : Status.FAILED;
+        }
+    }
+
+    /** Succeeds while the live player is within scale times the shooter's detection radius. */
+    public static class PlayerNear extends EnemyTask {
+        @TaskAttribute
+        public float scale = 1f;
+
+        @Override
+        public Status execute() {
+            return shooter().isWithinDetection(ai().playerDistanceSquared, scale) ? Status.SUCCEEDED : Status.FAILED;
+        }
+
+        @Override
+        protected Task<Entity> copyTo(Task<Entity> task) {
+            ((PlayerNear) task).scale = scale;
+            return task;
+        }
+    }
+
+    public static class CanSeePlayer extends EnemyTask {
+        @Override
+        public Status execute() {
+            return shooter().canSeePlayer() ? Status.SUCCEEDED : Status.FAILED;
+        }
+    }
+
+    /** Fires at the player and restarts the cooldown. */
+    public static class Shoot extends EnemyTask {
+        @Override
+        public Status execute() {
+            shooter().shootAtPlayer();
+            return Status.SUCCEEDED;
+        }
+    }
+
+    public static class FacePlayer extends EnemyTask {
+        @Override
+        public Status execute() {
+            shooter().facePlayer();
+            return Status.SUCCEEDED;
+        }
+    }
+}
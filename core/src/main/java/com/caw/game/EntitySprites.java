@@ -0,0 +1,43 @@
+package com.caw.game;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Sprites handed to the entities {@link GameWorld} creates. The sheets are split into {@link FacingAnimation}s
+ * here, once, and every entity of a type shares them. Every sprite may be null, as in {@link #NONE}: the entity
+ * then simulates normally and just has nothing to draw, which is how headless runs work without a GL context.
+ */
+public class EntitySprites {
+    public static final EntitySprites NONE = new EntitySprites(null, null, null, null, null, null, null, null, null);
+
+    public final FacingAnimation playerIdle;
+    public final FacingAnimation playerRun;
+    public final FacingAnimation coin;
+    public final FacingAnimation enemy;
+    public final FacingAnimation shootingEnemy;
+    public final TextureRegion projectile;
+    public final TextureRegion key;
+    public final TextureRegion doorClosed;
+    public final TextureRegion doorOpen;
+
+    public EntitySprites(TextureRegion playerIdleSheet, TextureRegion playerRunSheet, TextureRegion coinSheet,
+                         TextureRegion enemySheet, TextureRegion shootingEnemySheet, TextureRegion projectile,
+                         TextureRegion key, TextureRegion doorClosed, TextureRegion doorOpen) {
+        this.playerIdle = Player.idleAnimation(playerIdleSheet);
+        this.playerRun = Player.runAnimation(playerRunSheet);
+        this.coin = Coin.spinAnimation(coinSheet);
+        this.enemy = Enemy.patrolAnimation(enemySheet);
+        this.shootingEnemy = ShootingEnemy.animation(shootingEnemySheet);
+        this.projectile = projectile;
+        this.key = key;
+        this.doorClosed = doorClosed;
+        this.doorOpen = doorOpen;
+    }
+
+    public static EntitySprites from(Assets assets) {
+        return new EntitySprites(assets.region(Assets.PLAYER_IDLE), assets.region(Assets.PLAYER_RUN),
+            assets.region(Assets.COIN_SHEET), assets.region(Assets.ENEMY_SHEET),
+            assets.region(Assets.SHOOTING_ENEMY_SHEET), assets.region(Assets.PROJECTILE), assets.region(Assets.KEY),
+            assets.region(Assets.DOOR_CLOSED), assets.region(Assets.DOOR_OPEN));
+    }
+}
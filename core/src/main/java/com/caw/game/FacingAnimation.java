@@ -0,0 +1,52 @@
+package com.caw.game;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * An animation with its frames for both facings. The left-facing frames are flipped copies made once when it
+ * is built, so drawing only picks a region and never flips one. Built once per sprite sheet (see
+ * {@link EntitySprites}) and shared by every entity of a type; the state time lives in the entity.
+ */
+public class FacingAnimation {
+    private final Animation<TextureRegion> right;
+    private final Animation<TextureRegion> left;
+
+    /** The frames face right as given; they are not changed, the left-facing ones are new regions. */
+    public FacingAnimation(float frameDuration, Array<TextureRegion> rightFrames, Animation.PlayMode playMode) {
+        Array<TextureRegion> leftFrames = new Array<>(rightFrames.size);
+        for (TextureRegion frame : rightFrames) {
+            TextureRegion flipped = new TextureRegion(frame);
+            flipped.flip(true, false);
+            leftFrames.add(flipped);
+        }
+        right = new Animation<>(frameDuration, rightFrames, playMode);
+        left = new Animation<>(frameDuration, leftFrames, playMode);
+    }
+
+    /** A looping animation of the first frameCount frames in the sheet's top row, or null without a sheet (headless). */
+    public static FacingAnimation fromSheetRow(TextureRegion sheet, int frameWidth, int frameHeight, int frameCount,
+                                               float frameDuration) {
+        if (sheet == null) return null;
+        TextureRegion[][] split = sheet.split(frameWidth, frameHeight);
+        Array<TextureRegion> frames = new Array<>(frameCount);
+        for (int i = 0; i < frameCount; i++) {
+            frames.add(split[0][i]);
+        }
+        return new FacingAnimation(frameDuration, frames, Animation.PlayMode.LOOP);
+    }
+
+    public TextureRegion getKeyFrame(float stateTime, boolean facingRight) {
+        return (facingRight ? right : left).getKeyFrame(stateTime);
+    }
+
+    /** A single frame by index, for poses that are not animated (e.g. jumping). */
+    public TextureRegion getFrame(int index, boolean facingRight) {
+        return (facingRight ? right : left).getKeyFrames()[index];
+    }
+
+    public float getAnimationDuration() {
+        return right.getAnimationDuration();
+    }
+}
@@ -0,0 +1,40 @@
+package com.caw.game;
+
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * What a fixture is, stored once as the fixture's userData. The owning entity (Player, Enemy, Coin,
+ * Projectile, DoorData, ...) lives in the body's userData. {@link WorldContactListener} dispatches on
+ * the pair of tags.
+ */
+public enum FixtureTag {
+    NONE,
+    PLAYER,
+    PLAYER_FEET,
+    GROUND,
+    WALL,
+    COIN,
+    KEY,
+    DOOR,
+    ENEMY,
+    SHOOTING_ENEMY,
+    PROJECTILE;
+
+    static final FixtureTag[] VALUES = values();
+
+    public static FixtureTag of(Fixture fixture) {
+        Object userData = fixture.getUserData();
+        return userData instanceof FixtureTag ? (FixtureTag) userData : NONE;
+    }
+
+    /** Tag for a "Collision" rectangle's surface_type; unknown types collide but trigger nothing. */
+    public static FixtureTag forSurfaceType(String surfaceType) {
+        if ("ground".equals(surfaceType)) return GROUND;
+        if ("wall".equals(surfaceType)) return WALL;
+        return NONE;
+    }
+
+    public boolean isPlayer() {
+        return this == PLAYER || this == PLAYER_FEET;
+    }
+}
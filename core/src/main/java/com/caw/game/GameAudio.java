@@ -0,0 +1,47 @@
+package com.caw.game;
+
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.audio.Sound;
+
+/**
+ * Plays the gameplay sounds, as a subscriber of the world's {@link GameEventQueue}, at the master volume from
+ * the preferences. The sounds are borrowed from the game's {@link Assets} and not disposed here.
+ */
+public class GameAudio implements GameEvents {
+    private final Preferences prefs;
+    private final Sound walkSound;
+    private final Sound jumpSound;
+    private final Sound playerHurtSound;
+    private final Sound playerDeathSound;
+    private final Sound enemyDeathSound;
+    private final Sound shootSound;
+    private final Sound coinPickupSound;
+    private final Sound keyPickupSound;
+
+    public GameAudio(Assets assets, Preferences prefs) {
+        this.prefs = prefs;
+        walkSound = assets.getOrNull(Assets.SOUND_WALK, Sound.class);
+        jumpSound = assets.getOrNull(Assets.SOUND_JUMP, Sound.class);
+        playerHurtSound = assets.getOrNull(Assets.SOUND_PLAYER_HURT, Sound.class);
+        playerDeathSound = assets.getOrNull(Assets.SOUND_PLAYER_DEATH, Sound.class);
+        enemyDeathSound = assets.getOrNull(Assets.SOUND_ENEMY_DEATH, Sound.class);
+        shootSound = assets.getOrNull(Assets.SOUND_SHOOT, Sound.class);
+        coinPickupSound = assets.getOrNull(Assets.SOUND_COIN, Sound.class);
+        keyPickupSound = assets.getOrNull(Assets.SOUND_KEY, Sound.class);
+    }
+
+    private void play(Sound sound, float relativeVolume) {
+        if (sound == null) return;
+        float masterVolume = prefs != null ? prefs.getFloat("masterVolume", 0.5f) : 0.5f;
+        sound.play(masterVolume * relativeVolume);
+    }
+
+    @Override public void playerWalked() { play(walkSound, 0.2f); }
+    @Override public void playerJumped() { play(jumpSound, 0.4f); }
+    @Override public void playerHurt() { play(playerHurtSound, 0.5f); }
+    @Override public void playerDied() { play(playerDeathSound, 0.7f); }
+    @Override public void enemyKilled() { play(enemyDeathSound, 0.3f); }
+    @Override public void shotFired() { play(shootSound, 0.4f); }
+    @Override public void coinCollected(int score) { play(coinPickupSound, 0.3f); }
+    @Override public void keyPickedUp() { play(keyPickupSound, 0.3f); }
+}
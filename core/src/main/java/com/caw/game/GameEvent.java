@@ -0,0 +1,41 @@
+package com.caw.game;
+
+/**
+ * One gameplay event in a {@link GameEventQueue}. The queue owns a fixed set of these, one per ring slot, and
+ * writes each new event into the next free one, so publishing never allocates. Only valid while it is being
+ * dispatched.
+ */
+public final class GameEvent {
+    public enum Type {
+        PLAYER_WALKED, PLAYER_JUMPED, PLAYER_HURT, PLAYER_DIED, ENEMY_KILLED, SHOT_FIRED, COIN_COLLECTED,
+        KEY_PICKED_UP, LEVEL_EXITED
+    }
+
+    Type type;
+    // the score for COIN_COLLECTED
+    int value;
+    // the next level asset for LEVEL_EXITED
+    String text;
+
+    GameEvent() {
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /** Calls the subscriber's method for this event. */
+    public void dispatchTo(GameEvents subscriber) {
+        switch (type) {
+            case PLAYER_WALKED: subscriber.playerWalked(); break;
+            case PLAYER_JUMPED: subscriber.playerJumped(); break;
+            case PLAYER_HURT: subscriber.playerHurt(); break;
+            case PLAYER_DIED: subscriber.playerDied(); break;
+            case ENEMY_KILLED: subscriber.enemyKilled(); break;
+            case SHOT_FIRED: subscriber.shotFired(); break;
+            case COIN_COLLECTED: subscriber.coinCollected(value); break;
+            case KEY_PICKED_UP: subscriber.keyPickedUp(); break;
+            case LEVEL_EXITED: subscriber.levelExited(text); break;
+        }
+    }
+}
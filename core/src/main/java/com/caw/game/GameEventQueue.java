@@ -0,0 +1,92 @@
+package com.caw.game;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the world's events in a preallocated single-producer, single-consumer ring and hands them to the
+ * subscribers in {@link #dispatch()}, after the step.
+ */
+public class GameEventQueue implements GameEvents {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final GameEvent[] ring;
+    private final int mask;
+    // next slot to publish into, written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+    // next slot to dispatch, written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    private long dropped = 0;
+
+    // consumer side
+    private final Array<GameEvents> subscribers = new Array<>(false, 4);
+
+    /** capacity is rounded up to a power of two. */
+    public GameEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        ring = new GameEvent[size];
+        for (int i = 0; i < size; i++) ring[i] = new GameEvent();
+        mask = size - 1;
+    }
+
+    private void publish(GameEvent.Type type, int value, String text) {
+        long slot = tail.get();
+        if (slot - head.get() >= ring.length) {
+            if (dropped++ == 0) Log.error(Log.Category.WORLD, "Event queue full, dropping {} and later events", type);
+            return;
+        }
+        GameEvent event = ring[(int) (slot & mask)];
+        event.type = type;
+        event.value = value;
+        event.text = text;
+        tail.lazySet(slot + 1); // the event's fields become visible to the consumer before the new tail
+    }
+
+    /** Hands every event published so far to each subscriber, oldest first; returns how many there were. */
+    public int dispatch() {
+        long first = head.get();
+        long last = tail.get();
+        for (long slot = first; slot < last; slot++) {
+            GameEvent event = ring[(int) (slot & mask)];
+            for (int i = 0; i < subscribers.size; i++) event.dispatchTo(subscribers.get(i));
+            event.text = null;
+            head.lazySet(slot + 1); // frees the slot for the producer
+        }
+        return (int) (last - first);
+    }
+
+    /** Forgets the events not dispatched yet; only from the consumer side. */
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    public void subscribe(GameEvents subscriber) {
+        if (subscriber != null && !subscribers.contains(subscriber, true)) subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(GameEvents subscriber) {
+        subscribers.removeValue(subscriber, true);
+    }
+
+    public int getPendingCount() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /** Events lost because the ring was full. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    // GameEvents, the producer side: each call only records the event
+
+    @Override public void playerWalked() { publish(GameEvent.Type.PLAYER_WALKED, 0, null); }
+    @Override public void playerJumped() { publish(GameEvent.Type.PLAYER_JUMPED, 0, null); }
+    @Override public void playerHurt() { publish(GameEvent.Type.PLAYER_HURT, 0, null); }
+    @Override public void playerDied() { publish(GameEvent.Type.PLAYER_DIED, 0, null); }
+    @Override public void enemyKilled() { publish(GameEvent.Type.ENEMY_KILLED, 0, null); }
+    @Override public void shotFired() { publish(GameEvent.Type.SHOT_FIRED, 0, null); }
+    @Override public void coinCollected(int score) { publish(GameEvent.Type.COIN_COLLECTED, score, null); }
+    @Override public void keyPickedUp() { publish(GameEvent.Type.KEY_PICKED_UP, 0, null); }
+    @Override public void levelExited(String nextLevelAsset) { publish(GameEvent.Type.LEVEL_EXITED, 0, nextLevelAsset); }
+}
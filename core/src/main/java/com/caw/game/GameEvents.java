@@ -0,0 +1,27 @@
+package com.caw.game;
+
+/**
+ * Things the simulation reports to whoever presents it, delivered through the world's {@link GameEventQueue}
+ * after the step. GameScreen and {@link GameAudio} turn them into HUD updates, sounds and screen changes; a
+ * headless run can ignore them or count them. All methods default to doing nothing.
+ */
+public interface GameEvents {
+    default void playerWalked() { }
+
+    default void playerJumped() { }
+
+    default void playerHurt() { }
+
+    default void playerDied() { }
+
+    default void enemyKilled() { }
+
+    default void shotFired() { }
+
+    default void coinCollected(int score) { }
+
+    default void keyPickedUp() { }
+
+    /** The player walked through an open door; nextLevelAsset is a .tmx path or "main_menu". */
+    default void levelExited(String nextLevelAsset) { }
+}
@@ -6,33 +6,34 @@ import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.maps.MapLayer;
-import com.badlogic.gdx.maps.MapObject;
-import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.physics.box2d.Fixture;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.Input;
 
+/**
+ * Presents a {@link GameWorld}: camera, map and sprite rendering, HUD, pause menu and sounds. The gameplay
+ * itself lives in the world, which this screen steps at a fixed rate and feeds with the keyboard. The world's
+ * events reach the HUD, {@link GameAudio} and the level exit once per frame, after the steps.
+ */
 public class GameScreen implements Screen {
     final GameStart game;
-    private World world;
+    private GameWorld gameWorld;
     private Box2DDebugRenderer debugRenderer;
-    private WorldContactListener contactListener;
+    private final PlayerInput keyboardInput = new KeyboardInput();
+    private PlayerInput playerInput = keyboardInput;
+    // -Dcaw.record=<file> writes an input log for InputReplay; -Dcaw.seed fixes the gameplay RNG seed
+    private static final String RECORD_PATH = System.getProperty("caw.record");
+    private InputRecorder inputRecorder;
 
     //camera
     public static final float WORLD_WIDTH_PIXELS = 320f;
@@ -44,76 +45,73 @@ public class GameScreen implements Screen {
     private com.badlogic.gdx.utils.viewport.Viewport hudViewport;
 
     //map
+    public static final String LEVEL_ASSET = "assets/lvl1_final.tmx";
+    private LevelData level;
     private TiledMap map;
-    private OrthogonalTiledMapRenderer mapRenderer;
+    private ChunkedMapRenderer mapRenderer;
 
     // Player related
     private Player player;
-    private Texture playerIdleSheetTexture;
-    private Texture playerRunSheetTexture;
-    private Texture playerJumpSheetTexture;
-    private Texture playerFallSheetTexture;
-    private Vector2 initialPlayerSpawnPointPixels;
 
     public static final float PPM = 40;
-
-    //coin
-    private Array<Body> bodiesToRemove;
-    private Array<Fixture> fixturesToMakeSensor;
-
-    //anim coin
-    private Texture coinAnimationSheetTexture;
-    private Array<Coin> animatedCoins;
-    private Texture enemyPatrolSheetTexture;
-    private Texture shootingEnemySheetTexture;
-
-
-    private int score = 0;
-    private ShapeRenderer shapeRenderer;
-
-    //enemy
-    private Array<Enemy> enemies;
-    private Array<ShootingEnemy> shootingEnemies;
-    private Array<Projectile> projectiles;
-    private Texture projectileTexture;
-    private static final float ENEMY_VISUAL_WIDTH = 16f;
-    private static final float ENEMY_VISUAL_HEIGHT = 16f;
-
-    //shooting enemy
-    private static final float SHOOTING_ENEMY_VISUAL_WIDTH = 16f;
-    private static final float SHOOTING_ENEMY_VISUAL_HEIGHT = 16f;
-
-    //key - door
-    private Texture keyTexture;
-    private Texture doorClosedTexture;
-    private Texture doorOpenTexture;
-    public Body keyBody;
-    public boolean playerHasKey = false;
-    private Vector2 keyPositionPixels;
-    private Array<DoorData> doors;
+    // physics
+    public static final float DEFAULT_PHYSICS_HZ = 60f;
+    public static final int MAX_STEPS_PER_FRAME = 5;
+    private static final float MAX_FRAME_TIME = 0.25f;
+    private float physicsStep = 1f / DEFAULT_PHYSICS_HZ;
+    private float physicsAccumulator = 0f;
+    private float renderAlpha = 1f;
+    private final Vector2 cameraTarget = new Vector2();
+    // entities further than this outside the view are put to sleep
+    public static final float ACTIVATION_MARGIN_PIXELS = 96f;
+    private static final float ACTIVATION_HYSTERESIS_PIXELS = 32f;
+    private final ActivationRegion activationRegion = new ActivationRegion(ACTIVATION_MARGIN_PIXELS, ACTIVATION_HYSTERESIS_PIXELS);
+    private final RenderCuller renderCuller = new RenderCuller();
+    private final RenderPipeline renderPipeline = new RenderPipeline();
+    // -Dcaw.renderStats=true logs drawn vs total entities, draw calls and batch flushes
+    private static final boolean LOG_RENDER_STATS = Boolean.getBoolean("caw.renderStats");
+    // -Dcaw.drawCallBudget=<n> reports frames with more GL draw calls than that
+    public static final int DRAW_CALL_BUDGET = Integer.getInteger("caw.drawCallBudget", 0);
+    private static final float RENDER_STATS_INTERVAL = 5f;
+    private final GLProfiler glProfiler;
+    private float renderStatsTimer = 0f;
+    private long visibleCountSum = 0;
+    private long drawCallSum = 0;
+    private long flushSum = 0;
+    private int renderStatsSamples = 0;
+    private int lastDrawCalls = 0;
+    private int overBudgetFrames = 0;
+
+    private TextureRegion keyRegion;
+    private TextureRegion whiteRegion;
+
+    private Hud hud;
 
     private boolean playerNeedsPositionReset = false; // reset pos WO death
 
-    //sounds
-    private Sound walkSound;
-    private Sound jumpSound;
-    private Sound playerHurtSound;
-    private Sound playerDeathSound;
-    private Sound enemyDeathSound;
-    private Sound shootSound;
-    private Sound coinPickupSound;
-    private Sound keyPickupSound;
+    // set by the level exit event, acted on at the start of the next frame
+    private String pendingNextLevel = null;
+
+    // HUD and screen changes, from the world's events
+    private final GameEvents screenEvents = new GameEvents() {
+        @Override public void playerHurt() { syncHud(); }
+        @Override public void playerDied() { syncHud(); }
+        @Override public void coinCollected(int score) { if (hud != null) hud.setScore(score); }
+        @Override public void keyPickedUp() { if (hud != null) hud.setHasKey(true); }
+        @Override public void levelExited(String nextLevelAsset) { pendingNextLevel = nextLevelAsset; }
+    };
 
     // UI-UX
     private boolean isPaused = false;
     private Stage pauseGuiStage;
     private Skin uiSkin;
-    private ShapeRenderer dimRenderer;
 
     public GameScreen(final GameStart game) {
         this.game = game;
         gameCamera = new OrthographicCamera();
         hudCamera = new OrthographicCamera();
+        glProfiler = new GLProfiler(Gdx.graphics);
+        buildRenderPipeline();
     }
 
 
@@ -127,42 +125,34 @@ public class GameScreen implements Screen {
         gameViewport.apply();
         hudViewport.apply();
 
-        world = new World(new Vector2(0, -10f), true);
         debugRenderer = new Box2DDebugRenderer();
-        contactListener = new WorldContactListener(this);
-        world.setContactListener(contactListener);
-
-        map = new TmxMapLoader().load("assets/lvl1_final.tmx");
-        mapRenderer = new OrthogonalTiledMapRenderer(map, 1); // map render
-
-        // player textures
-        playerIdleSheetTexture = new Texture(Gdx.files.internal("assets/skeleton_idle.png"));
-        playerRunSheetTexture = new Texture(Gdx.files.internal("assets/skeleton_run.png"));
-        playerJumpSheetTexture = new Texture(Gdx.files.internal("assets/player_jump.png"));
-        playerFallSheetTexture = new Texture(Gdx.files.internal("assets/player_fall.png"));
-
-        coinAnimationSheetTexture = new Texture(Gdx.files.internal("assets/coin_animation_sheet.png"));
-
-        keyTexture = new Texture(Gdx.files.internal("assets/key.png"));
-        doorClosedTexture = new Texture(Gdx.files.internal("assets/door_closed.png"));
-        doorOpenTexture = new Texture(Gdx.files.internal("assets/door_open.png"));
+        String physicsHz = System.getProperty("caw.physicsHz");
+        if (physicsHz != null) {
+            try {
+                setPhysicsStepRate(Float.parseFloat(physicsHz));
+            } catch (NumberFormatException e) {
+                Gdx.app.error("PHYSICS", "Invalid caw.physicsHz '" + physicsHz + "', keeping " + DEFAULT_PHYSICS_HZ + " Hz");
+            }
+        }
 
-        //enemy
-        enemyPatrolSheetTexture = new Texture(Gdx.files.internal("assets/enemy_animation_sheet.png"));
-        shootingEnemySheetTexture = new Texture(Gdx.files.internal("assets/shooting_enemy_animation_sheet.png"));
+        level = LevelLoader.load(LEVEL_ASSET);
+        map = LevelLoader.buildTiledMap(level, game.assets);
+        mapRenderer = new ChunkedMapRenderer(map); // tile layers baked once, drawn per visible chunk
 
-        projectileTexture = new Texture(Gdx.files.internal("assets/projectile.png"));
+        // atlas regions borrowed from game.assets, not owned by this screen
+        keyRegion = game.assets.region(Assets.KEY);
+        whiteRegion = game.assets.region(Assets.WHITE);
 
         //ui
-        uiSkin = new Skin(Gdx.files.internal("assets/ui/uiskin.json"));
-
+        TextButton.TextButtonStyle pauseButtonStyle = null;
         try {
-            uiSkin = new Skin(Gdx.files.internal("assets/ui/uiskin.json"));
+            uiSkin = game.assets.get(Assets.UI_SKIN, Skin.class);
             if (game.defaultFont != null) {
                 if (uiSkin.has("default", TextButton.TextButtonStyle.class)) {
-                    TextButton.TextButtonStyle buttonStyle = uiSkin.get("default", TextButton.TextButtonStyle.class);
-                    buttonStyle.font = game.hudScoreFont;
-                    buttonStyle.fontColor = Color.LIGHT_GRAY;
+                    // copy, the skin is shared with the main menu
+                    pauseButtonStyle = new TextButton.TextButtonStyle(uiSkin.get("default", TextButton.TextButtonStyle.class));
+                    pauseButtonStyle.font = game.hudScoreFont;
+                    pauseButtonStyle.fontColor = Color.LIGHT_GRAY;
                 }
             }
         } catch (Exception e) {
@@ -170,57 +160,30 @@ public class GameScreen implements Screen {
             uiSkin = new Skin();
         }
 
-        //sounds
-        try {
-            walkSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/walk.wav"));
-            jumpSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/jump.wav"));
-            playerHurtSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/player_hurt.wav"));
-            playerDeathSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/player_death.wav"));
-            enemyDeathSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/enemy_death.wav"));
-            shootSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/shoot.wav"));
-            coinPickupSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/coin.wav"));
-            keyPickupSound = Gdx.audio.newSound(Gdx.files.internal("assets/sounds/key.wav"));
-        } catch (Exception e) {
-            Gdx.app.error("SoundLoader", "Error loading sounds", e);
-            walkSound = jumpSound = playerHurtSound = playerDeathSound = enemyDeathSound = shootSound = coinPickupSound = keyPickupSound = null;
-        }
-
         //ui
-        pauseGuiStage = new Stage(hudViewport); //pause
-        dimRenderer = new ShapeRenderer();
-
-        shapeRenderer = new ShapeRenderer();
-        animatedCoins = new Array<>();
-        enemies = new Array<>();
-        shootingEnemies = new Array<>();
-        projectiles = new Array<>();
-        doors = new Array<>();
-        bodiesToRemove = new Array<>();
-        fixturesToMakeSensor = new Array<>();
-
-        score = 0;
-        playerHasKey = false;
-
-        findInitialPlayerSpawnPoint();
-        player = new Player(world,
-            contactListener,
-            initialPlayerSpawnPointPixels,
-            playerIdleSheetTexture,
-            playerRunSheetTexture,
-            this);
-
-        contactListener.setPlayer(player); // player go to contactListener
-
-        createPhysicsFromMap();
-        createCollectibles();
-        createDoorsFromMap();
-        createEnemiesFromMap();
-        setupPauseUI();
+        pauseGuiStage = new Stage(hudViewport, game.batch); //pause, drawn through the shared batch
+
+        long seed = Long.getLong("caw.seed", System.nanoTime());
+        pendingNextLevel = null;
+        gameWorld = new GameWorld(LEVEL_ASSET, level, EntitySprites.from(game.assets), screenEvents, seed);
+        gameWorld.subscribe(new GameAudio(game.assets, game.prefs));
+        player = gameWorld.getPlayer();
+        hud = new Hud(game.hudScoreFont, game.defaultFont, keyRegion, whiteRegion);
+        syncHud();
+        if (RECORD_PATH != null) {
+            inputRecorder = new InputRecorder(keyboardInput, Gdx.files.local(RECORD_PATH), gameWorld, LEVEL_ASSET,
+                physicsStep, InputRecorder.DEFAULT_HASH_INTERVAL);
+            playerInput = inputRecorder;
+            Gdx.app.log("RECORD", "Recording input to " + RECORD_PATH + " (seed " + seed + "), entity sleeping is off");
+        }
+        activationRegion.invalidate();
+        setupPauseUI(pauseButtonStyle);
+        if (LOG_RENDER_STATS || DRAW_CALL_BUDGET > 0) glProfiler.enable();
 
         Gdx.app.log("GameScreen", "show() finished initialization");
     }
 
-    private void setupPauseUI() {
+    private void setupPauseUI(TextButton.TextButtonStyle buttonStyle) {
         Table pauseTable = new Table();
         pauseTable.setFillParent(true);
         pauseTable.center();
@@ -230,7 +193,7 @@ public class GameScreen implements Screen {
         float buttonHeight = 20f;
         float padValue = 10f;
 
-        TextButton resumeButton = new TextButton("Resume Game", uiSkin);
+        TextButton resumeButton = buttonStyle != null ? new TextButton("Resume Game", buttonStyle) : new TextButton("Resume Game", uiSkin);
         resumeButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
@@ -238,7 +201,7 @@ public class GameScreen implements Screen {
             }
         });
 
-        TextButton restartButton = new TextButton("Restart Level", uiSkin);
+        TextButton restartButton = buttonStyle != null ? new TextButton("Restart Level", buttonStyle) : new TextButton("Restart Level", uiSkin);
         restartButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
@@ -247,7 +210,7 @@ public class GameScreen implements Screen {
             }
         });
 
-        TextButton mainMenuButton = new TextButton("Main Menu", uiSkin);
+        TextButton mainMenuButton = buttonStyle != null ? new TextButton("Main Menu", buttonStyle) : new TextButton("Main Menu", uiSkin);
         mainMenuButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
@@ -274,70 +237,6 @@ public class GameScreen implements Screen {
         }
     }
 
-    private void playSound(Sound sound, float relativeVolume) {
-        if (sound != null && game != null && game.prefs != null) {
-            float masterVolume = game.prefs.getFloat("masterVolume", 0.5f);
-            sound.play(masterVolume * relativeVolume);
-        } else if (sound != null) {
-            sound.play(0.5f * relativeVolume);
-        }
-    }
-
-    public void playPlayerWalkSound() { playSound(walkSound, 0.2f); }
-    public void playPlayerJumpSound() { playSound(jumpSound, 0.4f); }
-    public void playPlayerHurtSound() { playSound(playerHurtSound, 0.5f); }
-    public void playPlayerDeathSound() { playSound(playerDeathSound, 0.7f); }
-    public void playEnemyDeathSound() { playSound(enemyDeathSound, 0.3f); }
-    public void playShootSound() { playSound(shootSound, 0.4f); }
-    public void playCoinPickupSound() { playSound(coinPickupSound, 0.3f); }
-    public void playKeyPickupSound() { playSound(keyPickupSound, 0.3f); }
-
-    public void scheduleFixtureToMakeSensor(Fixture fixture) {
-        if (fixture != null && !fixturesToMakeSensor.contains(fixture, true)) {
-            fixturesToMakeSensor.add(fixture);
-        }
-    }
-
-    private void processPendingFixtureChanges() {
-        if (world == null || world.isLocked() || fixturesToMakeSensor.isEmpty()) {
-            return;
-        }
-
-        for (Fixture fixture : fixturesToMakeSensor) {
-            if (fixture != null && fixture.getBody().isActive()) {
-                fixture.setSensor(true);
-                Object bodyUserData = fixture.getBody().getUserData();
-                String bodyInfo = (bodyUserData instanceof DoorData) ? "Door" : String.valueOf(bodyUserData);
-                Gdx.app.log("PHYSICS_CHANGE", "Fixture on body (" + bodyInfo + ") made sensor.");
-            }
-        }
-        fixturesToMakeSensor.clear();
-    }
-
-
-        private void findInitialPlayerSpawnPoint() {
-        initialPlayerSpawnPointPixels = new Vector2(gameCamera.viewportWidth / 2f, gameCamera.viewportHeight / 2f); // Default
-        MapLayer spawnLayer = map.getLayers().get("SpawnPoints");
-        if (spawnLayer != null) {
-            for (MapObject object : spawnLayer.getObjects()) {
-                if (object.getProperties().containsKey("playerStart") &&
-                    object.getProperties().get("playerStart", Boolean.class)) {
-                    if (object instanceof RectangleMapObject) {
-                        Rectangle rect = ((RectangleMapObject) object).getRectangle();
-                        initialPlayerSpawnPointPixels.set(rect.getX() + rect.getWidth() / 2f, rect.getY() + rect.getHeight() / 2f);
-                    } else {
-                        initialPlayerSpawnPointPixels.set(object.getProperties().get("x", Float.class),
-                            object.getProperties().get("y", Float.class));
-                    }
-                    Gdx.app.log("PLAYER_SPAWN", "Player start pos found at (pixels): " + initialPlayerSpawnPointPixels);
-                    return;
-                }
-            }
-        }
-        Gdx.app.log("PLAYER_SPAWN", "SpawnPoint 'playerStart' not found, using default: " + initialPlayerSpawnPointPixels);
-    }
-
-
     @Override
     public void render(float delta) {
         // dealayed actions
@@ -350,8 +249,7 @@ public class GameScreen implements Screen {
         if (!isPaused) {
             // game logic
             if (player != null && !player.isDead()) {
-                player.handleInput(); // player input
-                player.update(delta);      // update
+                gameWorld.handleInput(playerInput); // player input, once per rendered frame
             } else if (player != null && player.isDead()) {
                 // "Game Over"
                 if (Gdx.input.isKeyJustPressed(Keys.R)) {
@@ -362,35 +260,25 @@ public class GameScreen implements Screen {
                 }
             }
 
-            for (Enemy enemy : enemies) {
-                enemy.update(delta);
-            }
+            // a replay has no camera, so while recording everything stays awake
+            if (inputRecorder == null && activationRegion.update(gameCamera)) gameWorld.applyActivation(activationRegion);
 
-            //shooting enemy
-            for (ShootingEnemy sEnemy : shootingEnemies) {
-                sEnemy.update(delta, player);
+            // fixed step: simulation runs at physicsStep regardless of the display rate
+            physicsAccumulator += Math.min(delta, MAX_FRAME_TIME);
+            int steps = 0;
+            while (physicsAccumulator >= physicsStep && steps < MAX_STEPS_PER_FRAME) {
+                gameWorld.step(physicsStep);
+                physicsAccumulator -= physicsStep;
+                steps++;
             }
-
-            //coins
-            for (Coin coin : animatedCoins) {
-                coin.update(delta);
-            }
-
-            //projectile update
-            for (int i = projectiles.size - 1; i >= 0; i--) {
-                Projectile p = projectiles.get(i);
-                p.update(delta);
-                if (p.isScheduledForRemoval()) {
-                    if (p.getBody() != null && p.getBody().isActive()) {
-                        scheduleBodyForRemoval(p.getBody());
-                    }
-                    projectiles.removeIndex(i);
-                }
+            if (steps == MAX_STEPS_PER_FRAME && physicsAccumulator >= physicsStep) {
+                physicsAccumulator = 0f; // too far behind, drop the rest instead of spiralling
             }
+            renderAlpha = physicsAccumulator / physicsStep;
+            gameWorld.dispatchEvents();
+            if (inputRecorder != null) inputRecorder.endFrame(steps, gameWorld);
 
-            world.step(1 / 60f, 6, 2);
-            removeScheduledBodies(); // remove bodies after world step
-            processPendingFixtureChanges();
+            gameWorld.updateVisuals(delta);
         } else {
             pauseGuiStage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
         }
@@ -401,132 +289,149 @@ public class GameScreen implements Screen {
 
         // cam update
         if (player != null && player.getBody() != null && !isPaused) {
-            Vector2 playerPosMeters = player.getPositionMeters();
-            float lerp = 0.1f; // smooth camera
+            Vector2 playerPosMeters = player.getInterpolatedPositionMeters(renderAlpha, cameraTarget);
+            float lerp = 1f - (float) Math.pow(0.9f, delta * 60f); // smooth camera, 0.1 per frame at 60 fps
             gameCamera.position.x += (playerPosMeters.x * PPM - gameCamera.position.x) * lerp;
             gameCamera.position.y += (playerPosMeters.y * PPM - gameCamera.position.y) * lerp;
         }
         limitCameraView();
         gameCamera.update();
 
-        // map render
-        mapRenderer.setView(gameCamera);
-        mapRenderer.render();
-
-        // game obj render
-        game.batch.setProjectionMatrix(gameCamera.combined);
-        game.batch.begin();
-
-        for (Coin coin : animatedCoins) coin.render(game.batch);
+        hudCamera.update();
 
-        for (Enemy enemy : enemies) enemy.draw(game.batch);
+        // only what touches the view is drawn
+        renderCuller.cull(gameWorld, gameCamera);
 
-        for (ShootingEnemy sEnemy : shootingEnemies) sEnemy.draw(game.batch);
+        if (glProfiler.isEnabled()) glProfiler.reset();
+        renderPipeline.render(game.batch);
+        if (glProfiler.isEnabled()) checkDrawCallBudget(delta);
+    }
 
-        for (Projectile projectile : projectiles) projectile.render(game.batch);
+    /**
+     * Frame order: map chunks, world sprites, then in HUD space the pause dim, pause menu and HUD. The world and
+     * HUD share one batch begin/end while the game runs; only the paused menu, which is a Stage, splits it.
+     */
+    private void buildRenderPipeline() {
+        renderPipeline.addUnbatched(new RenderPipeline.Pass() {
+            @Override
+            public void draw(SpriteBatch batch) {
+                mapRenderer.render(gameCamera);
+            }
+        });
+        renderPipeline.add(gameCamera, new RenderPipeline.Pass() {
+            @Override
+            public void draw(SpriteBatch batch) {
+                drawWorld(batch);
+            }
+        });
+        renderPipeline.add(hudCamera, new RenderPipeline.Pass() {
+            @Override
+            public void draw(SpriteBatch batch) {
+                batch.setColor(0f, 0f, 0f, 0.5f);
+                batch.draw(whiteRegion, 0, 0, hudViewport.getWorldWidth(), hudViewport.getWorldHeight());
+                batch.setColor(1f, 1f, 1f, 1f);
+            }
 
-        if (player != null) player.render(game.batch);
+            @Override
+            public boolean isActive() {
+                return isPaused && whiteRegion != null;
+            }
+        });
+        renderPipeline.addUnbatched(new RenderPipeline.Pass() {
+            @Override
+            public void draw(SpriteBatch batch) {
+                pauseGuiStage.draw(); // begins and ends game.batch itself
+            }
 
-        //key
-        if (keyBody != null && keyBody.isActive() && keyTexture != null) {
-            float keyDrawWidth = 8f;
-            float keyDrawHeight = 8f;
-            game.batch.draw(keyTexture,
-                keyBody.getPosition().x * PPM - keyDrawWidth / 2f,
-                keyBody.getPosition().y * PPM - keyDrawHeight / 2f,
-                keyDrawWidth, keyDrawHeight);
-        }
-        //doors
-        for (DoorData door : doors) {
-            Texture doorTextureToDraw = (door.isOpen || !door.isLocked) ? (doorOpenTexture != null ? doorOpenTexture : doorClosedTexture) : doorClosedTexture;
-            if (doorTextureToDraw != null) {
-                game.batch.draw(doorTextureToDraw,
-                    door.boundsPixels.x, door.boundsPixels.y,
-                    door.boundsPixels.width, door.boundsPixels.height);
+            @Override
+            public boolean isActive() {
+                return isPaused;
             }
-        }
-        game.batch.end();
+        });
+        renderPipeline.add(hudCamera, new RenderPipeline.Pass() {
+            @Override
+            public void draw(SpriteBatch batch) {
+                if (hud != null) hud.draw(batch, hudCamera, isPaused);
+            }
+        });
+    }
+
+    private void drawWorld(SpriteBatch batch) {
+        gameWorld.getRenderSystem().draw(batch, renderAlpha, renderCuller.getVisibleEntities());
 
         // debug info Box2d (HITBOXES)
 //        if (debugRenderer != null) {
-//            debugRenderer.render(world, gameCamera.combined.cpy().scl(PPM));
+//            debugRenderer.render(gameWorld.getWorld(), gameCamera.combined.cpy().scl(PPM));
 //        }
+    }
 
-        if (isPaused) {
-            Gdx.gl.glEnable(GL20.GL_BLEND);
-            Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
-            dimRenderer.setProjectionMatrix(hudCamera.combined);
-            dimRenderer.begin(ShapeRenderer.ShapeType.Filled);
-            dimRenderer.setColor(0f, 0f, 0f, 0.5f);
-            dimRenderer.rect(0, 0, hudViewport.getWorldWidth(), hudViewport.getWorldHeight());
-            dimRenderer.end();
-            Gdx.gl.glDisable(GL20.GL_BLEND);
-
-            pauseGuiStage.draw();
-        }
-
-        // HUD
-        hudCamera.update();
-
-        // Health Bar
-        if (player != null && shapeRenderer != null) {
-            float healthBarWidth = 80f;
-            float healthBarHeight = 10f;
-            float healthBarX = 10f;
-            float healthBarY = hudCamera.viewportHeight - healthBarHeight - 10f;
-
-            shapeRenderer.setProjectionMatrix(hudCamera.combined);
-            shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-            shapeRenderer.setColor(0.3f, 0.3f, 0.3f, 1f); //hp bg
-            shapeRenderer.rect(healthBarX, healthBarY, healthBarWidth, healthBarHeight);
-
-            float currentHealthWidth = healthBarWidth * (player.getCurrentHealth() / player.getMaxHealth());
-            if (currentHealthWidth < 0) currentHealthWidth = 0;
-            shapeRenderer.setColor(1f, 0f, 0.25f, 1f); //hp
-            shapeRenderer.rect(healthBarX, healthBarY, currentHealthWidth, healthBarHeight);
-            shapeRenderer.end();
+    private void checkDrawCallBudget(float delta) {
+        lastDrawCalls = glProfiler.getDrawCalls();
+        if (DRAW_CALL_BUDGET > 0 && lastDrawCalls > DRAW_CALL_BUDGET) {
+            if (overBudgetFrames++ == 0) {
+                Gdx.app.error("RENDER", "Frame used " + lastDrawCalls + " draw calls, over the budget of " + DRAW_CALL_BUDGET);
+            }
         }
+        if (LOG_RENDER_STATS) sampleRenderStats(delta);
+    }
 
-        // text HUD
-        game.batch.setProjectionMatrix(hudCamera.combined);
-        game.batch.begin();
-
-        float hudPadding = 10f;
-        float actualHealthBarHeight = 10f;
-        game.hudScoreFont.getData().setScale(0.5f);
-
-        game.hudScoreFont.getCapHeight();   //High letters
-        game.hudScoreFont.getLineHeight();  //else letters
-
-        float scoreTextY = hudCamera.viewportHeight - actualHealthBarHeight - hudPadding - game.hudScoreFont.getCapHeight() - 5f;
-
-        game.hudScoreFont.draw(game.batch, "Score: " + score, hudPadding, scoreTextY);
+    /** GL draw calls of the last frame, including the map; 0 unless caw.renderStats or caw.drawCallBudget is set. */
+    public int getLastDrawCalls() {
+        return lastDrawCalls;
+    }
 
-        if (player != null && player.isDead() && !isPaused) {
-            if (game.defaultFont != null) {
-                String gameOverText = "GAME OVER";
-                com.badlogic.gdx.graphics.g2d.GlyphLayout layoutGO = new com.badlogic.gdx.graphics.g2d.GlyphLayout(game.defaultFont, gameOverText);
-                game.defaultFont.draw(game.batch, gameOverText, (hudCamera.viewportWidth - layoutGO.width) / 2, hudCamera.viewportHeight / 2 + layoutGO.height + 30);
-            }
+    /** SpriteBatch flushes of the last frame. */
+    public int getLastFlushes() {
+        return renderPipeline.getFlushes();
+    }
 
-            if (game.hudScoreFont != null) {
-                String restartText = "Press 'R' to Restart";
-                com.badlogic.gdx.graphics.g2d.GlyphLayout layoutR = new com.badlogic.gdx.graphics.g2d.GlyphLayout(game.hudScoreFont, restartText);
-                game.hudScoreFont.draw(game.batch, restartText, (hudCamera.viewportWidth - layoutR.width) / 2, hudCamera.viewportHeight / 2 - 10);
+    /** Frames so far that went over caw.drawCallBudget. */
+    public int getOverBudgetFrames() {
+        return overBudgetFrames;
+    }
 
-                String menuText = "Press 'M' for Main Menu";
-                com.badlogic.gdx.graphics.g2d.GlyphLayout layoutM = new com.badlogic.gdx.graphics.g2d.GlyphLayout(game.hudScoreFont, menuText);
-                game.hudScoreFont.draw(game.batch, menuText, (hudCamera.viewportWidth - layoutM.width) / 2, hudCamera.viewportHeight / 2 - 10 - layoutR.height - 5);
-            }
+    /** Brings the HUD in line with the world, e.g. after a restart; otherwise it follows screenEvents. */
+    private void syncHud() {
+        if (hud == null) return;
+        hud.setScore(gameWorld.getScore());
+        hud.setHasKey(gameWorld.playerHasKey);
+        if (player != null) {
+            hud.setHealth(player.getCurrentHealth(), player.getMaxHealth());
+            hud.setPlayerDead(player.isDead());
         }
+    }
 
-        //key hood
-        if (playerHasKey && keyTexture != null) {
-            float keyIconSize = 24f;
-            game.batch.draw(keyTexture, hudCamera.viewportWidth - keyIconSize, hudCamera.viewportHeight - keyIconSize, keyIconSize, keyIconSize);
-        }
+    private void sampleRenderStats(float delta) {
+        visibleCountSum += renderCuller.getVisibleCount();
+        drawCallSum += lastDrawCalls;
+        flushSum += renderPipeline.getFlushes();
+        renderStatsSamples++;
+        renderStatsTimer += delta;
+        if (renderStatsTimer < RENDER_STATS_INTERVAL) return;
+
+        Gdx.app.log("RENDER", "avg drawn entities/frame " + (visibleCountSum / Math.max(1, renderStatsSamples))
+            + " of " + renderCuller.getTotalCount()
+            + " (coins " + renderCuller.getVisibleCoins().size + "/" + gameWorld.getCoins().size
+            + ", enemies " + renderCuller.getVisibleEnemies().size + "/" + gameWorld.getEnemies().size
+            + ", shooters " + renderCuller.getVisibleShooters().size + "/" + gameWorld.getShootingEnemies().size
+            + ", projectiles " + renderCuller.getVisibleProjectiles().size + "/" + gameWorld.getProjectiles().size
+            + ", doors " + renderCuller.getVisibleDoors().size + "/" + gameWorld.getDoors().size
+            + "), avg draw calls/frame " + (drawCallSum / Math.max(1, renderStatsSamples))
+            + ", batch flushes/frame " + (flushSum / Math.max(1, renderStatsSamples))
+            + ", over budget " + overBudgetFrames);
+        renderStatsTimer = 0f;
+        visibleCountSum = 0;
+        drawCallSum = 0;
+        flushSum = 0;
+        renderStatsSamples = 0;
+    }
 
-        game.batch.end();
+    /** Changes the simulation rate (steps per second) without touching the display rate. */
+    public void setPhysicsStepRate(float stepsPerSecond) {
+        if (stepsPerSecond <= 0) return;
+        physicsStep = 1f / stepsPerSecond;
+        physicsAccumulator = 0f;
+        Gdx.app.log("PHYSICS", "Physics step rate set to " + stepsPerSecond + " Hz");
     }
 
     private void handlePendingActions() {
@@ -536,12 +441,17 @@ public class GameScreen implements Screen {
             }
             playerNeedsPositionReset = false;
         }
-    }
-
-
-    public void collectCoin() {
-        score++;
-        Gdx.app.log("SCORE", "Score: " + score);
+        if (pendingNextLevel != null) {
+            String nextLevelAsset = pendingNextLevel;
+            pendingNextLevel = null;
+            if ("main_menu".equals(nextLevelAsset)) {
+                game.setScreen(new MainMenuScreen(game));
+            } else if (nextLevelAsset.endsWith(".tmx")) {
+                Gdx.app.log("LEVEL_TRANSITION", "Next level logic not fully implemented yet. Asset: " + nextLevelAsset);
+                // back to main menu for now
+                game.setScreen(new MainMenuScreen(game));
+            }
+        }
     }
 
 
@@ -585,364 +495,12 @@ public class GameScreen implements Screen {
     }
 
 
-    public void scheduleBodyForRemoval(Body body) {
-        if (body != null && !bodiesToRemove.contains(body, true)) {
-            bodiesToRemove.add(body);
-        }
-    }
-
-    private void removeScheduledBodies() {
-        if (world == null || world.isLocked() || bodiesToRemove.isEmpty()) return;
-
-        for (Body body : bodiesToRemove) {
-            Object userData = body.getUserData();
-
-            if (userData instanceof Coin){
-                Coin coinToRemove = (Coin) userData;
-                animatedCoins.removeValue(coinToRemove, true);
-                Gdx.app.log("Removal", "Scheduled Coin object removed from list.");
-            }
-
-            if (body.getUserData() instanceof Enemy) {
-                Enemy enemy = (Enemy) body.getUserData();
-                enemies.removeValue(enemy, true);
-            }
-
-            world.destroyBody(body);
-        }
-        bodiesToRemove.clear();
-    }
-
     public void restartLevel() {
-        Gdx.app.log("GAME_STATE", "Restarting level...");
-        score = 0;
-        if (player != null) {
-            player.respawn();
-        }
-
+        if (inputRecorder != null) inputRecorder.markRestart();
         playerNeedsPositionReset = false;
-        Array<Body> bodiesToDestroy = new Array<>();
-
-        for (Coin coin : animatedCoins) {
-            if (coin.getBody() != null && coin.getBody().isActive()) {
-                bodiesToDestroy.add(coin.getBody());
-            }
-        }
-
-        for (Enemy enemy : enemies) {
-            if (enemy.body != null) bodiesToDestroy.add(enemy.body);
-        }
-
-        for (Body b : bodiesToDestroy) {
-            if (!world.isLocked()) {
-                for (int i = animatedCoins.size - 1; i >= 0; i--) {
-                    Coin c = animatedCoins.get(i);
-                    if (c.getBody() == b) {
-                        animatedCoins.removeIndex(i);
-                        break;
-                    }
-                }
-                world.destroyBody(b);
-            } else {
-                Gdx.app.error("RESTART", "World locked, cannot destroy body " + b.getUserData());
-            }
-        }
-        bodiesToDestroy.clear();
-
-        for (Projectile p : projectiles) {
-            if (p.getBody() != null && p.getBody().isActive()) {
-                if (!world.isLocked()) world.destroyBody(p.getBody());
-            }
-        }
-
-        //key reset
-        playerHasKey = false;
-
-        animatedCoins.clear();
-        doors.clear();
-        projectiles.clear();
-        enemies.clear();
-        shootingEnemies.clear();
-
-        createCollectibles();
-        createEnemiesFromMap();
-        createDoorsFromMap();
-
-        Gdx.app.log("GAME_STATE", "Level re-initialized.");
-    }
-
-    public void addProjectile(Projectile projectile) {
-        projectiles.add(projectile);
-    }
-
-    private void createPhysicsFromMap(){
-        if (world == null || map == null) return;
-        MapLayer collisionLayer = map.getLayers().get("Collision");
-        if (collisionLayer ==null){
-            Gdx.app.error("MAP_LOADER","Object layer 'Collision' not found in Tiled map!");
-            return;
-        }
-
-        BodyDef bodyDef = new BodyDef();
-        FixtureDef fixtureDef = new FixtureDef();
-        PolygonShape shape = new PolygonShape();
-
-        for (MapObject object : collisionLayer.getObjects()){
-            if (object instanceof RectangleMapObject){
-                Rectangle rect = ((RectangleMapObject) object).getRectangle();
-                bodyDef.type = BodyDef.BodyType.StaticBody;
-
-                float centerX = (rect.getX() + rect.getWidth() / 2f)/PPM;
-                float centerY = (rect.getY() + rect.getHeight() / 2f)/PPM;
-                bodyDef.position.set(centerX,centerY);
-
-                Body body = world.createBody(bodyDef);
-                shape.setAsBox(rect.getWidth() /2f / PPM, rect.getHeight() / 2f / PPM);
-                fixtureDef.shape = shape;
-
-                // get surface_type from Tiles
-                String surfaceType = object.getProperties().get("surface_type", "ground", String.class); // ground default
-
-                if ("wall".equals(surfaceType)) {
-                    fixtureDef.friction = 0.00f;
-                } else {
-                    fixtureDef.friction = 0.8f;
-                }
-                body.createFixture(fixtureDef).setUserData(surfaceType);
-            }
-        }
-        shape.dispose();
-    }
-
-    public static class DoorData {
-        public Body body;
-        public Rectangle boundsPixels;
-        public String nextLevelAsset;
-        public boolean isLocked;
-        public boolean isOpen = false;
-        public Vector2 positionPixels;
-
-        public DoorData(Body body, Rectangle boundsPixels, String nextLevelAsset, boolean initiallyLocked) {
-            this.body = body;
-            this.boundsPixels = boundsPixels;
-            this.nextLevelAsset = nextLevelAsset;
-            this.isLocked = initiallyLocked;
-            if (body != null) {
-                body.setUserData(this);
-            }
-            this.positionPixels = new Vector2(boundsPixels.x + boundsPixels.width / 2, boundsPixels.y + boundsPixels.height / 2);
-        }
-    }
-
-    private void createCollectibles() {
-        if (world == null || map == null) return;
-
-        MapLayer collectiblesLayer = map.getLayers().get("Collectibles");
-        if (collectiblesLayer == null) {
-            Gdx.app.log("MAP_LOADER", "Object layer 'Collectibles' not found.");
-            return;
-        }
-
-        BodyDef bodyDef = new BodyDef();
-        FixtureDef fixtureDef = new FixtureDef();
-        PolygonShape shape = new PolygonShape();
-
-        for (MapObject object : collectiblesLayer.getObjects()) {
-            if (object.getProperties().containsKey("type") && "coin".equals(object.getProperties().get("type", String.class))) {
-                if (object instanceof RectangleMapObject) {
-                    Rectangle rect = ((RectangleMapObject) object).getRectangle();
-                    bodyDef.type = BodyDef.BodyType.StaticBody;
-                    float centerX = (rect.getX() + rect.getWidth() / 2f) / PPM;
-                    float centerY = (rect.getY() + rect.getHeight() / 2f) / PPM;
-                    bodyDef.position.set(centerX, centerY);
-
-                    Body coinBody = world.createBody(bodyDef);
-                    shape.setAsBox(Coin.VISUAL_COIN_SIZE / 2f / PPM, Coin.VISUAL_COIN_SIZE / 2f / PPM);
-                    fixtureDef.shape = shape;
-                    fixtureDef.isSensor = true;
-                    coinBody.createFixture(fixtureDef).setUserData("coin_fixture");
-
-                    if (coinAnimationSheetTexture != null) {
-                        Coin animatedCoin = new Coin(coinBody, coinAnimationSheetTexture);
-                        animatedCoins.add(animatedCoin);
-                    } else {
-                        Gdx.app.error("CoinCreation", "Coin animation sheet is null. Cannot create animated coin.");
-                        world.destroyBody(coinBody);
-                    }
-                }
-            }
-        }
-
-        for (MapObject object : collectiblesLayer.getObjects()) {
-            if ("key".equals(object.getProperties().get("type", String.class))) {
-                if (object instanceof RectangleMapObject) {
-                    Rectangle rect = ((RectangleMapObject) object).getRectangle();
-                    keyPositionPixels = new Vector2(rect.getX(), rect.getY());
-
-                    bodyDef.type = BodyDef.BodyType.StaticBody;
-                    float centerX = (rect.getX() + rect.getWidth() / 2f) / PPM;
-                    float centerY = (rect.getY() + rect.getHeight() / 2f) / PPM;
-                    bodyDef.position.set(centerX, centerY);
-
-                    keyBody = world.createBody(bodyDef);
-                    float keyHitboxSize = 16f;
-                    shape.setAsBox(keyHitboxSize / 2f / PPM, keyHitboxSize / 2f / PPM);
-                    fixtureDef.shape = shape;
-                    fixtureDef.isSensor = true;
-                    keyBody.createFixture(fixtureDef).setUserData("key");
-                    Gdx.app.log("GAME_SETUP", "Key created at: " + keyPositionPixels);
-                    break; // cus key is 1
-                }
-            }
-        }
-
-        shape.dispose();
-    }
-
-    private void createEnemiesFromMap(){
-        if (world == null || map == null) return;
-        MapLayer enemyLayer = map.getLayers().get("Enemies");
-        if (enemyLayer == null){
-            Gdx.app.log("MAP_LOADER", "Object layer 'Enemies' not found.");
-            return;
-        }
-
-        //for regular enemy
-        BodyDef enemyBodyDef = new BodyDef();
-        enemyBodyDef.type = BodyDef.BodyType.DynamicBody;
-        enemyBodyDef.fixedRotation = true;
-
-        PolygonShape enemyShape = new PolygonShape();
-
-        enemyShape.setAsBox(ENEMY_VISUAL_WIDTH / 2f / PPM, (ENEMY_VISUAL_HEIGHT - 4) / 2f / PPM);
-
-        FixtureDef enemyFixtureDef = new FixtureDef();
-        enemyFixtureDef.shape = enemyShape;
-        enemyFixtureDef.density = 0.8f;
-        enemyFixtureDef.friction = 0.4f;
-        enemyFixtureDef.restitution = 0.0f;
-
-
-        for (MapObject object : enemyLayer.getObjects()) {
-            String type = object.getProperties().get("type", String.class);
-            if (type == null) continue;
-
-            float xPixels, yPixels;
-
-            if (object instanceof RectangleMapObject) {
-                Rectangle rect = ((RectangleMapObject) object).getRectangle();
-
-                xPixels = rect.getX() + rect.getWidth() / 2f;
-                yPixels = rect.getY() + rect.getHeight() / 2f;
-            } else {
-                xPixels = object.getProperties().get("x", 0f, Float.class);
-                yPixels = object.getProperties().get("y", 0f, Float.class);
-
-                Float objWidth = object.getProperties().get("width", Float.class);
-                Float objHeight = object.getProperties().get("height", Float.class);
-                if (objWidth != null) xPixels += objWidth / 2f;
-                if (objHeight != null) yPixels += objHeight / 2f;
-            }
-
-
-            if ("enemy".equals(type)) {
-                if (enemyPatrolSheetTexture == null) {
-                    Gdx.app.error("ENEMY_FACTORY", "Enemy patrol sheet texture is null, cannot create regular enemy.");
-                    continue;
-                }
-                float patrolDistPixels = object.getProperties().get("patrolDistance", 64f, Float.class);
-
-                enemyBodyDef.position.set(xPixels / PPM, yPixels / PPM);
-                Body regEnemyBody = world.createBody(enemyBodyDef);
-                regEnemyBody.createFixture(enemyFixtureDef).setUserData("enemy_fixture");
-
-                Enemy enemy = new Enemy(regEnemyBody, enemyPatrolSheetTexture,
-                    xPixels, patrolDistPixels,
-                    ENEMY_VISUAL_WIDTH, ENEMY_VISUAL_HEIGHT, this);
-                enemies.add(enemy);
-                Gdx.app.log("GAME_SETUP", "Created animated patrolling enemy from map at " + xPixels + "," + yPixels);
-
-
-            } else if ("shooting_enemy".equals(type)) {
-                if (shootingEnemySheetTexture == null || projectileTexture == null) {
-                    Gdx.app.error("ENEMY_FACTORY", "Shooting enemy animation sheet or projectile texture is null.");
-                    continue;
-                }
-
-                float detectionRadiusPixels = object.getProperties().get("detectionRadius", ShootingEnemy.DETECTION_RADIUS * PPM, Float.class);
-                float shootCooldownSeconds = object.getProperties().get("shootCooldown", ShootingEnemy.SHOOT_COOLDOWN, Float.class);
-
-                ShootingEnemy sEnemy = new ShootingEnemy(world, this,
-                    shootingEnemySheetTexture,
-                    projectileTexture,
-                    xPixels, yPixels,
-                    SHOOTING_ENEMY_VISUAL_WIDTH, SHOOTING_ENEMY_VISUAL_HEIGHT,
-                    detectionRadiusPixels, shootCooldownSeconds);
-
-                shootingEnemies.add(sEnemy);
-                Gdx.app.log("GAME_SETUP", "CREATED animated shooting enemy. Total shooting enemies: " + shootingEnemies.size);
-                if (sEnemy.body == null) {
-                    Gdx.app.error("EnemyFactory", "Shooting enemy body is NULL after creation!");
-                } else {
-                    Gdx.app.log("EnemyFactory", "Shooting enemy body position: " + sEnemy.body.getPosition());
-                    if (sEnemy.getActiveAnimation() == null) {
-                        Gdx.app.error("EnemyFactory", "Shooting enemy ACTIVE ANIMATION is NULL after creation!");
-                    }
-                }
-            }
-        }
-        enemyShape.dispose();
-    }
-
-    private void createDoorsFromMap() {
-        if (world == null || map == null) return;
-        MapLayer interactablesLayer = map.getLayers().get("Interactables");
-        if (interactablesLayer == null) {
-            Gdx.app.log("MAP_LOADER", "Object layer 'Interactables' for doors not found.");
-            return;
-        }
-
-        BodyDef bodyDef = new BodyDef();
-        FixtureDef fixtureDef = new FixtureDef();
-        PolygonShape shape = new PolygonShape();
-
-        for (MapObject object : interactablesLayer.getObjects()) {
-            if (!"door".equals(object.getProperties().get("type", String.class))) {
-                continue;
-            }
-
-            if (object instanceof RectangleMapObject) {
-                Rectangle rect = ((RectangleMapObject) object).getRectangle();
-
-                bodyDef.type = BodyDef.BodyType.StaticBody;
-                float centerX = (rect.getX() + rect.getWidth() / 2f) / PPM;
-                float centerY = (rect.getY() + rect.getHeight() / 2f) / PPM;
-                bodyDef.position.set(centerX, centerY);
-
-                Body doorBody = world.createBody(bodyDef);
-                shape.setAsBox(rect.getWidth() / 2f / PPM, rect.getHeight() / 2f / PPM);
-                fixtureDef.shape = shape;
-
-                String nextLevel = object.getProperties().get("nextLevel", "main_menu", String.class); //na main menu
-                boolean initiallyLocked = object.getProperties().get("initiallyLocked", true, Boolean.class);
-
-                DoorData doorData = new DoorData(doorBody, new Rectangle(rect), nextLevel, initiallyLocked);
-
-                Fixture doorFixture;
-                if (initiallyLocked) {
-                    fixtureDef.isSensor = false;
-                    doorFixture = doorBody.createFixture(fixtureDef);
-                } else {
-                    fixtureDef.isSensor = true;
-                    doorFixture = doorBody.createFixture(fixtureDef);
-                    doorData.isOpen = true;
-                }
-
-                doors.add(doorData);
-
-            }
-        }
-        shape.dispose();
+        gameWorld.restart();
+        activationRegion.invalidate();
+        syncHud();
     }
 
     @Override
@@ -964,6 +522,13 @@ public class GameScreen implements Screen {
     @Override
     public void hide() {
         Gdx.app.log("GameScreen", "hide() called");
+        if (inputRecorder != null) {
+            inputRecorder.close();
+            Gdx.app.log("RECORD", "Input log closed after " + inputRecorder.getFrameCount() + " frames");
+            inputRecorder = null;
+            playerInput = keyboardInput;
+        }
+        glProfiler.disable();
     }
 
     @Override
@@ -976,67 +541,21 @@ public class GameScreen implements Screen {
     public void dispose() {
         Gdx.app.log("GameScreen", "dispose() called");
 
-        if (playerIdleSheetTexture != null) playerIdleSheetTexture.dispose();
-        if (playerRunSheetTexture != null) playerRunSheetTexture.dispose();
-        if (playerJumpSheetTexture != null) playerJumpSheetTexture.dispose();
-        if (playerFallSheetTexture != null) playerFallSheetTexture.dispose();
-        if (coinAnimationSheetTexture != null) coinAnimationSheetTexture.dispose();
-        if (enemyPatrolSheetTexture != null) enemyPatrolSheetTexture.dispose();
-        if (shootingEnemySheetTexture != null) shootingEnemySheetTexture.dispose();
-        if (projectileTexture != null) projectileTexture.dispose();
-        if (keyTexture != null) keyTexture.dispose();
-        if (doorClosedTexture != null) doorClosedTexture.dispose();
-        if (doorOpenTexture != null) doorOpenTexture.dispose();
-
-        //sounds
-        if (walkSound != null) walkSound.dispose();
-        if (jumpSound != null) jumpSound.dispose();
-        if (playerHurtSound != null) playerHurtSound.dispose();
-        if (playerDeathSound != null) playerDeathSound.dispose();
-        if (enemyDeathSound != null) enemyDeathSound.dispose();
-        if (shootSound != null) shootSound.dispose();
-        if (coinPickupSound != null) coinPickupSound.dispose();
-        if (keyPickupSound != null) keyPickupSound.dispose();
-
-
-        playerIdleSheetTexture = null;
-        playerRunSheetTexture = null;
-        playerJumpSheetTexture = null;
-        playerFallSheetTexture = null;
-        coinAnimationSheetTexture = null;
-        enemyPatrolSheetTexture = null;
-        shootingEnemySheetTexture = null;
-
-        if (player != null) {
-            player.dispose();
-            player = null;
-        }
+        // regions, sounds and the skin are borrowed from game.assets and stay cached there
+        keyRegion = null;
 
-        if (world != null && !world.isLocked()) {
-            for (Coin coin : animatedCoins) {
-                if (coin.getBody() != null && coin.getBody().isActive()) {
-                    world.destroyBody(coin.getBody());
-                }
-            }
-        }
-        animatedCoins.clear();
-
-        enemies.clear();
-
-        if (world != null) world.dispose();
+        if (gameWorld != null) gameWorld.dispose();
         if (debugRenderer != null) debugRenderer.dispose();
         if (map != null) map.dispose();
         if (mapRenderer != null) mapRenderer.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
 
-        world = null;
+        gameWorld = null;
+        player = null;
         debugRenderer = null;
         map = null;
         mapRenderer = null;
-        shapeRenderer = null;
-        contactListener = null;
-
-        if (bodiesToRemove != null) bodiesToRemove.clear();
+        hud = null;
+        whiteRegion = null;
 
         Gdx.app.log("GameScreen", "dispose() finished");
     }
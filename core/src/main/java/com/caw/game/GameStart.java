@@ -13,10 +13,12 @@ public class GameStart extends Game {
     public Preferences prefs;
     public BitmapFont defaultFont;
     public BitmapFont hudScoreFont;
+    public Assets assets;
 
     @Override
     public void create() {
         batch = new SpriteBatch();
+        assets = new Assets();
         prefs = Gdx.app.getPreferences("MyGamePrefrences");
         FreeTypeFontGenerator generator = null;
         try {
@@ -41,7 +43,7 @@ public class GameStart extends Game {
                 generator.dispose();
             }
         }
-        this.setScreen(new MainMenuScreen(this));
+        this.setScreen(new LoadingScreen(this));
     }
 
 
@@ -56,5 +58,6 @@ public class GameStart extends Game {
         defaultFont.dispose();
         if (defaultFont != null) defaultFont.dispose();
         if (hudScoreFont != null) hudScoreFont.dispose();
+        if (assets != null) assets.dispose();
     }
 }
@@ -0,0 +1,842 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.ai.btree.BehaviorTree;
+import com.badlogic.gdx.ai.btree.utils.BehaviorTreeLibrary;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.util.Locale;
+
+/**
+ * The gameplay of one level without any rendering: Box2D world, map collision, entities, contact listener and
+ * the fixed simulation step. GameScreen draws it and feeds it the keyboard; a headless runner can step it as
+ * fast as the CPU allows with {@link EntitySprites#NONE} and its own {@link PlayerInput}.
+ * <p>
+ * Nothing here needs a GL context. Entities keep their animations, but with null sprite regions they simply
+ * have nothing to draw.
+ * <p>
+ * Every entity is an Ashley entity in {@link #getEngine()}: its type object (Player, Enemy, ...) is one of its
+ * components, next to the generic transform, body, sprite, animation and lifetime components. A step is one
+ * Engine.update running the systems in {@link SystemOrder}; animation and rendering are systems too, run per
+ * frame. The typed arrays below stay as indexes for the spatial hash, culling and the state hash.
+ * <p>
+ * What happens during a step (sounds, score, the level exit) goes into a {@link GameEventQueue}; the subscribers
+ * only hear of it from {@link #dispatchEvents()}, after the step, when the Box2D world is no longer locked.
+ * <p>
+ * All gameplay randomness comes from {@link #getRandom()}, seeded per world, so the same seed and the same
+ * inputs give the same run; {@link #stateHash()} is how replays check that.
+ */
+public class GameWorld implements WorldCommandBuffer.Listener {
+    public static final float PPM = GameScreen.PPM;
+    private static final int VELOCITY_ITERATIONS = 6;
+    private static final int POSITION_ITERATIONS = 2;
+
+    public static final CollisionGeometryBuilder.Mode COLLISION_GEOMETRY = CollisionGeometryBuilder.Mode.MERGED;
+
+    // proximity queries ("what is near X"); a cell is half the default shooter detection radius
+    private static final float SPATIAL_CELL_METERS = ShootingEnemy.DETECTION_RADIUS / 2f;
+    private static final int SPATIAL_BUCKETS = 1024;
+
+    private static final int PROJECTILE_POOL_INITIAL = 32;
+    // -Dcaw.stressShooters=N adds N shooting enemies around the spawn to load the projectile pool
+    private static final int STRESS_SHOOTERS = Integer.getInteger("caw.stressShooters", 0);
+    // enemy behaviour trees: assets/ai/<name>.tree, picked by the map object's "ai" property
+    public static final String AI_TREE_DIR = "assets/ai/";
+    public static final String AI_PROPERTY = "ai";
+    public static final String PATROLLER_TREE = "patroller";
+    public static final String TURRET_TREE = "turret";
+    private static final float ENEMY_VISUAL_WIDTH = 16f;
+    private static final float ENEMY_VISUAL_HEIGHT = 16f;
+    private static final float SHOOTING_ENEMY_VISUAL_WIDTH = 16f;
+    private static final float SHOOTING_ENEMY_VISUAL_HEIGHT = 16f;
+
+    // -Dcaw.physicsStats=true logs the average contact count, e.g. to compare collision_filtering on and off
+    private static final boolean LOG_PHYSICS_STATS = Boolean.getBoolean("caw.physicsStats");
+    private static final float PHYSICS_STATS_INTERVAL = 5f;
+    private float physicsStatsTimer = 0f;
+    private long contactCountSum = 0;
+    private int contactCountSamples = 0;
+    // -Dcaw.systemStats=true logs the average time of each entity system, to profile them one by one
+    private static final boolean LOG_SYSTEM_STATS = Boolean.getBoolean("caw.systemStats");
+    private float systemStatsTimer = 0f;
+
+    private final String levelAsset;
+    private final LevelData level;
+    private final EntitySprites sprites;
+    // events are only recorded during a step; the presenter dispatches them with dispatchEvents()
+    private final GameEventQueue events = new GameEventQueue(GameEventQueue.DEFAULT_CAPACITY);
+    private final long seed;
+    private final RandomXS128 random;
+
+    private final World world;
+    private final WorldContactListener contactListener;
+    private final CollisionLayers collisionLayers;
+    private final LineOfSight lineOfSight;
+    private final SpatialHash spatialHash;
+    private final WorldCommandBuffer worldCommands;
+    private final NavGraph navGraph;
+    private final PathPlanner pathPlanner;
+    private final Engine engine = new Engine();
+    private final AiSystem aiSystem;
+    private final AnimationSystem animationSystem;
+    private final RenderSystem renderSystem;
+    // parsed once per world and cloned per enemy; its cache is not shared between threads
+    private final BehaviorTreeLibrary aiTrees = new BehaviorTreeLibrary(new InternalFileHandleResolver());
+    private int awakeEntities = 0;
+
+    private Player player;
+    private final Vector2 playerSpawnPixels = new Vector2();
+    private final SlotArray<Coin> coins = new SlotArray<>();
+    private final SlotArray<Enemy> enemies = new SlotArray<>();
+    private final Array<ShootingEnemy> shootingEnemies = new Array<>();
+    private final SlotArray<Projectile> projectiles = new SlotArray<>();
+    private final ProjectilePool projectilePool;
+    private final Array<DoorData> doors = new Array<>();
+
+    public Body keyBody;
+    private Entity keyEntity;
+    public boolean playerHasKey = false;
+    private int score = 0;
+    private long stepCount = 0;
+    // bumped whenever the level's entities are recreated, so caches built from them know to rebuild
+    private int levelGeneration = 0;
+
+    /** subscriber gets the world's events from {@link #dispatchEvents()}; more can be added with {@link #subscribe}. */
+    public GameWorld(String levelAsset, LevelData level, EntitySprites sprites, GameEvents subscriber, long seed) {
+        this.levelAsset = levelAsset;
+        this.level = level;
+        this.sprites = sprites;
+        events.subscribe(subscriber);
+        this.seed = seed;
+        this.random = new RandomXS128(seed);
+
+        long navStart = System.nanoTime();
+        navGraph = new NavGraph(level);
+        pathPlanner = new PathPlanner(navGraph);
+        if (Log.isEnabled(Log.Category.STATS, Log.INFO)) {
+            Log.info(Log.Category.STATS, "Navigation graph: " + navGraph.getNodeCount() + " nodes on "
+                + navGraph.getFloorCount() + " floors, " + navGraph.getLinkCount(NavGraph.WALK) + " walk/"
+                + navGraph.getLinkCount(NavGraph.DROP) + " drop/" + navGraph.getLinkCount(NavGraph.JUMP)
+                + " jump links in " + (System.nanoTime() - navStart) / 1000 + " us");
+        }
+
+        // systems first: they pull in Components, which must exist before any entity is built
+        engine.addSystem(new PlayerSystem());
+        aiSystem = new AiSystem(this);
+        engine.addSystem(aiSystem);
+        engine.addSystem(new PathPlanningSystem(pathPlanner));
+        engine.addSystem(new LifetimeSystem());
+        engine.addSystem(new ProjectileSystem(this));
+        engine.addSystem(new PhysicsSystem(this));
+        engine.addSystem(new TransformSyncSystem());
+        animationSystem = new AnimationSystem();
+        renderSystem = new RenderSystem();
+        animationSystem.setProcessing(false); // per frame, see updateVisuals()
+        renderSystem.setProcessing(false); // drawn by GameScreen
+        engine.addSystem(animationSystem);
+        engine.addSystem(renderSystem);
+
+        world = new World(new Vector2(0, -10f), true);
+        contactListener = new WorldContactListener(this);
+        world.setContactListener(contactListener);
+        collisionLayers = new CollisionLayers();
+        collisionLayers.configure(level.properties);
+        lineOfSight = new LineOfSight(level);
+        spatialHash = new SpatialHash(SPATIAL_CELL_METERS, SPATIAL_BUCKETS, 256);
+        worldCommands = new WorldCommandBuffer(world);
+
+        findPlayerSpawnPoint();
+        player = new Player(world, contactListener, playerSpawnPixels, sprites.playerIdle, sprites.playerRun, this);
+        contactListener.setPlayer(player);
+        engine.addEntity(player.entity);
+
+        int initial = Math.max(PROJECTILE_POOL_INITIAL, STRESS_SHOOTERS / 2);
+        projectilePool = new ProjectilePool(world, collisionLayers, sprites.projectile,
+            ShootingEnemy.PROJECTILE_WIDTH_PIXELS, ShootingEnemy.PROJECTILE_HEIGHT_PIXELS,
+            initial, Math.max(256, STRESS_SHOOTERS * 2));
+
+        createPhysicsFromMap();
+        createCollectibles();
+        createDoorsFromMap();
+        updateNavBlocking();
+        createEnemiesFromMap();
+        if (STRESS_SHOOTERS > 0) spawnStressShooters(STRESS_SHOOTERS);
+    }
+
+    private void findPlayerSpawnPoint() {
+        playerSpawnPixels.set(GameScreen.WORLD_WIDTH_PIXELS / 2f, GameScreen.WORLD_HEIGHT_PIXELS / 2f); // Default
+        if (level.hasPlayerSpawn) {
+            playerSpawnPixels.set(level.playerSpawnPixels);
+            Log.info(Log.Category.WORLD, "Player start pos found at (pixels): {}", playerSpawnPixels);
+            return;
+        }
+        Log.info(Log.Category.WORLD, "SpawnPoint 'playerStart' not found, using default: {}", playerSpawnPixels);
+    }
+
+    /** Applies the controls to the player; call once per polled input, not per step. */
+    public void handleInput(PlayerInput input) {
+        input.poll();
+        if (player != null && !player.isDead()) player.handleInput(input);
+    }
+
+    /** One fixed step: every fixed-step system once, in {@link SystemOrder}. Transforms keep the previous position so a renderer can interpolate. */
+    public void step(float dt) {
+        lineOfSight.beginFrame();
+        engine.update(dt);
+        stepCount++;
+        if (LOG_SYSTEM_STATS) sampleSystemStats(dt);
+    }
+
+    /** The Box2D part of a step, run by {@link PhysicsSystem} after the gameplay systems. */
+    void stepPhysics(float dt) {
+        world.step(dt, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+        if (LOG_PHYSICS_STATS) samplePhysicsStats(dt);
+        contactListener.applyContacts(); // pickups and doors the step ran into, outside the callbacks
+        worldCommands.apply(this); // deferred removals and sensor changes, once per step
+        updateSpatialHash();
+    }
+
+    /** Per-frame work that does not belong to the fixed step: the animations. */
+    public void updateVisuals(float delta) {
+        animationSystem.update(delta);
+    }
+
+    /** Moves the entities that can move to their new body positions; only cell changes relink anything. */
+    private void updateSpatialHash() {
+        for (Enemy enemy : enemies) {
+            if (enemy.isDormant()) continue;
+            Vector2 position = enemy.getBody().getPosition();
+            spatialHash.move(enemy, position.x, position.y);
+        }
+        for (Projectile projectile : projectiles) {
+            Vector2 position = projectile.body.getPosition();
+            spatialHash.move(projectile, position.x, position.y);
+        }
+    }
+
+    private void samplePhysicsStats(float dt) {
+        contactCountSum += world.getContactCount();
+        contactCountSamples++;
+        physicsStatsTimer += dt;
+        if (physicsStatsTimer < PHYSICS_STATS_INTERVAL) return;
+
+        if (Log.isEnabled(Log.Category.STATS, Log.INFO)) {
+            Log.info(Log.Category.STATS, "avg contacts/step " + (contactCountSum / Math.max(1, contactCountSamples))
+                + " (bodies " + world.getBodyCount() + ", fixtures " + world.getFixtureCount()
+                + ", awake entities " + awakeEntities + "/" + (enemies.size + shootingEnemies.size + coins.size)
+                + ", projectiles " + projectiles.size
+                + ", pooled " + projectilePool.getFree() + ", created " + projectilePool.getCreatedCount()
+                + ", spatial " + spatialHash.size()
+                + ")");
+        }
+        physicsStatsTimer = 0f;
+        contactCountSum = 0;
+        contactCountSamples = 0;
+    }
+
+    private void sampleSystemStats(float dt) {
+        systemStatsTimer += dt;
+        if (systemStatsTimer < PHYSICS_STATS_INTERVAL) return;
+        // the report resets the timers, so only take it when it is going to be printed
+        if (Log.isEnabled(Log.Category.STATS, Log.INFO)) {
+            Log.info(Log.Category.STATS, systemTimesReport() + ", behaviour trees last step "
+                + aiSystem.getLastTicks() + " ticked, " + aiSystem.getLastDeferred() + " deferred");
+        }
+        systemStatsTimer = 0f;
+    }
+
+    /** Average microseconds per run of each timed system since the last report, in system order; resets them. */
+    public String systemTimesReport() {
+        StringBuilder report = new StringBuilder("us/run:");
+        ImmutableArray<EntitySystem> systems = engine.getSystems();
+        for (int i = 0; i < systems.size(); i++) {
+            if (!(systems.get(i) instanceof TimedSystem)) continue;
+            TimedSystem system = (TimedSystem) systems.get(i);
+            report.append(' ').append(system.getClass().getSimpleName()).append(' ')
+                .append(String.format(Locale.ROOT, "%.2f", system.getNanos() / 1e3 / Math.max(1, system.getRuns())));
+            system.resetTimes();
+        }
+        return report.toString();
+    }
+
+    /**
+     * Wakes entities that are within the activation region and puts the ones that left it to sleep. Headless
+     * runs never call this, so everything stays awake there.
+     */
+    public void applyActivation(ActivationRegion activationRegion) {
+        int awake = 0;
+        for (Enemy enemy : enemies) {
+            Vector2 position = enemy.getBody().getPosition();
+            enemy.setDormant(!activationRegion.shouldBeAwake(!enemy.isDormant(), position.x * PPM, position.y * PPM));
+            if (!enemy.isDormant()) awake++;
+        }
+        for (ShootingEnemy sEnemy : shootingEnemies) {
+            Vector2 position = sEnemy.getBody().getPosition();
+            sEnemy.setDormant(!activationRegion.shouldBeAwake(!sEnemy.isDormant(), position.x * PPM, position.y * PPM));
+            if (!sEnemy.isDormant()) awake++;
+        }
+        for (Coin coin : coins) {
+            if (coin.getBody() == null) continue;
+            Vector2 position = coin.getBody().getPosition();
+            coin.setDormant(!activationRegion.shouldBeAwake(!coin.isDormant(), position.x * PPM, position.y * PPM));
+            if (!coin.isDormant()) awake++;
+        }
+        awakeEntities = awake;
+    }
+
+    public void collectCoin() {
+        score++;
+        Log.debug(Log.Category.WORLD, "Score: {}", score);
+        events.coinCollected(score);
+    }
+
+    public void scheduleBodyForRemoval(Body body) {
+        worldCommands.destroyBody(body);
+    }
+
+    public void scheduleFixtureToMakeSensor(Fixture fixture) {
+        worldCommands.makeSensor(fixture);
+    }
+
+    // WorldCommandBuffer.Listener, runs for each body destroyed by worldCommands.apply()
+    @Override
+    public void bodyDestroyed(Body body, Object userData) {
+        if (userData instanceof Coin) {
+            coins.removeValue((Coin) userData, true); // O(1) swap-remove by slot
+            spatialHash.remove((Coin) userData);
+            engine.removeEntity(((Coin) userData).entity);
+        } else if (userData instanceof Enemy) {
+            enemies.removeValue((Enemy) userData, true);
+            spatialHash.remove((Enemy) userData);
+            engine.removeEntity(((Enemy) userData).entity);
+        } else if (userData instanceof Entity) {
+            engine.removeEntity((Entity) userData); // the key
+        }
+    }
+
+    /** Launches a pooled projectile from (x, y) meters along the given direction. */
+    public void fireProjectile(float x, float y, float directionX, float directionY) {
+        Projectile projectile = projectilePool.obtain();
+        projectile.fire(x, y, directionX, directionY);
+        projectiles.add(projectile);
+        spatialHash.add(projectile, FixtureTag.PROJECTILE, x, y);
+        engine.addEntity(projectile.entity);
+        events.shotFired();
+    }
+
+    /** Takes a projectile out of play and back into the pool; called by {@link ProjectileSystem}, never inside world.step. */
+    void releaseProjectile(Projectile projectile) {
+        projectiles.removeValue(projectile, true);
+        spatialHash.remove(projectile);
+        projectilePool.free(projectile); // deactivates the body
+        engine.removeEntity(projectile.entity);
+    }
+
+    /** Puts the level back to its initial state: score, coins, enemies, doors, projectiles and the player. */
+    public void restart() {
+        Log.info(Log.Category.WORLD, "Restarting level...");
+        score = 0;
+        if (player != null) {
+            player.respawn();
+        }
+
+        contactListener.clearContacts(); // pickups from the old run must not count in the new one
+        worldCommands.apply(this); // flush anything still pending before tearing the level down
+
+        if (world.isLocked()) {
+            Log.error(Log.Category.WORLD, "World locked, cannot destroy level bodies");
+        } else {
+            for (Coin coin : coins) {
+                if (coin.getBody() != null) world.destroyBody(coin.getBody()); // dormant coins are inactive, not gone
+            }
+            for (Enemy enemy : enemies) {
+                if (enemy.body != null) world.destroyBody(enemy.body);
+            }
+            for (ShootingEnemy shooter : shootingEnemies) {
+                if (shooter.body != null) world.destroyBody(shooter.body);
+            }
+            for (DoorData door : doors) {
+                if (door.body != null) world.destroyBody(door.body);
+            }
+            if (keyBody != null) world.destroyBody(keyBody); // not picked up yet
+        }
+        keyBody = null;
+
+        projectilePool.freeAll(projectiles);
+
+        //key reset
+        playerHasKey = false;
+
+        coins.clear();
+        doors.clear();
+        projectiles.clear();
+        enemies.clear();
+        shootingEnemies.clear();
+        spatialHash.clear();
+        engine.removeAllEntities();
+        engine.addEntity(player.entity);
+        keyEntity = null;
+
+        createCollectibles();
+        createEnemiesFromMap();
+        createDoorsFromMap();
+        pathPlanner.clearPending();
+        updateNavBlocking();
+        levelGeneration++;
+
+        Log.info(Log.Category.WORLD, "Level re-initialized.");
+    }
+
+    private void spawnStressShooters(int count) {
+        int columns = 20;
+        float spacing = 20f;
+        float startX = playerSpawnPixels.x - columns / 2f * spacing;
+        float startY = playerSpawnPixels.y + 40f;
+        for (int i = 0; i < count; i++) {
+            float x = startX + (i % columns) * spacing;
+            float y = startY + (i / columns) * spacing;
+            addShootingEnemy(new ShootingEnemy(world, this, sprites.shootingEnemy, x, y,
+                SHOOTING_ENEMY_VISUAL_WIDTH, SHOOTING_ENEMY_VISUAL_HEIGHT,
+                Math.max(ShootingEnemy.DETECTION_RADIUS * PPM, (i / columns + 3) * spacing * 2f), ShootingEnemy.SHOOT_COOLDOWN),
+                TURRET_TREE);
+        }
+        Log.info(Log.Category.WORLD, "Spawned {} extra shooting enemies around the player spawn", count);
+    }
+
+    private void addShootingEnemy(ShootingEnemy sEnemy, String treeName) {
+        shootingEnemies.add(sEnemy);
+        addAi(sEnemy.entity, treeName, TURRET_TREE);
+        engine.addEntity(sEnemy.entity);
+        if (sEnemy.body == null) return;
+        Vector2 position = sEnemy.body.getPosition();
+        spatialHash.add(sEnemy, FixtureTag.SHOOTING_ENEMY, position.x, position.y);
+    }
+
+    /** Blocks the navigation graph under every locked door and frees it elsewhere; cached paths go stale. */
+    public void updateNavBlocking() {
+        navGraph.clearBlocked();
+        for (DoorData door : doors) {
+            if (door.isLocked) navGraph.blockArea(door.boundsPixels, true);
+        }
+    }
+
+    /** Gives an enemy the behaviour tree of that name, or the type's default tree when it cannot be loaded. */
+    private void addAi(Entity entity, String treeName, String defaultTree) {
+        BehaviorTree<Entity> tree;
+        try {
+            tree = aiTrees.createBehaviorTree(AI_TREE_DIR + treeName + ".tree", entity);
+        } catch (GdxRuntimeException | SerializationException e) {
+            Log.error(Log.Category.AI, "Cannot load behaviour tree '" + treeName + "', using '" + defaultTree + "'", e);
+            tree = aiTrees.createBehaviorTree(AI_TREE_DIR + defaultTree + ".tree", entity);
+        }
+        entity.add(new AiComponent(tree));
+    }
+
+    private void createPhysicsFromMap() {
+        if (level.collisionRects.isEmpty()) {
+            Log.error(Log.Category.MAP, "Object layer 'Collision' not found in Tiled map!");
+            return;
+        }
+
+        // surface_type from Tiles, ground default; "collision_geometry" map property picks boxes/merged/chains
+        CollisionGeometryBuilder.Mode mode = COLLISION_GEOMETRY;
+        String modeProperty = level.properties.get("collision_geometry");
+        if (modeProperty != null) {
+            try {
+                mode = CollisionGeometryBuilder.Mode.valueOf(modeProperty.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                Log.error(Log.Category.MAP, "Unknown collision_geometry '{}', using {}", modeProperty, mode);
+            }
+        }
+        CollisionGeometryBuilder.Stats stats = CollisionGeometryBuilder.build(world, level, mode, collisionLayers, PPM);
+        Log.info(Log.Category.MAP, "Collision geometry for {} {}", levelAsset, stats);
+    }
+
+    public static class DoorData implements Component {
+        public Body body;
+        public Rectangle boundsPixels;
+        public String nextLevelAsset;
+        public boolean isLocked;
+        public boolean isOpen = false;
+        public Vector2 positionPixels;
+        // the door with its transform and sprite, which shows whether it is open
+        public final Entity entity = new Entity();
+        private final SpriteComponent sprite = new SpriteComponent(null);
+        private final TextureRegion closedRegion;
+        private final TextureRegion openRegion;
+
+        public DoorData(Body body, Rectangle boundsPixels, String nextLevelAsset, boolean initiallyLocked,
+                        TextureRegion closedRegion, TextureRegion openRegion) {
+            this.body = body;
+            this.boundsPixels = boundsPixels;
+            this.nextLevelAsset = nextLevelAsset;
+            this.isLocked = initiallyLocked;
+            this.closedRegion = closedRegion;
+            this.openRegion = openRegion;
+            if (body != null) {
+                body.setUserData(this);
+            }
+            this.positionPixels = new Vector2(boundsPixels.x + boundsPixels.width / 2, boundsPixels.y + boundsPixels.height / 2);
+            TransformComponent transform = new TransformComponent(boundsPixels.width, boundsPixels.height)
+                .snap(positionPixels.x / PPM, positionPixels.y / PPM);
+            entity.add(this).add(transform).add(sprite);
+            updateSprite();
+        }
+
+        public void open() {
+            isOpen = true;
+            updateSprite();
+        }
+
+        public void unlock() {
+            isLocked = false;
+            open();
+        }
+
+        private void updateSprite() {
+            boolean showOpen = (isOpen || !isLocked) && openRegion != null;
+            sprite.region = showOpen ? openRegion : closedRegion;
+        }
+    }
+
+    private void createCollectibles() {
+        BodyDef bodyDef = new BodyDef();
+        FixtureDef fixtureDef = new FixtureDef();
+        PolygonShape shape = new PolygonShape();
+
+        for (Vector2 coinCenter : level.coinPositionsPixels) {
+            bodyDef.type = BodyDef.BodyType.StaticBody;
+            bodyDef.position.set(coinCenter.x / PPM, coinCenter.y / PPM);
+
+            Body coinBody = world.createBody(bodyDef);
+            shape.setAsBox(Coin.VISUAL_COIN_SIZE / 2f / PPM, Coin.VISUAL_COIN_SIZE / 2f / PPM);
+            fixtureDef.shape = shape;
+            fixtureDef.isSensor = true;
+            collisionLayers.tag(coinBody.createFixture(fixtureDef), FixtureTag.COIN);
+
+            Coin coin = new Coin(coinBody, sprites.coin, random.nextFloat() * 100f);
+            coins.add(coin);
+            engine.addEntity(coin.entity);
+            spatialHash.add(coin, FixtureTag.COIN, coinCenter.x / PPM, coinCenter.y / PPM);
+        }
+
+        if (level.keyBoundsPixels != null) {
+            Rectangle rect = level.keyBoundsPixels;
+
+            bodyDef.type = BodyDef.BodyType.StaticBody;
+            float centerX = (rect.getX() + rect.getWidth() / 2f) / PPM;
+            float centerY = (rect.getY() + rect.getHeight() / 2f) / PPM;
+            bodyDef.position.set(centerX, centerY);
+
+            keyBody = world.createBody(bodyDef);
+            float keyHitboxSize = 16f;
+            shape.setAsBox(keyHitboxSize / 2f / PPM, keyHitboxSize / 2f / PPM);
+            fixtureDef.shape = shape;
+            fixtureDef.isSensor = true;
+            collisionLayers.tag(keyBody.createFixture(fixtureDef), FixtureTag.KEY);
+            float keyDrawSize = 8f;
+            keyEntity = new Entity()
+                .add(new TransformComponent(keyDrawSize, keyDrawSize).snap(centerX, centerY))
+                .add(new SpriteComponent(sprites.key));
+            keyBody.setUserData(keyEntity); // bodyDestroyed() takes the entity out with the body
+            engine.addEntity(keyEntity);
+            Log.info(Log.Category.WORLD, "Key created at: {},{}", rect.getX(), rect.getY());
+        }
+
+        shape.dispose();
+    }
+
+    private void createEnemiesFromMap() {
+        if (level.enemies.isEmpty()) {
+            Log.info(Log.Category.MAP, "Object layer 'Enemies' not found.");
+            return;
+        }
+
+        //for regular enemy
+        BodyDef enemyBodyDef = new BodyDef();
+        enemyBodyDef.type = BodyDef.BodyType.DynamicBody;
+        enemyBodyDef.fixedRotation = true;
+
+        PolygonShape enemyShape = new PolygonShape();
+
+        enemyShape.setAsBox(ENEMY_VISUAL_WIDTH / 2f / PPM, (ENEMY_VISUAL_HEIGHT - 4) / 2f / PPM);
+
+        FixtureDef enemyFixtureDef = new FixtureDef();
+        enemyFixtureDef.shape = enemyShape;
+        enemyFixtureDef.density = 0.8f;
+        enemyFixtureDef.friction = 0.4f;
+        enemyFixtureDef.restitution = 0.0f;
+
+        for (LevelData.EnemySpawn spawn : level.enemies) {
+            String type = spawn.type;
+            float xPixels = spawn.xPixels;
+            float yPixels = spawn.yPixels;
+
+            if (LevelData.ENEMY_TYPE_PATROL.equals(type)) {
+                float patrolDistPixels = spawn.patrolDistancePixels;
+
+                enemyBodyDef.position.set(xPixels / PPM, yPixels / PPM);
+                Body regEnemyBody = world.createBody(enemyBodyDef);
+                collisionLayers.tag(regEnemyBody.createFixture(enemyFixtureDef), FixtureTag.ENEMY);
+
+                Enemy enemy = new Enemy(regEnemyBody, sprites.enemy,
+                    xPixels, patrolDistPixels,
+                    ENEMY_VISUAL_WIDTH, ENEMY_VISUAL_HEIGHT, this);
+                enemies.add(enemy);
+                addAi(enemy.entity, spawn.properties.get(AI_PROPERTY, PATROLLER_TREE), PATROLLER_TREE);
+                engine.addEntity(enemy.entity);
+                spatialHash.add(enemy, FixtureTag.ENEMY, xPixels / PPM, yPixels / PPM);
+                Log.debug(Log.Category.WORLD, "Created animated patrolling enemy from map at {},{}", xPixels, yPixels);
+
+            } else if (LevelData.ENEMY_TYPE_SHOOTING.equals(type)) {
+                float detectionRadiusPixels = spawn.detectionRadiusPixels;
+                float shootCooldownSeconds = spawn.shootCooldownSeconds;
+
+                ShootingEnemy sEnemy = new ShootingEnemy(world, this,
+                    sprites.shootingEnemy,
+                    xPixels, yPixels,
+                    SHOOTING_ENEMY_VISUAL_WIDTH, SHOOTING_ENEMY_VISUAL_HEIGHT,
+                    detectionRadiusPixels, shootCooldownSeconds);
+
+                addShootingEnemy(sEnemy, spawn.properties.get(AI_PROPERTY, TURRET_TREE));
+                Log.debug(Log.Category.WORLD, "CREATED animated shooting enemy. Total shooting enemies: {}", shootingEnemies.size);
+            }
+        }
+        enemyShape.dispose();
+    }
+
+    private void createDoorsFromMap() {
+        if (level.doors.isEmpty()) {
+            Log.info(Log.Category.MAP, "Object layer 'Interactables' for doors not found.");
+            return;
+        }
+
+        BodyDef bodyDef = new BodyDef();
+        FixtureDef fixtureDef = new FixtureDef();
+        PolygonShape shape = new PolygonShape();
+
+        for (LevelData.DoorSpawn spawn : level.doors) {
+            Rectangle rect = spawn.boundsPixels;
+
+            bodyDef.type = BodyDef.BodyType.StaticBody;
+            float centerX = (rect.getX() + rect.getWidth() / 2f) / PPM;
+            float centerY = (rect.getY() + rect.getHeight() / 2f) / PPM;
+            bodyDef.position.set(centerX, centerY);
+
+            Body doorBody = world.createBody(bodyDef);
+            shape.setAsBox(rect.getWidth() / 2f / PPM, rect.getHeight() / 2f / PPM);
+            fixtureDef.shape = shape;
+
+            String nextLevel = spawn.nextLevelAsset; //na main menu by default
+            boolean initiallyLocked = spawn.initiallyLocked;
+
+            DoorData doorData = new DoorData(doorBody, new Rectangle(rect), nextLevel, initiallyLocked,
+                sprites.doorClosed, sprites.doorOpen);
+
+            if (initiallyLocked) {
+                fixtureDef.isSensor = false;
+                collisionLayers.tag(doorBody.createFixture(fixtureDef), FixtureTag.DOOR);
+            } else {
+                fixtureDef.isSensor = true;
+                collisionLayers.tag(doorBody.createFixture(fixtureDef), FixtureTag.DOOR);
+                doorData.open();
+            }
+
+            doors.add(doorData);
+            engine.addEntity(doorData.entity);
+        }
+        shape.dispose();
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public LevelData getLevel() {
+        return level;
+    }
+
+    /** Where gameplay code reports events; they are queued, never delivered during the step. */
+    public GameEvents getEvents() {
+        return events;
+    }
+
+    /** Delivers the events of the steps since the last call to the subscribers; call after stepping, once per frame. */
+    public int dispatchEvents() {
+        return events.dispatch();
+    }
+
+    public void subscribe(GameEvents subscriber) {
+        events.subscribe(subscriber);
+    }
+
+    public GameEventQueue getEventQueue() {
+        return events;
+    }
+
+    /** The only source of randomness for gameplay; never use Math.random() in simulation code. */
+    public RandomXS128 getRandom() {
+        return random;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Hash of the gameplay state: step count, score, key, the player's body and health, every enemy and
+     * projectile position, the shooters' cooldowns, the doors' lock and open state and the RNG. Two runs that
+     * agree here at the same step took the same path.
+     */
+    public long stateHash() {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, stepCount);
+        hash = mix(hash, score);
+        hash = mix(hash, playerHasKey ? 1 : 0);
+        hash = mix(hash, random.getState(0));
+        hash = mix(hash, random.getState(1));
+        if (player != null && player.getBody() != null) {
+            Body body = player.getBody();
+            hash = mix(hash, body.getPosition().x, body.getPosition().y);
+            hash = mix(hash, body.getLinearVelocity().x, body.getLinearVelocity().y);
+            hash = mix(hash, player.getCurrentHealth(), player.isDead() ? 1 : 0);
+        }
+        hash = mix(hash, coins.size);
+        hash = mix(hash, enemies.size);
+        for (Enemy enemy : enemies) {
+            hash = mix(hash, enemy.getBody().getPosition().x, enemy.getBody().getPosition().y);
+        }
+        hash = mix(hash, shootingEnemies.size);
+        for (ShootingEnemy shooter : shootingEnemies) {
+            hash = mix(hash, Float.floatToIntBits(shooter.getShootCooldownTimer()));
+        }
+        hash = mix(hash, doors.size);
+        for (DoorData door : doors) {
+            hash = mix(hash, (door.isLocked ? 2 : 0) | (door.isOpen ? 1 : 0));
+        }
+        hash = mix(hash, projectiles.size);
+        for (Projectile projectile : projectiles) {
+            hash = mix(hash, projectile.body.getPosition().x, projectile.body.getPosition().y);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, float a, float b) {
+        return mix(hash, ((long) Float.floatToIntBits(a) << 32) | (Float.floatToIntBits(b) & 0xffffffffL));
+    }
+
+    // FNV-1a style step over a whole long, then a xorshift so nearby values spread
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * 0x100000001b3L;
+        return hash ^ (hash >>> 29);
+    }
+
+    public WorldContactListener getContactListener() {
+        return contactListener;
+    }
+
+    public LineOfSight getLineOfSight() {
+        return lineOfSight;
+    }
+
+    public CollisionLayers getCollisionLayers() {
+        return collisionLayers;
+    }
+
+    public SpatialHash getSpatialHash() {
+        return spatialHash;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public NavGraph getNavGraph() {
+        return navGraph;
+    }
+
+    public PathPlanner getPathPlanner() {
+        return pathPlanner;
+    }
+
+    public AiSystem getAiSystem() {
+        return aiSystem;
+    }
+
+    public RenderSystem getRenderSystem() {
+        return renderSystem;
+    }
+
+    /** The key's entity while the key is still lying in the level, else null. */
+    public Entity getKeyEntity() {
+        return keyBody != null ? keyEntity : null;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Array<Coin> getCoins() {
+        return coins;
+    }
+
+    public Array<Enemy> getEnemies() {
+        return enemies;
+    }
+
+    public Array<ShootingEnemy> getShootingEnemies() {
+        return shootingEnemies;
+    }
+
+    public Array<Projectile> getProjectiles() {
+        return projectiles;
+    }
+
+    public Array<DoorData> getDoors() {
+        return doors;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /** Bumped by every restart, when the level's entities are created again. */
+    public int getLevelGeneration() {
+        return levelGeneration;
+    }
+
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public void dispose() {
+        if (player != null) {
+            player.dispose();
+            player = null;
+        }
+        if (!world.isLocked()) {
+            for (Coin coin : coins) {
+                if (coin.getBody() != null) {
+                    world.destroyBody(coin.getBody());
+                }
+            }
+        }
+        coins.clear();
+        enemies.clear();
+        engine.removeAllEntities();
+        worldCommands.clear();
+        world.dispose();
+    }
+}
@@ -0,0 +1,112 @@
+package com.caw.game;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * The in-game overlay: health bar, score, key icon and the game-over text. GameScreen pushes changes into it
+ * from its GameEvents callbacks; text is only laid out again when what it shows changed, the score digits
+ * are appended into a reused StringBuilder and the font scale is set once, so a steady frame allocates
+ * nothing. The health bar is two tinted quads of a white region, so the whole HUD stays inside one batch.
+ * The fonts and regions are borrowed and not disposed here.
+ */
+public class Hud {
+    private static final float PADDING = 10f;
+    private static final float HEALTH_BAR_WIDTH = 80f;
+    private static final float HEALTH_BAR_HEIGHT = 10f;
+    private static final float KEY_ICON_SIZE = 24f;
+    private static final float SCORE_FONT_SCALE = 0.5f;
+    private static final String SCORE_LABEL = "Score: ";
+
+    private final BitmapFont scoreFont;
+    private final BitmapFont titleFont;
+    private final TextureRegion keyRegion;
+    private final TextureRegion whiteRegion;
+
+    private final StringBuilder scoreText = new StringBuilder(SCORE_LABEL.length() + 11);
+    private final GlyphLayout scoreLayout = new GlyphLayout();
+    private final GlyphLayout gameOverLayout = new GlyphLayout();
+    private final GlyphLayout restartLayout = new GlyphLayout();
+    private final GlyphLayout menuLayout = new GlyphLayout();
+
+    private int score = Integer.MIN_VALUE;
+    private float healthFraction = 1f;
+    private boolean showHealth = false;
+    private boolean hasKey = false;
+    private boolean playerDead = false;
+
+    public Hud(BitmapFont scoreFont, BitmapFont titleFont, TextureRegion keyRegion, TextureRegion whiteRegion) {
+        this.scoreFont = scoreFont;
+        this.titleFont = titleFont;
+        this.keyRegion = keyRegion;
+        this.whiteRegion = whiteRegion;
+
+        // fixed text is laid out once; the glyph positions keep the scale it had at layout time
+        if (scoreFont != null) {
+            scoreFont.getData().setScale(SCORE_FONT_SCALE);
+            restartLayout.setText(scoreFont, "Press 'R' to Restart");
+            menuLayout.setText(scoreFont, "Press 'M' for Main Menu");
+        }
+        if (titleFont != null) gameOverLayout.setText(titleFont, "GAME OVER");
+        setScore(0);
+    }
+
+    public void setScore(int score) {
+        if (score == this.score) return;
+        this.score = score;
+        scoreText.setLength(0);
+        scoreText.append(SCORE_LABEL).append(score);
+        if (scoreFont != null) scoreLayout.setText(scoreFont, scoreText);
+    }
+
+    public void setHealth(float currentHealth, float maxHealth) {
+        showHealth = true;
+        healthFraction = maxHealth > 0f ? Math.max(0f, currentHealth / maxHealth) : 0f;
+    }
+
+    public void setHasKey(boolean hasKey) {
+        this.hasKey = hasKey;
+    }
+
+    public void setPlayerDead(boolean playerDead) {
+        this.playerDead = playerDead;
+    }
+
+    /** Draws the overlay; the batch must be drawing with the HUD camera's projection. */
+    public void draw(SpriteBatch batch, OrthographicCamera camera, boolean paused) {
+        float width = camera.viewportWidth;
+        float height = camera.viewportHeight;
+
+        if (showHealth && whiteRegion != null) {
+            float barY = height - HEALTH_BAR_HEIGHT - PADDING;
+            batch.setColor(0.3f, 0.3f, 0.3f, 1f); //hp bg
+            batch.draw(whiteRegion, PADDING, barY, HEALTH_BAR_WIDTH, HEALTH_BAR_HEIGHT);
+            batch.setColor(1f, 0f, 0.25f, 1f); //hp
+            batch.draw(whiteRegion, PADDING, barY, HEALTH_BAR_WIDTH * healthFraction, HEALTH_BAR_HEIGHT);
+            batch.setColor(1f, 1f, 1f, 1f);
+        }
+
+        if (scoreFont != null) {
+            float scoreY = height - HEALTH_BAR_HEIGHT - PADDING - scoreFont.getCapHeight() - 5f;
+            scoreFont.draw(batch, scoreLayout, PADDING, scoreY);
+        }
+
+        if (playerDead && !paused) {
+            if (titleFont != null) {
+                titleFont.draw(batch, gameOverLayout, (width - gameOverLayout.width) / 2, height / 2 + gameOverLayout.height + 30);
+            }
+            if (scoreFont != null) {
+                scoreFont.draw(batch, restartLayout, (width - restartLayout.width) / 2, height / 2 - 10);
+                scoreFont.draw(batch, menuLayout, (width - menuLayout.width) / 2, height / 2 - 10 - restartLayout.height - 5);
+            }
+        }
+
+        //key hood
+        if (hasKey && keyRegion != null) {
+            batch.draw(keyRegion, width - KEY_ICON_SIZE, height - KEY_ICON_SIZE, KEY_ICON_SIZE, KEY_ICON_SIZE);
+        }
+    }
+}
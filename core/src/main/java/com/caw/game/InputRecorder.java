@@ -0,0 +1,123 @@
+package com.caw.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records what a {@link PlayerInput} fed the world, one byte per rendered frame, so {@link InputReplay} can
+ * rerun the session exactly. Wrap the real input with it, call {@link #markRestart()} when the level is
+ * restarted and {@link #endFrame} after each frame's fixed steps.
+ * <p>
+ * Log layout, big-endian:
+ * <pre>
+ * int magic "CAWI", byte version, short length + UTF-8 level asset, long seed, float step, int hashInterval
+ * then per frame:  byte  bits 0-4 flags (left, right, jump, restart, input polled), bits 5-7 steps (0-6)
+ * and after a frame that crossed a multiple of hashInterval steps:  byte 0xFF, long step, long stateHash
+ * </pre>
+ */
+public class InputRecorder implements PlayerInput {
+    static final int MAGIC = 0x43415749; // "CAWI"
+    static final int VERSION = 1;
+    static final int LEFT = 1;
+    static final int RIGHT = 1 << 1;
+    static final int JUMP = 1 << 2;
+    static final int RESTART = 1 << 3;
+    static final int INPUT = 1 << 4;
+    static final int STEP_SHIFT = 5;
+    static final int MAX_FRAME_STEPS = 6; // 7 with every flag set would be the hash marker
+    static final int HASH_MARKER = 0xFF;
+    public static final int DEFAULT_HASH_INTERVAL = 60;
+
+    private final PlayerInput source;
+    private final DataOutputStream out;
+    private final int hashInterval;
+    private int flags = 0;
+    private long frames = 0;
+    private boolean closed = false;
+
+    public InputRecorder(PlayerInput source, FileHandle file, GameWorld world, String levelAsset, float physicsStep,
+                         int hashInterval) {
+        this.source = source;
+        this.hashInterval = hashInterval;
+        this.out = new DataOutputStream(new BufferedOutputStream(file.write(false), 8192));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            byte[] level = levelAsset.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(level.length);
+            out.write(level);
+            out.writeLong(world.getSeed());
+            out.writeFloat(physicsStep);
+            out.writeInt(hashInterval);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not write input log " + file, e);
+        }
+    }
+
+    @Override
+    public void poll() {
+        source.poll();
+        flags |= INPUT;
+        if (source.isLeftPressed()) flags |= LEFT;
+        if (source.isRightPressed()) flags |= RIGHT;
+        if (source.isJumpJustPressed()) flags |= JUMP;
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return (flags & LEFT) != 0;
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return (flags & RIGHT) != 0;
+    }
+
+    @Override
+    public boolean isJumpJustPressed() {
+        return (flags & JUMP) != 0;
+    }
+
+    /** The level was restarted before this frame's input and steps. */
+    public void markRestart() {
+        flags |= RESTART;
+    }
+
+    /** Writes this frame: its flags, how many fixed steps it ran and, every hashInterval steps, the state hash. */
+    public void endFrame(int steps, GameWorld world) {
+        if (closed) return;
+        if (steps > MAX_FRAME_STEPS) throw new IllegalArgumentException("At most " + MAX_FRAME_STEPS + " steps per frame can be recorded");
+        try {
+            out.writeByte(flags | steps << STEP_SHIFT);
+            long step = world.getStepCount();
+            if (steps > 0 && step / hashInterval != (step - steps) / hashInterval) {
+                out.writeByte(HASH_MARKER);
+                out.writeLong(step);
+                out.writeLong(world.stateHash());
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not write input log", e);
+        }
+        flags = 0;
+        frames++;
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not close input log", e);
+        }
+    }
+}
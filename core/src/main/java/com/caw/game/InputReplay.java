@@ -0,0 +1,118 @@
+package com.caw.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plays an {@link InputRecorder} log back into a {@link GameWorld} as fast as possible and checks the world
+ * state hash wherever the recording stored one. Create the world with {@link #getSeed()} and the level in
+ * {@link #getLevelAsset()}, then call {@link #play}.
+ */
+public class InputReplay implements PlayerInput {
+    private final ByteBuffer log;
+    private final int recordsStart;
+    private final String levelAsset;
+    private final long seed;
+    private final float physicsStep;
+    private final int hashInterval;
+    private int flags = 0;
+
+    /** What a replay did; firstMismatchStep is -1 when every stored hash matched. */
+    public static class Result {
+        public long frames;
+        public long steps;
+        public int hashesChecked;
+        public long firstMismatchStep = -1;
+        public long nanos;
+
+        public boolean matched() {
+            return firstMismatchStep < 0;
+        }
+    }
+
+    public InputReplay(FileHandle file) {
+        log = ByteBuffer.wrap(file.readBytes());
+        if (log.remaining() < 5 || log.getInt() != InputRecorder.MAGIC) {
+            throw new GdxRuntimeException("Not an input log: " + file);
+        }
+        int version = log.get();
+        if (version != InputRecorder.VERSION) {
+            throw new GdxRuntimeException("Unsupported input log version " + version + ": " + file);
+        }
+        byte[] level = new byte[log.getShort() & 0xFFFF];
+        log.get(level);
+        levelAsset = new String(level, StandardCharsets.UTF_8);
+        seed = log.getLong();
+        physicsStep = log.getFloat();
+        hashInterval = log.getInt();
+        recordsStart = log.position();
+    }
+
+    public String getLevelAsset() {
+        return levelAsset;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getPhysicsStep() {
+        return physicsStep;
+    }
+
+    public int getHashInterval() {
+        return hashInterval;
+    }
+
+    /**
+     * Runs every recorded frame against world, which must be freshly created from this log's level and seed.
+     * Stops at the first hash mismatch unless keepGoing is set.
+     */
+    public Result play(GameWorld world, boolean keepGoing) {
+        Result result = new Result();
+        log.position(recordsStart);
+        long start = System.nanoTime();
+        while (log.hasRemaining()) {
+            int record = log.get() & 0xFF;
+            if (record == InputRecorder.HASH_MARKER) {
+                long step = log.getLong();
+                long hash = log.getLong();
+                result.hashesChecked++;
+                if (step != world.getStepCount() || hash != world.stateHash()) {
+                    if (result.firstMismatchStep < 0) result.firstMismatchStep = step;
+                    if (!keepGoing) break;
+                }
+                continue;
+            }
+
+            flags = record & ((1 << InputRecorder.STEP_SHIFT) - 1);
+            int steps = record >>> InputRecorder.STEP_SHIFT;
+            if ((flags & InputRecorder.RESTART) != 0) world.restart();
+            if ((flags & InputRecorder.INPUT) != 0) world.handleInput(this);
+            for (int i = 0; i < steps; i++) world.step(physicsStep);
+            world.dispatchEvents();
+            result.frames++;
+            result.steps += steps;
+        }
+        result.nanos = System.nanoTime() - start;
+        return result;
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return (flags & InputRecorder.LEFT) != 0;
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return (flags & InputRecorder.RIGHT) != 0;
+    }
+
+    @Override
+    public boolean isJumpJustPressed() {
+        return (flags & InputRecorder.JUMP) != 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.caw.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/** A/D to run, space or W to jump. */
+public class KeyboardInput implements PlayerInput {
+    @Override
+    public boolean isLeftPressed() {
+        return Gdx.input.isKeyPressed(Input.Keys.A);
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return Gdx.input.isKeyPressed(Input.Keys.D);
+    }
+
+    @Override
+    public boolean isJumpJustPressed() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.isKeyJustPressed(Input.Keys.W);
+    }
+}
@@ -0,0 +1,114 @@
+package com.caw.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Compiles every .tmx in a directory into the binary {@link LevelFile} format.
+ * Runs without a libGDX application, from the core compileLevels Gradle task or by hand:
+ * <pre>
+ * LevelCompiler &lt;assetsDir&gt; &lt;outputDir&gt; [--bench]
+ * </pre>
+ * With --bench it also times the .tmx parse against reading the compiled file back for each map, and reports
+ * how far {@link CollisionGeometryBuilder} reduces the collision rectangles.
+ */
+public class LevelCompiler {
+    private static final int BENCH_WARMUP = 20;
+    private static final int BENCH_RUNS = 100;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: LevelCompiler <assetsDir> <outputDir> [--bench]");
+            System.exit(1);
+        }
+        File assetsDir = new File(args[0]);
+        File outputDir = new File(args[1]);
+        boolean bench = args.length > 2 && "--bench".equals(args[2]);
+
+        File[] maps = assetsDir.listFiles((dir, name) -> name.endsWith(".tmx"));
+        if (maps == null || maps.length == 0) {
+            System.err.println("LevelCompiler: no .tmx files in " + assetsDir.getAbsolutePath());
+            return;
+        }
+        Arrays.sort(maps);
+        if (!outputDir.exists() && !outputDir.mkdirs()) {
+            throw new IOException("Could not create " + outputDir.getAbsolutePath());
+        }
+
+        for (File map : maps) {
+            FileHandle tmxFile = new FileHandle(map);
+            FileHandle compiled = new FileHandle(new File(outputDir, tmxFile.nameWithoutExtension() + LevelFile.EXTENSION));
+            compile(tmxFile, compiled);
+        }
+
+        if (bench) {
+            System.out.println();
+            System.out.println(String.format(Locale.ROOT, "%-20s %12s %12s %8s", "map", "tmx (us)", "compiled (us)", "speedup"));
+            for (File map : maps) {
+                FileHandle tmxFile = new FileHandle(map);
+                FileHandle compiled = new FileHandle(new File(outputDir, tmxFile.nameWithoutExtension() + LevelFile.EXTENSION));
+                bench(tmxFile, compiled);
+            }
+
+            System.out.println();
+            System.out.println(String.format(Locale.ROOT, "%-20s %8s %8s %8s %12s", "map", "rects", "merged", "loops", "merge (us)"));
+            for (File map : maps) {
+                reportCollision(TmxLevelParser.parse(new FileHandle(map)), map.getName());
+            }
+        }
+    }
+
+    static void compile(FileHandle tmxFile, FileHandle compiled) throws IOException {
+        LevelData level = TmxLevelParser.parse(tmxFile);
+        try (OutputStream out = new BufferedOutputStream(compiled.write(false))) {
+            LevelFile.write(level, tmxFile.readBytes(), out);
+        }
+        System.out.println(String.format(Locale.ROOT,
+            "LevelCompiler: %s -> %s (%d bytes, %d layers, %d collision rects, %d coins, %d enemies, %d doors)",
+            tmxFile.name(), compiled.name(), compiled.length(), level.tileLayers.size, level.collisionRects.size,
+            level.coinPositionsPixels.size, level.enemies.size, level.doors.size));
+    }
+
+    /** Box2D-free part of the collision build, so the reduction can be checked without natives. */
+    private static void reportCollision(LevelData level, String name) {
+        long start = System.nanoTime();
+        int merged = 0;
+        int loops = 0;
+        ObjectMap<String, Array<Rectangle>> bySurface = CollisionGeometryBuilder.groupBySurface(level.collisionRects);
+        for (Array<Rectangle> rects : bySurface.values()) {
+            Array<Rectangle> mergedRects = CollisionGeometryBuilder.mergeRectangles(rects);
+            merged += mergedRects.size;
+            loops += CollisionGeometryBuilder.traceOutlines(mergedRects).size;
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+        System.out.println(String.format(Locale.ROOT, "%-20s %8d %8d %8d %12d",
+            name, level.collisionRects.size, merged, loops, micros));
+    }
+
+    private static void bench(FileHandle tmxFile, FileHandle compiled) {
+        for (int i = 0; i < BENCH_WARMUP; i++) {
+            TmxLevelParser.parse(tmxFile);
+            LevelFile.read(LevelLoader.map(compiled));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCH_RUNS; i++) TmxLevelParser.parse(tmxFile);
+        long tmxMicros = (System.nanoTime() - start) / 1000 / BENCH_RUNS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCH_RUNS; i++) LevelFile.read(LevelLoader.map(compiled));
+        long compiledMicros = (System.nanoTime() - start) / 1000 / BENCH_RUNS;
+
+        System.out.println(String.format(Locale.ROOT, "%-20s %12d %12d %7.1fx",
+            tmxFile.name(), tmxMicros, compiledMicros, tmxMicros / (float) Math.max(1, compiledMicros)));
+    }
+}
@@ -0,0 +1,90 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Everything GameScreen needs to build a level, already resolved from the Tiled object groups.
+ * All positions are in pixels, y-up, the same space the TmxMapLoader map objects used.
+ * Produced either by {@link TmxLevelParser} or read back from a compiled level by {@link LevelFile}.
+ */
+public class LevelData {
+    public static final String ENEMY_TYPE_PATROL = "enemy";
+    public static final String ENEMY_TYPE_SHOOTING = "shooting_enemy";
+
+    public int width;
+    public int height;
+    public int tileWidth;
+    public int tileHeight;
+
+    public final ObjectMap<String, String> properties = new ObjectMap<>();
+    public final Array<TilesetInfo> tilesets = new Array<>();
+    public final Array<TileLayerData> tileLayers = new Array<>();
+
+    public boolean hasPlayerSpawn = false;
+    public final Vector2 playerSpawnPixels = new Vector2();
+
+    public final Array<CollisionRect> collisionRects = new Array<>();
+    public final Array<Vector2> coinPositionsPixels = new Array<>();
+    public Rectangle keyBoundsPixels; // null when the level has no key
+    public final Array<EnemySpawn> enemies = new Array<>();
+    public final Array<DoorSpawn> doors = new Array<>();
+
+    public float getWidthPixels() {
+        return (float) width * tileWidth;
+    }
+
+    public float getHeightPixels() {
+        return (float) height * tileHeight;
+    }
+
+    public static class TilesetInfo {
+        public int firstGid;
+        public String name;
+        public String imagePath; // relative to the level's directory
+        public int tileWidth, tileHeight;
+        public int spacing, margin;
+        public int columns, tileCount;
+    }
+
+    public static class TileLayerData {
+        public String name;
+        public boolean visible = true;
+        public float opacity = 1f;
+        /** Raw Tiled gids (flip flags included), row-major, first row is the top of the map. */
+        public int[] gids;
+    }
+
+    public static class CollisionRect {
+        public final Rectangle boundsPixels;
+        public final String surfaceType;
+
+        public CollisionRect(Rectangle boundsPixels, String surfaceType) {
+            this.boundsPixels = boundsPixels;
+            this.surfaceType = surfaceType;
+        }
+    }
+
+    public static class EnemySpawn {
+        public String type;
+        public float xPixels, yPixels; // center
+        public float patrolDistancePixels;
+        public float detectionRadiusPixels;
+        public float shootCooldownSeconds;
+        public final ObjectMap<String, String> properties = new ObjectMap<>();
+    }
+
+    public static class DoorSpawn {
+        public final Rectangle boundsPixels;
+        public final String nextLevelAsset;
+        public final boolean initiallyLocked;
+
+        public DoorSpawn(Rectangle boundsPixels, String nextLevelAsset, boolean initiallyLocked) {
+            this.boundsPixels = boundsPixels;
+            this.nextLevelAsset = nextLevelAsset;
+            this.initiallyLocked = initiallyLocked;
+        }
+    }
+}
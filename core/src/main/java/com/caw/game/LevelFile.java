@@ -0,0 +1,298 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of {@link LevelData}, written by {@link LevelCompiler} and read back by {@link LevelLoader}.
+ * <pre>
+ * header     int magic, short version, long sourceLength, int sourceCrc, int width, height, tileWidth, tileHeight
+ * strings    int count, (short length, utf-8 bytes)*   every other string is an index into this table
+ * properties int count, (int key, int value)*
+ * tilesets   int count, (int firstGid, name, imagePath, tileWidth, tileHeight, spacing, margin, columns, tileCount)*
+ * layers     int count, (int name, byte visible, float opacity, int cellCount, int[cellCount] gids)*
+ * spawn      byte present, float x, y
+ * collision  int count, (float x, y, width, height, int surfaceType)*
+ * coins      int count, (float x, y)*
+ * key        byte present, float x, y, width, height
+ * enemies    int count, (int type, float x, y, patrolDistance, detectionRadius, shootCooldown, properties)*
+ * doors      int count, (float x, y, width, height, int nextLevel, byte locked)*
+ * </pre>
+ * Everything is big-endian so the file can be read straight out of a memory-mapped buffer. The source
+ * length and CRC-32 identify the .tmx the file was compiled from, see {@link #isCompiledFrom}.
+ */
+public final class LevelFile {
+    public static final int MAGIC = 0x4B4C564C; // "KLVL"
+    public static final short VERSION = 2;
+    public static final String EXTENSION = ".lvl";
+
+    private LevelFile() { }
+
+    /** Writes the level compiled from source, the .tmx file's bytes. */
+    public static void write(LevelData level, byte[] source, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        StringTable strings = new StringTable(level);
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(source.length);
+        out.writeInt(sourceCrc(source));
+        out.writeInt(level.width);
+        out.writeInt(level.height);
+        out.writeInt(level.tileWidth);
+        out.writeInt(level.tileHeight);
+
+        out.writeInt(strings.values.size);
+        for (String value : strings.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+
+        writeProperties(out, strings, level.properties);
+
+        out.writeInt(level.tilesets.size);
+        for (LevelData.TilesetInfo tileset : level.tilesets) {
+            out.writeInt(tileset.firstGid);
+            out.writeInt(strings.indexOf(tileset.name));
+            out.writeInt(strings.indexOf(tileset.imagePath));
+            out.writeInt(tileset.tileWidth);
+            out.writeInt(tileset.tileHeight);
+            out.writeInt(tileset.spacing);
+            out.writeInt(tileset.margin);
+            out.writeInt(tileset.columns);
+            out.writeInt(tileset.tileCount);
+        }
+
+        out.writeInt(level.tileLayers.size);
+        for (LevelData.TileLayerData layer : level.tileLayers) {
+            out.writeInt(strings.indexOf(layer.name));
+            out.writeBoolean(layer.visible);
+            out.writeFloat(layer.opacity);
+            out.writeInt(layer.gids.length);
+            for (int gid : layer.gids) out.writeInt(gid);
+        }
+
+        out.writeBoolean(level.hasPlayerSpawn);
+        out.writeFloat(level.playerSpawnPixels.x);
+        out.writeFloat(level.playerSpawnPixels.y);
+
+        out.writeInt(level.collisionRects.size);
+        for (LevelData.CollisionRect rect : level.collisionRects) {
+            writeRectangle(out, rect.boundsPixels);
+            out.writeInt(strings.indexOf(rect.surfaceType));
+        }
+
+        out.writeInt(level.coinPositionsPixels.size);
+        for (Vector2 coin : level.coinPositionsPixels) {
+            out.writeFloat(coin.x);
+            out.writeFloat(coin.y);
+        }
+
+        out.writeBoolean(level.keyBoundsPixels != null);
+        writeRectangle(out, level.keyBoundsPixels != null ? level.keyBoundsPixels : new Rectangle());
+
+        out.writeInt(level.enemies.size);
+        for (LevelData.EnemySpawn enemy : level.enemies) {
+            out.writeInt(strings.indexOf(enemy.type));
+            out.writeFloat(enemy.xPixels);
+            out.writeFloat(enemy.yPixels);
+            out.writeFloat(enemy.patrolDistancePixels);
+            out.writeFloat(enemy.detectionRadiusPixels);
+            out.writeFloat(enemy.shootCooldownSeconds);
+            writeProperties(out, strings, enemy.properties);
+        }
+
+        out.writeInt(level.doors.size);
+        for (LevelData.DoorSpawn door : level.doors) {
+            writeRectangle(out, door.boundsPixels);
+            out.writeInt(strings.indexOf(door.nextLevelAsset));
+            out.writeBoolean(door.initiallyLocked);
+        }
+        out.flush();
+    }
+
+    /** Whether the buffer holds a level of this version compiled from source; leaves the buffer's position alone. */
+    public static boolean isCompiledFrom(ByteBuffer in, byte[] source) {
+        int at = in.position();
+        return in.remaining() >= 18 && in.getInt(at) == MAGIC && in.getShort(at + 4) == VERSION
+            && in.getLong(at + 6) == source.length && in.getInt(at + 14) == sourceCrc(source);
+    }
+
+    private static int sourceCrc(byte[] source) {
+        CRC32 crc = new CRC32();
+        crc.update(source, 0, source.length);
+        return (int) crc.getValue();
+    }
+
+    public static LevelData read(ByteBuffer in) {
+        if (in.getInt() != MAGIC) throw new GdxRuntimeException("Not a compiled level file");
+        short version = in.getShort();
+        if (version != VERSION) throw new GdxRuntimeException("Unsupported level file version " + version + ", recompile the levels");
+        in.getLong(); // source length and crc, checked by isCompiledFrom
+        in.getInt();
+
+        LevelData level = new LevelData();
+        level.width = in.getInt();
+        level.height = in.getInt();
+        level.tileWidth = in.getInt();
+        level.tileHeight = in.getInt();
+
+        String[] strings = new String[in.getInt()];
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            int length = in.getShort() & 0xFFFF;
+            if (scratch.length < length) scratch = new byte[length];
+            in.get(scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        readProperties(in, strings, level.properties);
+
+        int tilesetCount = in.getInt();
+        for (int i = 0; i < tilesetCount; i++) {
+            LevelData.TilesetInfo tileset = new LevelData.TilesetInfo();
+            tileset.firstGid = in.getInt();
+            tileset.name = strings[in.getInt()];
+            tileset.imagePath = strings[in.getInt()];
+            tileset.tileWidth = in.getInt();
+            tileset.tileHeight = in.getInt();
+            tileset.spacing = in.getInt();
+            tileset.margin = in.getInt();
+            tileset.columns = in.getInt();
+            tileset.tileCount = in.getInt();
+            level.tilesets.add(tileset);
+        }
+
+        int layerCount = in.getInt();
+        for (int i = 0; i < layerCount; i++) {
+            LevelData.TileLayerData layer = new LevelData.TileLayerData();
+            layer.name = strings[in.getInt()];
+            layer.visible = in.get() != 0;
+            layer.opacity = in.getFloat();
+            layer.gids = new int[in.getInt()];
+            // bulk copy, no per-cell parsing
+            in.asIntBuffer().get(layer.gids);
+            in.position(in.position() + layer.gids.length * 4);
+            level.tileLayers.add(layer);
+        }
+
+        level.hasPlayerSpawn = in.get() != 0;
+        level.playerSpawnPixels.set(in.getFloat(), in.getFloat());
+
+        int collisionCount = in.getInt();
+        level.collisionRects.ensureCapacity(collisionCount);
+        for (int i = 0; i < collisionCount; i++) {
+            Rectangle bounds = readRectangle(in);
+            level.collisionRects.add(new LevelData.CollisionRect(bounds, strings[in.getInt()]));
+        }
+
+        int coinCount = in.getInt();
+        level.coinPositionsPixels.ensureCapacity(coinCount);
+        for (int i = 0; i < coinCount; i++) {
+            level.coinPositionsPixels.add(new Vector2(in.getFloat(), in.getFloat()));
+        }
+
+        boolean hasKey = in.get() != 0;
+        Rectangle keyBounds = readRectangle(in);
+        level.keyBoundsPixels = hasKey ? keyBounds : null;
+
+        int enemyCount = in.getInt();
+        for (int i = 0; i < enemyCount; i++) {
+            LevelData.EnemySpawn enemy = new LevelData.EnemySpawn();
+            enemy.type = strings[in.getInt()];
+            enemy.xPixels = in.getFloat();
+            enemy.yPixels = in.getFloat();
+            enemy.patrolDistancePixels = in.getFloat();
+            enemy.detectionRadiusPixels = in.getFloat();
+            enemy.shootCooldownSeconds = in.getFloat();
+            readProperties(in, strings, enemy.properties);
+            level.enemies.add(enemy);
+        }
+
+        int doorCount = in.getInt();
+        for (int i = 0; i < doorCount; i++) {
+            Rectangle bounds = readRectangle(in);
+            String nextLevel = strings[in.getInt()];
+            boolean locked = in.get() != 0;
+            level.doors.add(new LevelData.DoorSpawn(bounds, nextLevel, locked));
+        }
+        return level;
+    }
+
+    private static void writeRectangle(DataOutputStream out, Rectangle rect) throws IOException {
+        out.writeFloat(rect.x);
+        out.writeFloat(rect.y);
+        out.writeFloat(rect.width);
+        out.writeFloat(rect.height);
+    }
+
+    private static Rectangle readRectangle(ByteBuffer in) {
+        return new Rectangle(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat());
+    }
+
+    private static void writeProperties(DataOutputStream out, StringTable strings, ObjectMap<String, String> properties) throws IOException {
+        out.writeInt(properties.size);
+        for (ObjectMap.Entry<String, String> entry : properties) {
+            out.writeInt(strings.indexOf(entry.key));
+            out.writeInt(strings.indexOf(entry.value));
+        }
+    }
+
+    private static void readProperties(ByteBuffer in, String[] strings, ObjectMap<String, String> out) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            out.put(strings[in.getInt()], strings[in.getInt()]);
+        }
+    }
+
+    /** Deduplicated strings of a level; surface types, enemy types and level names repeat a lot. */
+    private static class StringTable {
+        final Array<String> values = new Array<>();
+        final ObjectIntMap<String> indices = new ObjectIntMap<>();
+
+        StringTable(LevelData level) {
+            addAll(level.properties);
+            for (LevelData.TilesetInfo tileset : level.tilesets) {
+                add(tileset.name);
+                add(tileset.imagePath);
+            }
+            for (LevelData.TileLayerData layer : level.tileLayers) add(layer.name);
+            for (LevelData.CollisionRect rect : level.collisionRects) add(rect.surfaceType);
+            for (LevelData.EnemySpawn enemy : level.enemies) {
+                add(enemy.type);
+                addAll(enemy.properties);
+            }
+            for (LevelData.DoorSpawn door : level.doors) add(door.nextLevelAsset);
+        }
+
+        private void addAll(ObjectMap<String, String> properties) {
+            for (ObjectMap.Entry<String, String> entry : properties) {
+                add(entry.key);
+                add(entry.value);
+            }
+        }
+
+        private void add(String value) {
+            if (!indices.containsKey(value)) {
+                indices.put(value, values.size);
+                values.add(value);
+            }
+        }
+
+        int indexOf(String value) {
+            return indices.get(value, -1);
+        }
+    }
+}
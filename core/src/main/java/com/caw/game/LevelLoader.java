@@ -0,0 +1,152 @@
+package com.caw.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Loads levels for GameScreen. A compiled level (assets/levels/&lt;name&gt;.lvl, see {@link LevelCompiler}) is
+ * memory-mapped and decoded in one pass; the .tmx is only parsed when there is no compiled file or it was
+ * compiled from a different version of the .tmx.
+ */
+public final class LevelLoader {
+    public static final String COMPILED_DIR = "levels/";
+
+    private static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
+    private static final int FLAG_FLIP_VERTICALLY = 0x40000000;
+    private static final int FLAG_FLIP_DIAGONALLY = 0x20000000;
+    private static final int MASK_CLEAR = 0xE0000000;
+
+    private LevelLoader() { }
+
+    /** Compiled counterpart of a .tmx, e.g. assets/lvl1_final.tmx gives assets/levels/lvl1_final.lvl. */
+    public static FileHandle compiledFileFor(FileHandle tmxFile) {
+        return tmxFile.parent().child(COMPILED_DIR + tmxFile.nameWithoutExtension() + LevelFile.EXTENSION);
+    }
+
+    public static LevelData load(String tmxPath) {
+        long start = System.nanoTime();
+        FileHandle tmxFile = Gdx.files.internal(tmxPath);
+        FileHandle compiled = compiledFileFor(tmxFile);
+
+        LevelData level;
+        String source;
+        ByteBuffer buffer = compiled.exists() ? map(compiled) : null;
+        if (buffer != null && LevelFile.isCompiledFrom(buffer, tmxFile.readBytes())) {
+            level = LevelFile.read(buffer);
+            source = "compiled " + compiled.path();
+        } else {
+            level = TmxLevelParser.parse(tmxFile);
+            source = buffer == null ? "tmx (no compiled level found)" : "tmx (compiled level is out of date)";
+        }
+        Log.info(Log.Category.MAP, "Loaded {} from {} in {} us", tmxPath, source, (System.nanoTime() - start) / 1000);
+        return level;
+    }
+
+    /** Memory-maps the file when it lives on disk, otherwise (classpath, jar) reads it into a heap buffer. */
+    static ByteBuffer map(FileHandle file) {
+        try {
+            return file.map();
+        } catch (Exception e) {
+            return ByteBuffer.wrap(file.readBytes());
+        }
+    }
+
+    /**
+     * Builds the renderable TiledMap from the level's tile layers. Tileset images are looked up through
+     * {@link Assets#region}, so tiles draw from the shared atlas page when the tileset was packed.
+     * The map does not own any texture.
+     */
+    public static TiledMap buildTiledMap(LevelData level, Assets assets) {
+        TiledMap map = new TiledMap();
+        MapProperties properties = map.getProperties();
+        properties.put("width", level.width);
+        properties.put("height", level.height);
+        properties.put("tilewidth", level.tileWidth);
+        properties.put("tileheight", level.tileHeight);
+
+        TiledMapTileSets tileSets = map.getTileSets();
+        for (LevelData.TilesetInfo info : level.tilesets) {
+            TextureRegion image = assets.region(Assets.ROOT + info.imagePath);
+            if (image == null) {
+                Log.error(Log.Category.MAP, "Tileset image '{}' could not be loaded", info.imagePath);
+                continue;
+            }
+            tileSets.addTileSet(createTileSet(info, image));
+        }
+
+        for (LevelData.TileLayerData layerData : level.tileLayers) {
+            TiledMapTileLayer layer = new TiledMapTileLayer(level.width, level.height, level.tileWidth, level.tileHeight);
+            layer.setName(layerData.name);
+            layer.setVisible(layerData.visible);
+            layer.setOpacity(layerData.opacity);
+
+            int[] gids = layerData.gids;
+            for (int y = 0; y < level.height; y++) {
+                for (int x = 0; x < level.width; x++) {
+                    int gid = gids[y * level.width + x];
+                    if (gid == 0) continue;
+                    TiledMapTile tile = tileSets.getTile(gid & ~MASK_CLEAR);
+                    if (tile == null) continue;
+
+                    TiledMapTileLayer.Cell cell = createCell(
+                        (gid & FLAG_FLIP_HORIZONTALLY) != 0,
+                        (gid & FLAG_FLIP_VERTICALLY) != 0,
+                        (gid & FLAG_FLIP_DIAGONALLY) != 0);
+                    cell.setTile(tile);
+                    layer.setCell(x, level.height - 1 - y, cell); // tiled rows go top-down
+                }
+            }
+            map.getLayers().add(layer);
+        }
+        return map;
+    }
+
+    private static TiledMapTileSet createTileSet(LevelData.TilesetInfo info, TextureRegion image) {
+        TiledMapTileSet tileSet = new TiledMapTileSet();
+        tileSet.setName(info.name);
+
+        int stopWidth = image.getRegionWidth() - info.tileWidth;
+        int stopHeight = image.getRegionHeight() - info.tileHeight;
+        int id = info.firstGid;
+        for (int y = info.margin; y <= stopHeight; y += info.tileHeight + info.spacing) {
+            for (int x = info.margin; x <= stopWidth; x += info.tileWidth + info.spacing) {
+                StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion(image, x, y, info.tileWidth, info.tileHeight));
+                tile.setId(id);
+                tileSet.putTile(id++, tile);
+            }
+        }
+        return tileSet;
+    }
+
+    // same rotation rules as TmxMapLoader
+    private static TiledMapTileLayer.Cell createCell(boolean flipHorizontally, boolean flipVertically, boolean flipDiagonally) {
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        if (flipDiagonally) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,16 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+
+/** Seconds an entity has left, counted down by {@link LifetimeSystem}; what expiry means is up to its owner. */
+public class LifetimeComponent implements Component {
+    public float remaining;
+
+    public LifetimeComponent(float remaining) {
+        this.remaining = remaining;
+    }
+
+    public boolean isExpired() {
+        return remaining <= 0f;
+    }
+}
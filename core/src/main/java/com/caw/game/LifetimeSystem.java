@@ -0,0 +1,15 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+
+/** Counts down every {@link LifetimeComponent}; the owning system decides what to do once it ran out. */
+public class LifetimeSystem extends TimedIteratingSystem {
+    public LifetimeSystem() {
+        super(Components.MORTAL, SystemOrder.LIFETIME);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Components.LIFETIME.get(entity).remaining -= deltaTime;
+    }
+}
@@ -0,0 +1,133 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * Line-of-sight queries against a solid-tile grid built once from the level's "ground" collision
+ * rectangles, the same fixtures that used to stop the shooters' Box2D raycast. A query walks the tiles
+ * between the two points with a DDA traversal; the start and end tiles themselves never block.
+ * <p>
+ * Shooters register for an id, and their result is cached for the current frame per player tile, so
+ * repeated checks in one step are free. Nothing here allocates after construction.
+ */
+public class LineOfSight {
+    private final int width;
+    private final int height;
+    private final float cellSize;
+    private final boolean[] solid;
+
+    private int frame = 1;
+    private int nextId = 0;
+    private int[] cacheFrame = new int[16];
+    private int[] cacheTargetTile = new int[16];
+    private boolean[] cacheVisible = new boolean[16];
+
+    public LineOfSight(LevelData level) {
+        this.width = Math.max(1, level.width);
+        this.height = Math.max(1, level.height);
+        this.cellSize = Math.max(1, level.tileWidth);
+        this.solid = new boolean[width * height];
+
+        for (LevelData.CollisionRect collisionRect : level.collisionRects) {
+            if (FixtureTag.forSurfaceType(collisionRect.surfaceType) != FixtureTag.GROUND) continue;
+            Rectangle rect = collisionRect.boundsPixels;
+            int x0 = clamp((int) Math.floor(rect.x / cellSize), width);
+            int y0 = clamp((int) Math.floor(rect.y / cellSize), height);
+            // zero-size rectangles still mark the cell they sit in
+            int x1 = clamp((int) Math.floor((rect.x + Math.max(0f, rect.width - 0.001f)) / cellSize), width);
+            int y1 = clamp((int) Math.floor((rect.y + Math.max(0f, rect.height - 0.001f)) / cellSize), height);
+            for (int y = y0; y <= y1; y++) {
+                for (int x = x0; x <= x1; x++) solid[y * width + x] = true;
+            }
+        }
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    /** Returns an id for {@link #canSee}'s per-frame cache. */
+    public int register() {
+        int id = nextId++;
+        if (id >= cacheFrame.length) {
+            int capacity = cacheFrame.length * 2;
+            cacheFrame = Arrays.copyOf(cacheFrame, capacity);
+            cacheTargetTile = Arrays.copyOf(cacheTargetTile, capacity);
+            cacheVisible = Arrays.copyOf(cacheVisible, capacity);
+        }
+        return id;
+    }
+
+    /** Starts a new frame; cached results from the previous one are no longer used. */
+    public void beginFrame() {
+        frame++;
+    }
+
+    public boolean isSolid(int cellX, int cellY) {
+        return cellX >= 0 && cellY >= 0 && cellX < width && cellY < height && solid[cellY * width + cellX];
+    }
+
+    /** Cached variant of {@link #isClear} for a registered viewer. Coordinates are in pixels. */
+    public boolean canSee(int id, float fromX, float fromY, float toX, float toY) {
+        int targetTile = (int) Math.floor(toY / cellSize) * width + (int) Math.floor(toX / cellSize);
+        if (cacheFrame[id] == frame && cacheTargetTile[id] == targetTile) {
+            return cacheVisible[id];
+        }
+        boolean visible = isClear(fromX, fromY, toX, toY);
+        cacheFrame[id] = frame;
+        cacheTargetTile[id] = targetTile;
+        cacheVisible[id] = visible;
+        return visible;
+    }
+
+    /**
+     * Checks many viewers against one target. origins holds x, y pixel pairs; out[i] receives the result for
+     * the i-th pair. Returns how many of them can see the target.
+     */
+    public int canSeeBatch(float[] origins, int count, float toX, float toY, boolean[] out) {
+        int visible = 0;
+        for (int i = 0; i < count; i++) {
+            boolean clear = isClear(origins[i * 2], origins[i * 2 + 1], toX, toY);
+            out[i] = clear;
+            if (clear) visible++;
+        }
+        return visible;
+    }
+
+    /** Whether no solid tile lies strictly between the tiles of the two pixel positions. */
+    public boolean isClear(float fromX, float fromY, float toX, float toY) {
+        float x0 = fromX / cellSize;
+        float y0 = fromY / cellSize;
+        float x1 = toX / cellSize;
+        float y1 = toY / cellSize;
+        int cellX = (int) Math.floor(x0);
+        int cellY = (int) Math.floor(y0);
+        int endX = (int) Math.floor(x1);
+        int endY = (int) Math.floor(y1);
+
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        float tDeltaX = stepX != 0 ? Math.abs(1f / dx) : Float.MAX_VALUE;
+        float tDeltaY = stepY != 0 ? Math.abs(1f / dy) : Float.MAX_VALUE;
+        float tMaxX = stepX > 0 ? (cellX + 1 - x0) / dx : (stepX < 0 ? (x0 - cellX) / -dx : Float.MAX_VALUE);
+        float tMaxY = stepY > 0 ? (cellY + 1 - y0) / dy : (stepY < 0 ? (y0 - cellY) / -dy : Float.MAX_VALUE);
+
+        int steps = Math.abs(endX - cellX) + Math.abs(endY - cellY);
+        for (int i = 0; i < steps; i++) {
+            if (tMaxX < tMaxY) {
+                cellX += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                cellY += stepY;
+                tMaxY += tDeltaY;
+            }
+            if (cellX == endX && cellY == endY) return true;
+            if (isSolid(cellX, cellY)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package com.caw.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+public class LoadingScreen implements Screen {
+    private final GameStart game;
+    private final OrthographicCamera camera;
+    private final Viewport viewport;
+    private ShapeRenderer shapeRenderer;
+    private long startTime;
+
+    public LoadingScreen(final GameStart game) {
+        this.game = game;
+        camera = new OrthographicCamera();
+        viewport = new ExtendViewport(GameScreen.WORLD_WIDTH_PIXELS, GameScreen.WORLD_HEIGHT_PIXELS, camera);
+    }
+
+    @Override
+    public void show() {
+        shapeRenderer = new ShapeRenderer();
+        startTime = System.currentTimeMillis();
+        game.assets.queueAll();
+    }
+
+    @Override
+    public void render(float delta) {
+        boolean finished = game.assets.update();
+
+        Gdx.gl.glClearColor(0.1f, 0.1f, 0.2f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float barWidth = viewport.getWorldWidth() * 0.6f;
+        float barHeight = 8f;
+        float barX = (viewport.getWorldWidth() - barWidth) / 2f;
+        float barY = (viewport.getWorldHeight() - barHeight) / 2f;
+
+        camera.update();
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0.3f, 0.3f, 0.3f, 1f);
+        shapeRenderer.rect(barX, barY, barWidth, barHeight);
+        shapeRenderer.setColor(1f, 0f, 0.25f, 1f);
+        shapeRenderer.rect(barX, barY, barWidth * game.assets.getProgress(), barHeight);
+        shapeRenderer.end();
+
+        if (finished) {
+            Gdx.app.log("LoadingScreen", "Assets loaded in " + (System.currentTimeMillis() - startTime) + " ms");
+            game.setScreen(new MainMenuScreen(game));
+            dispose();
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() { }
+
+    @Override
+    public void resume() { }
+
+    @Override
+    public void hide() { }
+
+    @Override
+    public void dispose() {
+        if (shapeRenderer != null) {
+            shapeRenderer.dispose();
+            shapeRenderer = null;
+        }
+    }
+}
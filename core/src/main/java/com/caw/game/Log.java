@@ -0,0 +1,309 @@
+package com.caw.game;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Level-gated logging by {@link Category}, with "{}" placeholders formatted only when the level is enabled,
+ * and a ring of the last messages that {@link #installCrashHandler()} dumps on a crash.
+ * -Dcaw.logLevel=none|error|info|debug, -Dcaw.log=CONTACT:debug,DOOR:none per category.
+ */
+public final class Log {
+    // the same values as Application.LOG_*
+    public static final int NONE = 0;
+    public static final int ERROR = 1;
+    public static final int INFO = 2;
+    public static final int DEBUG = 3;
+
+    public static final int RING_SIZE = 256;
+    private static final int RING_MASK = RING_SIZE - 1;
+    private static final int MESSAGE_CAPACITY = 160;
+    private static final String PLACEHOLDER = "{}";
+
+    public enum Category {
+        /** Contact callbacks: hits, pickups, stomps. */
+        CONTACT,
+        DOOR,
+        PLAYER,
+        ENEMY,
+        /** Level setup, restarts, score. */
+        WORLD,
+        /** Map loading and collision geometry. */
+        MAP,
+        AI,
+        /** Periodic measurements: physics, systems, navigation. */
+        STATS;
+
+        static final Category[] VALUES = values();
+    }
+
+    private static int defaultLevel = INFO;
+    // per category: its own level, or -1 to follow defaultLevel
+    private static final int[] overrides = new int[Category.VALUES.length];
+    // effective level per category, the only thing a disabled call reads
+    private static final int[] levels = new int[Category.VALUES.length];
+
+    private static final long[] times = new long[RING_SIZE];
+    private static final int[] ringLevels = new int[RING_SIZE];
+    private static final Category[] ringCategories = new Category[RING_SIZE];
+    private static final StringBuilder[] ringMessages = new StringBuilder[RING_SIZE];
+    private static long written = 0;
+    private static final long startNanos = System.nanoTime();
+
+    static {
+        for (int i = 0; i < RING_SIZE; i++) ringMessages[i] = new StringBuilder(MESSAGE_CAPACITY);
+        Arrays.fill(overrides, -1);
+        defaultLevel = parseLevel(System.getProperty("caw.logLevel"), INFO);
+        String perCategory = System.getProperty("caw.log");
+        if (perCategory != null) {
+            for (String entry : perCategory.split(",")) {
+                int colon = entry.indexOf(':');
+                if (colon < 0) continue;
+                try {
+                    Category category = Category.valueOf(entry.substring(0, colon).trim().toUpperCase(Locale.ROOT));
+                    overrides[category.ordinal()] = parseLevel(entry.substring(colon + 1), defaultLevel);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Unknown log category in caw.log: " + entry);
+                }
+            }
+        }
+        updateLevels();
+    }
+
+    private Log() {
+    }
+
+    private static int parseLevel(String name, int fallback) {
+        if (name == null) return fallback;
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "none": return NONE;
+            case "error": return ERROR;
+            case "info": return INFO;
+            case "debug": return DEBUG;
+            default: return fallback;
+        }
+    }
+
+    private static void updateLevels() {
+        for (int i = 0; i < levels.length; i++) levels[i] = overrides[i] >= 0 ? overrides[i] : defaultLevel;
+    }
+
+    /** Sets the level of every category without an override of its own. */
+    public static synchronized void setLevel(int level) {
+        defaultLevel = level;
+        updateLevels();
+    }
+
+    /** Sets one category's level, or -1 to make it follow the default again. */
+    public static synchronized void setLevel(Category category, int level) {
+        overrides[category.ordinal()] = level;
+        updateLevels();
+    }
+
+    public static boolean isEnabled(Category category, int level) {
+        return level <= levels[category.ordinal()];
+    }
+
+    // debug
+
+    public static void debug(Category category, String message) {
+        if (DEBUG <= levels[category.ordinal()]) write(DEBUG, category, message, 0, null, null, null, null);
+    }
+
+    public static void debug(Category category, String format, Object a) {
+        if (DEBUG <= levels[category.ordinal()]) write(DEBUG, category, format, 1, a, null, null, null);
+    }
+
+    public static void debug(Category category, String format, Object a, Object b) {
+        if (DEBUG <= levels[category.ordinal()]) write(DEBUG, category, format, 2, a, b, null, null);
+    }
+
+    public static void debug(Category category, String format, Object a, Object b, Object c) {
+        if (DEBUG <= levels[category.ordinal()]) write(DEBUG, category, format, 3, a, b, c, null);
+    }
+
+    public static void debug(Category category, String format, float a) {
+        if (DEBUG <= levels[category.ordinal()]) writeFloats(DEBUG, category, format, a, 0f, 1);
+    }
+
+    public static void debug(Category category, String format, float a, float b) {
+        if (DEBUG <= levels[category.ordinal()]) writeFloats(DEBUG, category, format, a, b, 2);
+    }
+
+    public static void debug(Category category, String format, int a) {
+        if (DEBUG <= levels[category.ordinal()]) writeInt(DEBUG, category, format, a);
+    }
+
+    // info
+
+    public static void info(Category category, String message) {
+        if (INFO <= levels[category.ordinal()]) write(INFO, category, message, 0, null, null, null, null);
+    }
+
+    public static void info(Category category, String format, Object a) {
+        if (INFO <= levels[category.ordinal()]) write(INFO, category, format, 1, a, null, null, null);
+    }
+
+    public static void info(Category category, String format, Object a, Object b) {
+        if (INFO <= levels[category.ordinal()]) write(INFO, category, format, 2, a, b, null, null);
+    }
+
+    public static void info(Category category, String format, Object a, Object b, Object c) {
+        if (INFO <= levels[category.ordinal()]) write(INFO, category, format, 3, a, b, c, null);
+    }
+
+    public static void info(Category category, String format, float a) {
+        if (INFO <= levels[category.ordinal()]) writeFloats(INFO, category, format, a, 0f, 1);
+    }
+
+    public static void info(Category category, String format, float a, float b) {
+        if (INFO <= levels[category.ordinal()]) writeFloats(INFO, category, format, a, b, 2);
+    }
+
+    public static void info(Category category, String format, int a) {
+        if (INFO <= levels[category.ordinal()]) writeInt(INFO, category, format, a);
+    }
+
+    // error
+
+    public static void error(Category category, String message) {
+        if (ERROR <= levels[category.ordinal()]) write(ERROR, category, message, 0, null, null, null, null);
+    }
+
+    public static void error(Category category, String format, Object a) {
+        if (ERROR <= levels[category.ordinal()]) write(ERROR, category, format, 1, a, null, null, null);
+    }
+
+    public static void error(Category category, String format, Object a, Object b) {
+        if (ERROR <= levels[category.ordinal()]) write(ERROR, category, format, 2, a, b, null, null);
+    }
+
+    /** An error with its exception; the exception's stack trace is printed but only its message is kept. */
+    public static void error(Category category, String message, Throwable throwable) {
+        if (ERROR <= levels[category.ordinal()]) write(ERROR, category, message, 0, null, null, null, throwable);
+    }
+
+    // formatting, only reached when the level is enabled
+
+    private static synchronized void write(int level, Category category, String format, int count, Object a, Object b,
+                                           Object c, Throwable throwable) {
+        StringBuilder message = begin(level, category);
+        int at = 0;
+        if (count > 0) {
+            at = appendUpTo(message, format, at);
+            message.append(a);
+        }
+        if (count > 1) {
+            at = appendUpTo(message, format, at);
+            message.append(b);
+        }
+        if (count > 2) {
+            at = appendUpTo(message, format, at);
+            message.append(c);
+        }
+        message.append(format, at, format.length());
+        if (throwable != null) message.append(": ").append(throwable);
+        print(level, category, message, throwable);
+    }
+
+    private static synchronized void writeFloats(int level, Category category, String format, float a, float b,
+                                                 int count) {
+        StringBuilder message = begin(level, category);
+        int at = appendUpTo(message, format, 0);
+        message.append(a);
+        if (count > 1) {
+            at = appendUpTo(message, format, at);
+            message.append(b);
+        }
+        message.append(format, at, format.length());
+        print(level, category, message, null);
+    }
+
+    private static synchronized void writeInt(int level, Category category, String format, int a) {
+        StringBuilder message = begin(level, category);
+        int at = appendUpTo(message, format, 0);
+        message.append(a);
+        message.append(format, at, format.length());
+        print(level, category, message, null);
+    }
+
+    private static StringBuilder begin(int level, Category category) {
+        int slot = (int) (written++ & RING_MASK);
+        times[slot] = System.nanoTime();
+        ringLevels[slot] = level;
+        ringCategories[slot] = category;
+        StringBuilder message = ringMessages[slot];
+        message.setLength(0);
+        return message;
+    }
+
+    /** Copies the format up to the next placeholder, or a separating space if there is none; returns where to go on. */
+    private static int appendUpTo(StringBuilder message, String format, int from) {
+        int placeholder = format.indexOf(PLACEHOLDER, from);
+        if (placeholder < 0) {
+            message.append(format, from, format.length()).append(' ');
+            return format.length();
+        }
+        message.append(format, from, placeholder);
+        return placeholder + PLACEHOLDER.length();
+    }
+
+    private static void print(int level, Category category, StringBuilder message, Throwable throwable) {
+        if (Gdx.app == null) {
+            (level == ERROR ? System.err : System.out).println("[" + category.name() + "] " + message);
+            if (throwable != null) throwable.printStackTrace();
+        } else if (level == ERROR) {
+            if (throwable != null) Gdx.app.error(category.name(), message.toString(), throwable);
+            else Gdx.app.error(category.name(), message.toString());
+        } else {
+            Gdx.app.log(category.name(), message.toString());
+        }
+    }
+
+    // crash dump
+
+    /** Writes the ring, oldest message first, with each message's age relative to the newest. */
+    public static synchronized void dump(PrintStream out) {
+        long count = Math.min(written, RING_SIZE);
+        out.println("--- last " + count + " log messages ---");
+        if (count == 0) return;
+        long newest = times[(int) ((written - 1) & RING_MASK)];
+        for (long i = written - count; i < written; i++) {
+            int slot = (int) (i & RING_MASK);
+            out.println(String.format(Locale.ROOT, "%9.3f s %s %-8s %s", (times[slot] - newest) / 1e9,
+                levelName(ringLevels[slot]), ringCategories[slot].name(), ringMessages[slot]));
+        }
+    }
+
+    private static String levelName(int level) {
+        switch (level) {
+            case ERROR: return "E";
+            case INFO: return "I";
+            case DEBUG: return "D";
+            default: return "?";
+        }
+    }
+
+    /** Dumps the ring to stderr before any thread dies of an uncaught exception, then lets the previous handler run. */
+    public static void installCrashHandler() {
+        final Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+            @Override
+            public void uncaughtException(Thread thread, Throwable throwable) {
+                System.err.println("Uncaught exception in thread \"" + thread.getName() + "\" after "
+                    + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+                dump(System.err);
+                if (previous != null) previous.uncaughtException(thread, throwable);
+                else throwable.printStackTrace();
+            }
+        });
+    }
+
+    /** Messages logged so far, including the ones the ring no longer holds. */
+    public static synchronized long getWrittenCount() {
+        return written;
+    }
+}
@@ -22,7 +22,7 @@ public class MainMenuScreen implements Screen {
         stage = new Stage(new ScreenViewport());
 
         try {
-            skin = new Skin(Gdx.files.internal("assets/ui/uiskin.json"));
+            skin = game.assets.get(Assets.UI_SKIN, Skin.class);
 
             if (skin.has("default", TextButton.TextButtonStyle.class) && game.defaultFont != null) {
                 TextButton.TextButtonStyle buttonStyle = skin.get("default", TextButton.TextButtonStyle.class);
@@ -142,9 +142,7 @@ public class MainMenuScreen implements Screen {
         if (stage != null) {
             stage.dispose();
         }
-        if (skin != null) {
-            skin.dispose();
-        }
+        // skin is borrowed from game.assets
         Gdx.app.log("MainMenuScreen", "Disposed");
     }
 }
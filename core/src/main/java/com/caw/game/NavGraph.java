@@ -0,0 +1,322 @@
+package com.caw.game;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Walk, drop and jump links between the standable tiles of a level, built from its "Collision" rectangles,
+ * for gdx-ai's IndexedAStarPathFinder. In level pixels, y-up.
+ */
+public class NavGraph implements IndexedGraph<NavGraph.Node> {
+    public static final float CLEARANCE_PIXELS = 24f;
+    public static final float JUMP_UP_PIXELS = 48f;
+    public static final float JUMP_ACROSS_PIXELS = 64f;
+    // jumping is slower and riskier than walking the same distance
+    public static final float JUMP_COST_SCALE = 1.5f;
+
+    public static final int WALK = 0;
+    public static final int DROP = 1;
+    public static final int JUMP = 2;
+
+    private static final float EPSILON = 0.01f;
+    private static final int NONE = -1;
+
+    public static final Heuristic<Node> HEURISTIC = new Heuristic<Node>() {
+        @Override
+        public float estimate(Node node, Node endNode) {
+            float dx = endNode.x - node.x, dy = endNode.y - node.y;
+            return (float) Math.sqrt(dx * dx + dy * dy);
+        }
+    };
+
+    public static class Node {
+        public final int index;
+        public final int column, row;
+        // floor id: nodes with the same one are connected by walking alone
+        public int floor;
+        public final float x, y;
+        final Array<Connection<Node>> links = new Array<>(false, 4);
+        boolean blocked = false;
+
+        Node(int index, int column, int row, float x, float y) {
+            this.index = index;
+            this.column = column;
+            this.row = row;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public static class Link implements Connection<Node> {
+        public final Node from, to;
+        public final int type;
+        private final float cost;
+
+        Link(Node from, Node to, int type, float cost) {
+            this.from = from;
+            this.to = to;
+            this.type = type;
+            this.cost = cost;
+        }
+
+        @Override
+        public float getCost() {
+            return cost;
+        }
+
+        @Override
+        public Node getFromNode() {
+            return from;
+        }
+
+        @Override
+        public Node getToNode() {
+            return to;
+        }
+    }
+
+    private static final Array<Connection<Node>> NO_LINKS = new Array<>(0);
+
+    private final int columns, rows;
+    private final float tileWidth, tileHeight;
+    private final boolean[] solid;
+    private final int[] nodeAtTile;
+    private final Array<Node> nodes = new Array<>();
+    private final int[] linkCounts = new int[3];
+    private int floorCount = 0;
+    private int version = 0;
+
+    public NavGraph(LevelData level) {
+        columns = Math.max(1, level.width);
+        rows = Math.max(1, level.height);
+        tileWidth = level.tileWidth > 0 ? level.tileWidth : 1f;
+        tileHeight = level.tileHeight > 0 ? level.tileHeight : 1f;
+        solid = new boolean[columns * rows];
+        nodeAtTile = new int[columns * rows];
+        Arrays.fill(nodeAtTile, NONE);
+
+        for (LevelData.CollisionRect rect : level.collisionRects) rasterise(rect.boundsPixels);
+        createNodes();
+        linkWalks();
+        assignFloors();
+        linkDrops();
+        linkJumps();
+    }
+
+    /** Marks the tiles a rectangle covers; a zero-width or zero-height one covers the tiles left of or below it. */
+    private void rasterise(Rectangle bounds) {
+        int c0 = (int) Math.floor((bounds.x + EPSILON) / tileWidth);
+        int c1 = (int) Math.floor((bounds.x + bounds.width - EPSILON) / tileWidth);
+        if (c1 < c0) c0 = c1;
+        int r0 = (int) Math.floor((bounds.y + EPSILON) / tileHeight);
+        int r1 = (int) Math.floor((bounds.y + bounds.height - EPSILON) / tileHeight);
+        if (r1 < r0) r0 = r1;
+        c0 = Math.max(0, c0);
+        r0 = Math.max(0, r0);
+        c1 = Math.min(columns - 1, c1);
+        r1 = Math.min(rows - 1, r1);
+        for (int row = r0; row <= r1; row++) {
+            for (int column = c0; column <= c1; column++) solid[row * columns + column] = true;
+        }
+    }
+
+    private boolean isSolid(int column, int row) {
+        if (column < 0 || column >= columns || row < 0) return true;
+        return row < rows && solid[row * columns + column];
+    }
+
+    /** Free space from row up to row + rowCount - 1; above the top of the map counts as free. */
+    private boolean isFree(int column, int fromRow, int rowCount) {
+        if (column < 0 || column >= columns) return false;
+        for (int row = fromRow; row < fromRow + rowCount; row++) {
+            if (row >= 0 && row < rows && solid[row * columns + column]) return false;
+        }
+        return true;
+    }
+
+    private void createNodes() {
+        int clearanceRows = (int) Math.ceil(CLEARANCE_PIXELS / tileHeight);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (!solid[row * columns + column] || !isFree(column, row + 1, clearanceRows)) continue;
+                Node node = new Node(nodes.size, column, row, (column + 0.5f) * tileWidth, (row + 1) * tileHeight);
+                nodeAtTile[row * columns + column] = node.index;
+                nodes.add(node);
+            }
+        }
+    }
+
+    private Node nodeAt(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) return null;
+        int index = nodeAtTile[row * columns + column];
+        return index == NONE ? null : nodes.get(index);
+    }
+
+    private void linkWalks() {
+        for (Node node : nodes) {
+            for (int direction = -1; direction <= 1; direction += 2) {
+                for (int step = -1; step <= 1; step++) {
+                    Node next = nodeAt(node.column + direction, node.row + step);
+                    // both ends have the clearance above them, which is head room enough for a one-tile step
+                    if (next != null) addLink(node, next, WALK, distance(node, next));
+                }
+            }
+        }
+    }
+
+    /** Floors are the connected parts of the walk links. */
+    private void assignFloors() {
+        for (Node node : nodes) node.floor = NONE;
+        IntArray open = new IntArray();
+        for (Node start : nodes) {
+            if (start.floor != NONE) continue;
+            start.floor = floorCount;
+            open.add(start.index);
+            while (open.size > 0) {
+                Node node = nodes.get(open.pop());
+                for (Connection<Node> link : node.links) {
+                    Node next = link.getToNode();
+                    if (next.floor != NONE) continue;
+                    next.floor = floorCount;
+                    open.add(next.index);
+                }
+            }
+            floorCount++;
+        }
+    }
+
+    private void linkDrops() {
+        for (Node node : nodes) {
+            for (int direction = -1; direction <= 1; direction += 2) {
+                int column = node.column + direction;
+                // the tile past the edge must be open at standing height, and not a step
+                if (isSolid(column, node.row) || !isFree(column, node.row + 1, 1)) continue;
+                if (nodeAt(column, node.row - 1) != null) continue;
+                for (int row = node.row - 1; row >= 0; row--) {
+                    if (!isSolid(column, row)) continue;
+                    Node landing = nodeAt(column, row);
+                    if (landing != null) addLink(node, landing, DROP, Math.abs(landing.x - node.x) + Math.abs(landing.y - node.y));
+                    break;
+                }
+            }
+        }
+    }
+
+    private void linkJumps() {
+        int upRows = (int) (JUMP_UP_PIXELS / tileHeight);
+        int acrossColumns = (int) (JUMP_ACROSS_PIXELS / tileWidth);
+        // best (shortest) jump per ordered pair of floors
+        IntIntMap best = new IntIntMap();
+        Array<Node> bestFrom = new Array<>();
+        Array<Node> bestTo = new Array<>();
+        for (Node node : nodes) {
+            for (int row = node.row - upRows; row <= node.row + upRows; row++) {
+                for (int column = node.column - acrossColumns; column <= node.column + acrossColumns; column++) {
+                    Node target = nodeAt(column, row);
+                    if (target == null || target.floor == node.floor || !jumpIsClear(node, target)) continue;
+                    int pair = node.floor * floorCount + target.floor;
+                    int slot = best.get(pair, NONE);
+                    if (slot == NONE) {
+                        best.put(pair, bestFrom.size);
+                        bestFrom.add(node);
+                        bestTo.add(target);
+                    } else if (distance(node, target) < distance(bestFrom.get(slot), bestTo.get(slot))) {
+                        bestFrom.set(slot, node);
+                        bestTo.set(slot, target);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < bestFrom.size; i++) {
+            addLink(bestFrom.get(i), bestTo.get(i), JUMP, distance(bestFrom.get(i), bestTo.get(i)) * JUMP_COST_SCALE);
+        }
+    }
+
+    private boolean jumpIsClear(Node from, Node to) {
+        int apex = Math.max(from.row, to.row) + 1;
+        for (int row = from.row + 1; row <= apex; row++) if (isSolid(from.column, row)) return false;
+        int step = to.column > from.column ? 1 : -1;
+        for (int column = from.column; column != to.column; column += step) if (isSolid(column, apex)) return false;
+        for (int row = apex; row > to.row; row--) if (isSolid(to.column, row)) return false;
+        return true;
+    }
+
+    private void addLink(Node from, Node to, int type, float cost) {
+        from.links.add(new Link(from, to, type, cost));
+        linkCounts[type]++;
+    }
+
+    private static float distance(Node a, Node b) {
+        return HEURISTIC.estimate(a, b);
+    }
+
+    /** The node an entity at (x, y) pixels stands on: the first one at or below it, within a few tiles; else null. */
+    public Node findNode(float xPixels, float yPixels) {
+        int column = (int) Math.floor(xPixels / tileWidth);
+        int row = (int) Math.floor(yPixels / tileHeight);
+        if (column < 0 || column >= columns) return null;
+        int lowest = row - (int) Math.ceil(CLEARANCE_PIXELS / tileHeight) - 1;
+        for (int r = Math.min(row, rows - 1); r >= Math.max(0, lowest); r--) {
+            Node node = nodeAt(column, r);
+            if (node != null) return node;
+        }
+        return null;
+    }
+
+    /** Blocks or frees every node whose standing space overlaps the area (pixels); bumps the version. */
+    public void blockArea(Rectangle area, boolean blocked) {
+        for (Node node : nodes) {
+            float left = node.column * tileWidth;
+            if (left < area.x + area.width && left + tileWidth > area.x
+                && node.y < area.y + area.height && node.y + CLEARANCE_PIXELS > area.y) {
+                node.blocked = blocked;
+            }
+        }
+        version++;
+    }
+
+    /** Frees every node; bumps the version. */
+    public void clearBlocked() {
+        for (Node node : nodes) node.blocked = false;
+        version++;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getIndex(Node node) {
+        return node.index;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.size;
+    }
+
+    @Override
+    public Array<Connection<Node>> getConnections(Node fromNode) {
+        return fromNode.blocked ? NO_LINKS : fromNode.links;
+    }
+
+    public Node getNode(int index) {
+        return nodes.get(index);
+    }
+
+    public int getFloorCount() {
+        return floorCount;
+    }
+
+    /** Links of one type: {@link #WALK}, {@link #DROP} or {@link #JUMP}. */
+    public int getLinkCount(int type) {
+        return linkCounts[type];
+    }
+}
@@ -0,0 +1,124 @@
+package com.caw.game;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * LRU cache of paths keyed by (start node, goal node); entries from an older {@link NavGraph#getVersion()}
+ * count as misses. A cached null means unreachable.
+ */
+public class PathCache {
+    private static class Entry {
+        long key;
+        DefaultGraphPath<NavGraph.Node> path;
+        int version;
+        Entry newer, older;
+    }
+
+    private final int capacity;
+    private final LongMap<Entry> entries;
+    private Entry newest, oldest;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long stale = 0;
+
+    public PathCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new LongMap<>(this.capacity * 2);
+    }
+
+    public static long key(NavGraph.Node start, NavGraph.Node goal) {
+        return ((long) start.index << 32) | (goal.index & 0xffffffffL);
+    }
+
+    /** Whether the pair has an entry of this version; the entry becomes the most recent. */
+    public boolean contains(long key, int version) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return false;
+        }
+        if (entry.version != version) {
+            stale++;
+            return false;
+        }
+        hits++;
+        touch(entry);
+        return true;
+    }
+
+    /** The path of the entry {@link #contains} just found; null when the goal is unreachable. */
+    public DefaultGraphPath<NavGraph.Node> get(long key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.path : null;
+    }
+
+    public void put(long key, DefaultGraphPath<NavGraph.Node> path, int version) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size >= capacity) {
+                entry = oldest;
+                unlink(entry);
+                entries.remove(entry.key);
+            } else {
+                entry = new Entry();
+            }
+            entry.key = key;
+            entries.put(key, entry);
+        } else {
+            unlink(entry);
+        }
+        entry.path = path;
+        entry.version = version;
+        linkAsNewest(entry);
+    }
+
+    public void clear() {
+        entries.clear();
+        newest = oldest = null;
+    }
+
+    private void touch(Entry entry) {
+        if (entry == newest) return;
+        unlink(entry);
+        linkAsNewest(entry);
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.newer != null) entry.newer.older = entry.older;
+        else newest = entry.older;
+        if (entry.older != null) entry.older.newer = entry.newer;
+        else oldest = entry.newer;
+        entry.newer = entry.older = null;
+    }
+
+    private void linkAsNewest(Entry entry) {
+        entry.older = newest;
+        if (newest != null) newest.newer = entry;
+        newest = entry;
+        if (oldest == null) oldest = entry;
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    /** Lookups with no entry at all. */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Lookups that found an entry from an older graph version. */
+    public long getStale() {
+        return stale;
+    }
+
+    public void resetStats() {
+        hits = misses = stale = 0;
+    }
+}
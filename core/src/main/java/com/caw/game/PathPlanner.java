@@ -0,0 +1,129 @@
+package com.caw.game;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Answers path requests over a {@link NavGraph} through a {@link PathCache}, running at most
+ * {@link #SEARCH_BUDGET} A* searches per {@link #update}. Returned paths are shared, do not modify them.
+ */
+public class PathPlanner {
+    // -Dcaw.pathBudget=N caps the A* searches per step, 0 for no cap
+    public static final int SEARCH_BUDGET = Integer.getInteger("caw.pathBudget", 4);
+    public static final int CACHE_CAPACITY = 512;
+
+    public static class Request {
+        public enum Status { IDLE, PENDING, FOUND, UNREACHABLE }
+
+        float startX, startY, goalX, goalY;
+        Status status = Status.IDLE;
+        GraphPath<NavGraph.Node> path;
+
+        /** Sets the start and goal, in pixels. */
+        public Request set(float startX, float startY, float goalX, float goalY) {
+            this.startX = startX;
+            this.startY = startY;
+            this.goalX = goalX;
+            this.goalY = goalY;
+            return this;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /** The path from the start's node to the goal's, when FOUND. */
+        public GraphPath<NavGraph.Node> getPath() {
+            return path;
+        }
+    }
+
+    private final NavGraph graph;
+    private final IndexedAStarPathFinder<NavGraph.Node> pathFinder;
+    private final PathCache cache = new PathCache(CACHE_CAPACITY);
+    private final Array<Request> pending = new Array<>(false, 16);
+    private long searches = 0;
+
+    public PathPlanner(NavGraph graph) {
+        this.graph = graph;
+        this.pathFinder = new IndexedAStarPathFinder<>(graph);
+    }
+
+    /** Queues a request; a request already waiting keeps its place and just takes the new start and goal. */
+    public void submit(Request request) {
+        if (request.status == Request.Status.PENDING) return;
+        request.status = Request.Status.PENDING;
+        request.path = null;
+        pending.add(request);
+    }
+
+    /** Answers the queued requests the cache can, and searches for the rest while the budget lasts. */
+    public void update() {
+        int budget = SEARCH_BUDGET > 0 ? SEARCH_BUDGET : Integer.MAX_VALUE;
+        int kept = 0;
+        for (int i = 0; i < pending.size; i++) {
+            Request request = pending.get(i);
+            NavGraph.Node start = graph.findNode(request.startX, request.startY);
+            NavGraph.Node goal = graph.findNode(request.goalX, request.goalY);
+            if (start == null || goal == null) {
+                finish(request, null);
+                continue;
+            }
+            long key = PathCache.key(start, goal);
+            if (cache.contains(key, graph.getVersion())) {
+                finish(request, cache.get(key));
+            } else if (budget > 0) {
+                budget--;
+                finish(request, search(start, goal, key));
+            } else {
+                pending.set(kept++, request); // in order, ahead of anything submitted later
+            }
+        }
+        pending.truncate(kept);
+    }
+
+    /** The path between two nodes right now, through the cache, ignoring the budget; null when unreachable. */
+    public GraphPath<NavGraph.Node> findPath(NavGraph.Node start, NavGraph.Node goal) {
+        long key = PathCache.key(start, goal);
+        if (cache.contains(key, graph.getVersion())) return cache.get(key);
+        return search(start, goal, key);
+    }
+
+    private DefaultGraphPath<NavGraph.Node> search(NavGraph.Node start, NavGraph.Node goal, long key) {
+        searches++;
+        DefaultGraphPath<NavGraph.Node> path = new DefaultGraphPath<>();
+        if (!pathFinder.searchNodePath(start, goal, NavGraph.HEURISTIC, path)) path = null;
+        cache.put(key, path, graph.getVersion());
+        return path;
+    }
+
+    private static void finish(Request request, GraphPath<NavGraph.Node> path) {
+        request.path = path;
+        request.status = path != null ? Request.Status.FOUND : Request.Status.UNREACHABLE;
+    }
+
+    /** Drops every queued request, e.g. when the level's entities are recreated. */
+    public void clearPending() {
+        for (int i = 0; i < pending.size; i++) pending.get(i).status = Request.Status.IDLE;
+        pending.clear();
+    }
+
+    public int getPendingCount() {
+        return pending.size;
+    }
+
+    /** A* searches run so far, cache misses included. */
+    public long getSearches() {
+        return searches;
+    }
+
+    public PathCache getCache() {
+        return cache;
+    }
+
+    public NavGraph getGraph() {
+        return graph;
+    }
+}
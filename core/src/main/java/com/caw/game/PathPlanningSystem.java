@@ -0,0 +1,18 @@
+package com.caw.game;
+
+/** Answers the path requests of the step in one batch, after the behaviour trees made them. */
+public class PathPlanningSystem extends TimedSystem {
+    private final PathPlanner planner;
+
+    public PathPlanningSystem(PathPlanner planner) {
+        super(SystemOrder.PATHS);
+        this.planner = planner;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        long start = System.nanoTime();
+        planner.update();
+        record(start);
+    }
+}
@@ -0,0 +1,129 @@
+package com.caw.game;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Path queries per second on a level's {@link NavGraph}, run from the core benchPathfinding Gradle task:
+ * <pre>
+ * PathfindingBench [map.tmx]
+ * </pre>
+ * "random" is A* between random pairs of nodes, every one a fresh search. "chase" is the game's case:
+ * {@link #CHASERS} enemies ask for a path to the player every step, while the player and the enemies move a
+ * node now and then; it runs once with plain A* and once through {@link PathPlanner}'s LRU cache.
+ */
+public class PathfindingBench {
+    private static final int BUILD_RUNS = 20;
+    private static final int RANDOM_QUERIES = 20_000;
+    private static final int CHASERS = 64;
+    private static final int CHASE_STEPS = 2_000;
+    private static final int PLAYER_MOVE_STEPS = 6;
+    private static final int CHASER_MOVE_STEPS = 12;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        File map = new File(args.length > 0 ? args[0] : "assets/lvl1_final.tmx");
+        LevelData level = TmxLevelParser.parse(new FileHandle(map));
+
+        long start = System.nanoTime();
+        NavGraph graph = null;
+        for (int i = 0; i < BUILD_RUNS; i++) graph = new NavGraph(level);
+        long buildMicros = (System.nanoTime() - start) / 1000 / BUILD_RUNS;
+        System.out.println(String.format(Locale.ROOT,
+            "%s: %dx%d tiles, %d nodes on %d floors, %d walk / %d drop / %d jump links, built in %d us",
+            map.getName(), level.width, level.height, graph.getNodeCount(), graph.getFloorCount(),
+            graph.getLinkCount(NavGraph.WALK), graph.getLinkCount(NavGraph.DROP), graph.getLinkCount(NavGraph.JUMP),
+            buildMicros));
+        if (graph.getNodeCount() < 2) return;
+
+        long sink = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            sink += random(graph, report);
+            sink += chase(graph, false, report);
+            sink += chase(graph, true, report);
+        }
+        System.out.println(String.format(Locale.ROOT, "(checksum %d)", sink));
+    }
+
+    private static long random(NavGraph graph, boolean report) {
+        RandomXS128 random = new RandomXS128(1);
+        IndexedAStarPathFinder<NavGraph.Node> pathFinder = new IndexedAStarPathFinder<>(graph);
+        DefaultGraphPath<NavGraph.Node> path = new DefaultGraphPath<>();
+        int found = 0;
+        long length = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < RANDOM_QUERIES; i++) {
+            NavGraph.Node from = graph.getNode(random.nextInt(graph.getNodeCount()));
+            NavGraph.Node to = graph.getNode(random.nextInt(graph.getNodeCount()));
+            path.clear();
+            if (pathFinder.searchNodePath(from, to, NavGraph.HEURISTIC, path)) {
+                found++;
+                length += path.getCount();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        if (report) {
+            System.out.println(String.format(Locale.ROOT,
+                "random  A*     %9.0f queries/s, %5.1f us/query, %4.1f%% reachable, %.1f nodes/path",
+                RANDOM_QUERIES / (nanos / 1e9), nanos / 1e3 / RANDOM_QUERIES, 100.0 * found / RANDOM_QUERIES,
+                length / (double) Math.max(1, found)));
+        }
+        return length;
+    }
+
+    private static long chase(NavGraph graph, boolean cached, boolean report) {
+        RandomXS128 random = new RandomXS128(2);
+        IndexedAStarPathFinder<NavGraph.Node> pathFinder = new IndexedAStarPathFinder<>(graph);
+        PathPlanner planner = new PathPlanner(graph);
+        DefaultGraphPath<NavGraph.Node> scratch = new DefaultGraphPath<>();
+        NavGraph.Node player = graph.getNode(random.nextInt(graph.getNodeCount()));
+        NavGraph.Node[] chasers = new NavGraph.Node[CHASERS];
+        for (int i = 0; i < CHASERS; i++) chasers[i] = graph.getNode(random.nextInt(graph.getNodeCount()));
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int step = 0; step < CHASE_STEPS; step++) {
+            if (step % PLAYER_MOVE_STEPS == 0) player = wander(graph, player, random);
+            for (int i = 0; i < CHASERS; i++) {
+                GraphPath<NavGraph.Node> path;
+                if (cached) {
+                    path = planner.findPath(chasers[i], player);
+                } else {
+                    scratch.clear();
+                    path = pathFinder.searchNodePath(chasers[i], player, NavGraph.HEURISTIC, scratch) ? scratch : null;
+                }
+                if (path == null) {
+                    sink++;
+                    continue;
+                }
+                sink += path.getCount();
+                if ((step + i) % CHASER_MOVE_STEPS == 0 && path.getCount() > 1) chasers[i] = path.get(1);
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        if (report) {
+            long queries = (long) CHASE_STEPS * CHASERS;
+            PathCache cache = planner.getCache();
+            System.out.println(String.format(Locale.ROOT, "chase   %-6s %9.0f queries/s, %5.1f us/query%s",
+                cached ? "cached" : "A*", queries / (nanos / 1e9), nanos / 1e3 / queries,
+                cached ? String.format(Locale.ROOT, ", %.1f%% hits, %d searches",
+                    100.0 * cache.getHits() / queries, planner.getSearches()) : ""));
+        }
+        return sink;
+    }
+
+    private static NavGraph.Node wander(NavGraph graph, NavGraph.Node node, RandomXS128 random) {
+        Array<Connection<NavGraph.Node>> links = graph.getConnections(node);
+        return links.size == 0 ? graph.getNode(random.nextInt(graph.getNodeCount()))
+            : links.get(random.nextInt(links.size)).getToNode();
+    }
+}
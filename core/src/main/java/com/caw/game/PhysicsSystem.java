@@ -0,0 +1,18 @@
+package com.caw.game;
+
+/** The Box2D step itself, with the deferred world changes and the spatial hash update that follow it. */
+public class PhysicsSystem extends TimedSystem {
+    private final GameWorld gameWorld;
+
+    public PhysicsSystem(GameWorld gameWorld) {
+        super(SystemOrder.PHYSICS);
+        this.gameWorld = gameWorld;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        long start = System.nanoTime();
+        gameWorld.stepPhysics(deltaTime);
+        record(start);
+    }
+}
@@ -1,30 +1,28 @@
 package com.caw.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
-import com.badlogic.gdx.utils.Array;
 
-public class Player {
-    final GameScreen gameScreen;
+public class Player implements Component {
+    final GameWorld gameWorld;
     public enum State {IDLE, RUNNING, JUMPING, FALLING, DEAD}
     private State currentState;
     private State previousState;
-    private float stateTime;
     private boolean facingRight = true;
 
     public Body body;
     final World world;
 
-    private Animation<TextureRegion> idleAnimation;
-    private Animation<TextureRegion> runAnimation;
-    private TextureRegion jumpFrame;
-    private TextureRegion fallFrame;
+    private final FacingAnimation idleAnimation;
+    private final FacingAnimation runAnimation;
+    // the player with its body, transform, sprite and animation; updated by PlayerSystem
+    public final Entity entity = new Entity();
+    private final TransformComponent transform = new TransformComponent(VISUAL_PLAYER_WIDTH, VISUAL_PLAYER_HEIGHT);
+    private final SpriteComponent sprite = new SpriteComponent(null);
+    private final AnimationComponent animation;
 
     public static final int SPRITESHEET_FRAME_WIDTH = 32;
     public static final int SPRITESHEET_FRAME_HEIGHT = 24;
@@ -47,6 +45,8 @@ public class Player {
     private boolean isDead = false;
 
     final Vector2 spawnPointMeters;
+    // returned by getPositionMeters() while there is no active body, reused instead of a new copy per call
+    private final Vector2 inactivePositionMeters = new Vector2();
     final WorldContactListener contactListener;
 
     // KNOCKBACK FORCE
@@ -62,48 +62,39 @@ public class Player {
     public Player(World world,
                   WorldContactListener contactListener,
                   Vector2 spawnPointPixels,
-                  Texture idleSheet,
-                  Texture runSheet,
-                  GameScreen gameScreenRef) {
+                  FacingAnimation idleAnimation,
+                  FacingAnimation runAnimation,
+                  GameWorld gameWorld) {
 
-        this.gameScreen = gameScreenRef;
+        this.gameWorld = gameWorld;
         this.world = world;
         this.contactListener = contactListener;
         this.spawnPointMeters = new Vector2(spawnPointPixels.x / PPM, spawnPointPixels.y / PPM);
         this.currentHealth = maxHealth;
         this.lastSafePositionMeters = new Vector2(spawnPointMeters);
 
-        loadAnimations(idleSheet, runSheet);
+        this.idleAnimation = idleAnimation;
+        this.runAnimation = runAnimation;
+        this.animation = new AnimationComponent(idleAnimation, 0f);
         createBody();
+        // drawn a little left of the body center, the sheet's frames are wider than the sprite
+        transform.originX = FRAME_WIDTH / 2f;
+        transform.originY = FRAME_HEIGHT / 2f;
+        transform.snap(spawnPointMeters);
+        entity.add(this).add(new BodyComponent(body)).add(transform).add(sprite).add(animation);
 
         currentState = State.IDLE;
         previousState = State.IDLE;
-        stateTime = 0f;
     }
 
-    private void loadAnimations(Texture idleSheet, Texture runSheet) {
-
-        //idle anim
-        int idleFrameCount = 8;
-        TextureRegion[][] tmpIdle = TextureRegion.split(idleSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT);
-        Array<TextureRegion> idleFrames = new Array<>(idleFrameCount);
-        for (int i = 0; i < idleFrameCount; i++) {
-            idleFrames.add(tmpIdle[0][i]);
-        }
-        idleAnimation = new Animation<>(0.15f, idleFrames, Animation.PlayMode.LOOP);
-
-        //run anim
-        int runFrameCount = 6;
-        TextureRegion[][] tmpRun = TextureRegion.split(runSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT);
-        Array<TextureRegion> runFrames = new Array<>(runFrameCount);
-        for (int i = 0; i < runFrameCount; i++) {
-            runFrames.add(tmpRun[0][i]);
-        }
-        runAnimation = new Animation<>(0.1f, runFrames, Animation.PlayMode.LOOP);
-
-        jumpFrame = runFrames.get(1);
-        fallFrame = runFrames.get(0);
+    /** The idle animation of the player sheet; null without a sheet (headless). */
+    public static FacingAnimation idleAnimation(TextureRegion idleSheet) {
+        return FacingAnimation.fromSheetRow(idleSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT, 8, 0.15f);
+    }
 
+    /** The run animation of the player sheet; its first two frames double as the fall and jump poses. */
+    public static FacingAnimation runAnimation(TextureRegion runSheet) {
+        return FacingAnimation.fromSheetRow(runSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT, 6, 0.1f);
     }
 
     private void createBody() {
@@ -124,18 +115,18 @@ public class Player {
         fixtureDef.density = 0.5f;
         fixtureDef.friction = 0.2f;
         fixtureDef.restitution = 0.0f;
-        body.createFixture(fixtureDef).setUserData("player");
+        gameWorld.getCollisionLayers().tag(body.createFixture(fixtureDef), FixtureTag.PLAYER);
 
         shape.setAsBox(6.7f/PPM, 2.5f/PPM, new Vector2(0, -9/PPM), 0);
         fixtureDef.shape = shape;
         fixtureDef.isSensor = true;
-        body.createFixture(fixtureDef).setUserData("playerFeet");
+        gameWorld.getCollisionLayers().tag(body.createFixture(fixtureDef), FixtureTag.PLAYER_FEET);
 
         shape.dispose();
         body.setUserData(this);
     }
 
-    public void handleInput() {
+    public void handleInput(PlayerInput input) {
         if (isDead || body == null) return;
         if (invulnerabilityTimer > 0 && (Math.abs(body.getLinearVelocity().x) > 0.5f || Math.abs(body.getLinearVelocity().y) > 0.5f) ) {
              return;
@@ -144,24 +135,25 @@ public class Player {
         float maxVel = 2f;
         float targetVelX = 0;
 
-        if (Gdx.input.isKeyPressed(Input.Keys.A)) {
+        boolean left = input.isLeftPressed();
+        boolean right = input.isRightPressed();
+        if (left) {
             targetVelX = -maxVel;
             facingRight = false;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.D)) {
+        if (right) {
             targetVelX = maxVel;
             facingRight = true;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.A) && Gdx.input.isKeyPressed(Input.Keys.D)) {
+        if (left && right) {
             targetVelX = 0;
         }
 
         body.setLinearVelocity(targetVelX, body.getLinearVelocity().y);
 
-        if ((Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && contactListener.isPlayerOnGround())
-            || (Gdx.input.isKeyJustPressed(Input.Keys.W) && contactListener.isPlayerOnGround())) {
+        if (input.isJumpJustPressed() && contactListener.isPlayerOnGround()) {
             body.applyLinearImpulse(0f, body.getMass() * 6f, body.getWorldCenter().x, body.getWorldCenter().y, true);
-            if (gameScreen != null) gameScreen.playPlayerJumpSound();
+            gameWorld.getEvents().playerJumped();
         }
     }
 
@@ -180,7 +172,7 @@ public class Player {
 
         float minYDeathLevelMeters = MIN_Y_DEATH_LEVEL_PIXELS / PPM;
         if (body.getPosition().y < minYDeathLevelMeters && !isDead) {
-            Gdx.app.log("PlayerFall", "Player fell into a pit!");
+            Log.info(Log.Category.PLAYER, "Player fell into a pit!");
             handleFallIntoPit();
         }
 
@@ -191,24 +183,17 @@ public class Player {
         if (isDead && currentState != State.DEAD) {
             currentState = State.DEAD;
             if (body.isActive()) body.setLinearVelocity(0, 0); // CHECK isActive
-            stateTime = 0;
+            animation.stateTime = 0;
         } else if (!isDead) {
             previousState = currentState;
             currentState = determineCurrentState();
         }
-
-        if (currentState == previousState) {
-            stateTime += dt;
-        } else if (currentState == State.DEAD) {
-            stateTime += dt;
-        }
+        syncAnimation();
 
         if (currentState == State.RUNNING && contactListener.isPlayerOnGround()) {
             walkSoundTimer += dt;
             if (walkSoundTimer >= WALK_SOUND_INTERVAL) {
-                if (gameScreen != null) {
-                    gameScreen.playPlayerWalkSound();
-                }
+                gameWorld.getEvents().playerWalked();
                 walkSoundTimer = 0f;
             }
         } else {
@@ -227,7 +212,7 @@ public class Player {
     private void handleFallIntoPit() {
         if (isDead) return;
 
-        Gdx.app.log("PLAYER_HEALTH", "Player fell. Taking fall damage.");
+        Log.debug(Log.Category.PLAYER, "Player fell. Taking fall damage.");
         takeDamage(FALL_DAMAGE, null);
 
         if (!isDead) {
@@ -238,12 +223,13 @@ public class Player {
     public void resetPositionToLastSafe() {
         if (body != null && !isDead) {
             body.setTransform(lastSafePositionMeters, 0);
+            transform.snap(lastSafePositionMeters); // no smear across the teleport
             body.setLinearVelocity(0, 0);
             body.setAwake(true);
-            Gdx.app.log("PlayerPosition", "Player position reset to last safe: " + lastSafePositionMeters);
+            Log.debug(Log.Category.PLAYER, "Player position reset to last safe: {}", lastSafePositionMeters);
             invulnerabilityTimer = 0.5f;
             currentState = State.IDLE;
-            stateTime = 0;
+            animation.stateTime = 0;
         }
     }
 
@@ -261,38 +247,35 @@ public class Player {
         }
     }
 
-    public void render(SpriteBatch batch) {
-        if (body == null || !body.isActive()) return;
-        if (!isVisibleDuringInvulnerability()) return;
-
-        TextureRegion currentFrame = getFrameToRender();
-        if (currentFrame == null) return;
-
-        flipCurrentFrame(currentFrame);
-
-        float playerDrawX = body.getPosition().x * PPM - FRAME_WIDTH / 2f;
-        float playerDrawY = body.getPosition().y * PPM - FRAME_HEIGHT / 2f;
-
-        batch.draw(currentFrame, playerDrawX, playerDrawY, VISUAL_PLAYER_WIDTH, VISUAL_PLAYER_HEIGHT);
+    /** Position between the previous and the current physics state; alpha 1 is the current one. */
+    public Vector2 getInterpolatedPositionMeters(float alpha, Vector2 out) {
+        if (body == null || !body.isActive()) return out.set(spawnPointMeters);
+        return transform.interpolate(alpha, out);
     }
 
-    private TextureRegion getFrameToRender() {
+    /** Points the animation at the current state and facing; AnimationSystem turns that into a frame. */
+    private void syncAnimation() {
+        animation.facingRight = facingRight;
         switch (currentState) {
-            case JUMPING: return jumpFrame;
-            case FALLING: return fallFrame;
-            case RUNNING: return runAnimation.getKeyFrame(stateTime, true);
-//            case DEAD:    return fallFrame;
+            case JUMPING:
+                animation.animation = runAnimation;
+                animation.pose = 1;
+                break;
+            case FALLING:
+                animation.animation = runAnimation;
+                animation.pose = 0;
+                break;
+            case RUNNING:
+                animation.animation = runAnimation;
+                animation.pose = AnimationComponent.ANIMATED;
+                break;
             case IDLE:
-            default:      return idleAnimation.getKeyFrame(stateTime, true);
-        }
-    }
-
-    private void flipCurrentFrame(TextureRegion frame) {
-        if (!facingRight && !frame.isFlipX()) {
-            frame.flip(true, false);
-        } else if (facingRight && frame.isFlipX()) {
-            frame.flip(true, false);
+            default:
+                animation.animation = idleAnimation;
+                animation.pose = AnimationComponent.ANIMATED;
+                break;
         }
+        sprite.visible = isVisibleDuringInvulnerability();
     }
 
     //when take damage
@@ -302,7 +285,7 @@ public class Player {
         currentHealth -= amount;
 
         invulnerabilityTimer = INVULNERABILITY_DURATION;
-        Gdx.app.log("PLAYER_HEALTH", "Player took " + amount + " damage. Current health: " + currentHealth);
+        Log.info(Log.Category.PLAYER, "Player took {} damage. Current health: {}", amount, currentHealth);
 
         if (body != null && body.isActive() && damageSourceBody != null && damageSourceBody.isActive()) {
             Vector2 playerPosition = body.getPosition();
@@ -316,7 +299,7 @@ public class Player {
                 } else {
                     pushDirectionX = facingRight ? -1f : 1f;
                 }
-                if (pushDirectionX == 0) pushDirectionX = (Math.random() > 0.5 ? 1f : -1f); // direction
+                if (pushDirectionX == 0) pushDirectionX = (gameWorld.getRandom().nextBoolean() ? 1f : -1f); // direction
             }
 
             float impulseX = pushDirectionX * KNOCKBACK_HORIZONTAL_BASE_FORCE;
@@ -325,11 +308,11 @@ public class Player {
             body.setLinearVelocity(0f, 0f);
             body.applyLinearImpulse(impulseX, impulseY, worldCenter.x, worldCenter.y, true);
 
-            Gdx.app.log("PLAYER_KNOCKBACK", "Applied impulse: X=" + impulseX + ", Y=" + impulseY + " from source at " + sourcePosition);
+            Log.debug(Log.Category.PLAYER, "Applied knockback impulse: X={}, Y={}", impulseX, impulseY);
         }
 
         //hurt sound
-        if (gameScreen != null) gameScreen.playPlayerHurtSound();
+        gameWorld.getEvents().playerHurt();
 
         if (currentHealth <= 0) {
             currentHealth = 0;
@@ -340,9 +323,15 @@ public class Player {
     private void die() {
         if (isDead) return;
         isDead = true;
-        Gdx.app.log("PLAYER_STATE", "Player has died.");
+        Log.info(Log.Category.PLAYER, "Player has died.");
+        // the body stays on the ground, but enemies and projectiles stop seeing it
+        if (body != null) {
+            for (Fixture fixture : body.getFixtureList()) {
+                gameWorld.getCollisionLayers().restrict(fixture, FixtureTag.GROUND, FixtureTag.WALL, FixtureTag.NONE);
+            }
+        }
         // game over - dead sound
-        if (gameScreen != null) gameScreen.playPlayerDeathSound();
+        gameWorld.getEvents().playerDied();
     }
 
     public void respawn() {
@@ -350,28 +339,34 @@ public class Player {
         currentHealth = maxHealth;
         invulnerabilityTimer = 0f; // reset
         if (body != null) {
+            for (Fixture fixture : body.getFixtureList()) {
+                gameWorld.getCollisionLayers().restore(fixture);
+            }
             body.setTransform(spawnPointMeters, 0);
+            transform.snap(spawnPointMeters);
             body.setLinearVelocity(0, 0);
             body.setAwake(true);
         }
         currentState = State.IDLE;
         previousState = State.IDLE;
-        stateTime = 0f;
+        animation.stateTime = 0f;
         facingRight = true;
-        Gdx.app.log("PLAYER_STATE", "Player respawned.");
+        syncAnimation();
+        Log.info(Log.Category.PLAYER, "Player respawned.");
     }
 
     public void resetPositionToSpawn() {
         if (body != null && !isDead) {
             body.setTransform(spawnPointMeters, 0);
+            transform.snap(spawnPointMeters);
             body.setLinearVelocity(0, 0);
             body.setAwake(true);
-            Gdx.app.log("PLAYER_POSITION", "Player position reset to spawn.");
+            Log.debug(Log.Category.PLAYER, "Player position reset to spawn.");
         }
     }
 
     public Vector2 getPositionMeters() {
-        return body != null && body.isActive() ? body.getPosition() : new Vector2(spawnPointMeters);
+        return body != null && body.isActive() ? body.getPosition() : inactivePositionMeters.set(spawnPointMeters);
     }
 
     public boolean isDead() {
@@ -0,0 +1,14 @@
+package com.caw.game;
+
+/** Where the player's controls come from: the keyboard in the game, a bot or a recording elsewhere. */
+public interface PlayerInput {
+    /** Called once before the buttons are read for a step or frame; sources that need to advance do it here. */
+    default void poll() { }
+
+    boolean isLeftPressed();
+
+    boolean isRightPressed();
+
+    /** True only on the poll the jump button went down. */
+    boolean isJumpJustPressed();
+}
@@ -0,0 +1,16 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+
+/** The player's per-step state: safe position, pits, invulnerability, animation state, footsteps. */
+public class PlayerSystem extends TimedIteratingSystem {
+    public PlayerSystem() {
+        super(Components.PLAYERS, SystemOrder.PLAYER);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Player player = Components.PLAYER.get(entity);
+        if (!player.isDead()) player.update(deltaTime);
+    }
+}
@@ -1,28 +1,45 @@
 package com.caw.game;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * A bullet owned by a {@link ProjectilePool}. The body is created once, inactive, and is switched on by
+ * {@link #fire} and off again by {@link #reset} when the pool takes it back. Its entity is pooled along with
+ * it and is only in the engine while the projectile is flying.
+ */
+public class Projectile implements Component, Pool.Poolable, SlotArray.Slotted, SpatialHash.Tracked {
+    public static final float LIFE_TIME = 1f;
 
-public class Projectile {
     public Body body;
-    final Texture texture;
+    public final Entity entity = new Entity();
+    private final TransformComponent transform;
+    private final SpriteComponent sprite;
+    private final LifetimeComponent lifetime = new LifetimeComponent(LIFE_TIME);
     final float width, height;
     private boolean scheduledForRemoval = false;
-    private float lifeTime = 1f;
+
+    // index in the owning SlotArray, -1 when not in one
+    private int slot = -1;
+    // id in GameWorld's SpatialHash, -1 when not tracked
+    private int spatialId = -1;
 
     public static final float PROJECTILE_SPEED = 2f;
 
-    public Projectile(World world, Texture texture, float x, float y, float widthPixels, float heightPixels, Vector2 direction) {
-        this.texture = texture;
+    public Projectile(World world, CollisionLayers layers, TextureRegion region, float widthPixels, float heightPixels) {
+        this.transform = new TransformComponent(widthPixels, heightPixels);
+        this.sprite = new SpriteComponent(region);
         this.width = widthPixels / GameScreen.PPM;
         this.height = heightPixels / GameScreen.PPM;
 
         BodyDef bodyDef = new BodyDef();
         bodyDef.type = BodyDef.BodyType.DynamicBody;
-        bodyDef.position.set(x, y);
         bodyDef.bullet = true;
+        bodyDef.active = false;
+        bodyDef.gravityScale = 0;
 
         body = world.createBody(bodyDef);
 
@@ -35,34 +52,34 @@ public class Projectile {
         fixtureDef.friction = 0.5f;
         fixtureDef.restitution = 0.1f;
 
-        body.createFixture(fixtureDef).setUserData(this);
+        layers.tag(body.createFixture(fixtureDef), FixtureTag.PROJECTILE);
+        body.setUserData(this);
         shape.dispose();
 
-        // start speed
-        Vector2 velocity = direction.nor().scl(PROJECTILE_SPEED); // set direction and * to speed
-        body.setLinearVelocity(velocity);
-        body.setGravityScale(0);
+        entity.add(this).add(new BodyComponent(body)).add(transform).add(sprite).add(lifetime);
     }
 
-    public void update(float dt) {
-        lifeTime -= dt;
-        if (lifeTime <= 0) {
-            scheduleForRemoval();
+    /** Places the projectile at (x, y) meters and launches it along (directionX, directionY). */
+    public void fire(float x, float y, float directionX, float directionY) {
+        float length = (float) Math.sqrt(directionX * directionX + directionY * directionY);
+        if (length > 0) {
+            directionX /= length;
+            directionY /= length;
         }
-    }
-
-    public void render(SpriteBatch batch) {
-        if (body == null || !body.isActive() || scheduledForRemoval) return;
-
-        batch.draw(texture,
-            body.getPosition().x * GameScreen.PPM - (width * GameScreen.PPM) / 2f,
-            body.getPosition().y * GameScreen.PPM - (height * GameScreen.PPM) / 2f,
-            width * GameScreen.PPM,
-            height * GameScreen.PPM);
+        scheduledForRemoval = false;
+        sprite.visible = true;
+        lifetime.remaining = LIFE_TIME;
+        body.setTransform(x, y, 0);
+        body.setActive(true);
+        body.setAwake(true);
+        // start speed
+        body.setLinearVelocity(directionX * PROJECTILE_SPEED, directionY * PROJECTILE_SPEED);
+        transform.snap(x, y);
     }
 
     public void scheduleForRemoval() {
         this.scheduledForRemoval = true;
+        sprite.visible = false;
     }
 
     public boolean isScheduledForRemoval() {
@@ -72,4 +89,35 @@ public class Projectile {
     public Body getBody() {
         return body;
     }
+
+    /** Called by the pool on free(); must not run inside a world step. */
+    @Override
+    public void reset() {
+        scheduledForRemoval = false;
+        lifetime.remaining = LIFE_TIME;
+        if (body != null) {
+            body.setLinearVelocity(0, 0);
+            body.setActive(false);
+        }
+    }
+
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public int getSpatialId() {
+        return spatialId;
+    }
+
+    @Override
+    public void setSpatialId(int id) {
+        this.spatialId = id;
+    }
 }
@@ -0,0 +1,50 @@
+package com.caw.game;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Pool of one projectile type. Bodies are created up front (or when the pool runs dry) and are only
+ * activated and deactivated afterwards, so steady-state firing does no createBody/destroyBody and no
+ * Java allocation. The bodies are destroyed together with the world.
+ */
+public class ProjectilePool extends Pool<Projectile> {
+    private final World world;
+    private final CollisionLayers layers;
+    private final TextureRegion region;
+    private final float widthPixels;
+    private final float heightPixels;
+    private int created = 0;
+
+    public ProjectilePool(World world, CollisionLayers layers, TextureRegion region,
+                          float widthPixels, float heightPixels, int initialCapacity, int max) {
+        super(initialCapacity, max);
+        this.world = world;
+        this.layers = layers;
+        this.region = region;
+        this.widthPixels = widthPixels;
+        this.heightPixels = heightPixels;
+        fill(initialCapacity);
+    }
+
+    @Override
+    protected Projectile newObject() {
+        created++;
+        return new Projectile(world, layers, region, widthPixels, heightPixels);
+    }
+
+    @Override
+    protected void discard(Projectile projectile) {
+        // pool is full: the body really goes away (outside the world step, like every free())
+        if (projectile.getBody() != null && !world.isLocked()) {
+            world.destroyBody(projectile.getBody());
+            projectile.body = null;
+        }
+    }
+
+    /** Number of bodies this pool ever created; stays flat once the pool has warmed up. */
+    public int getCreatedCount() {
+        return created;
+    }
+}
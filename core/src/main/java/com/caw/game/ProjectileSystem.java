@@ -0,0 +1,21 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+
+/** Gives projectiles that hit something or ran out of lifetime back to the pool, before the world step. */
+public class ProjectileSystem extends TimedIteratingSystem {
+    private final GameWorld gameWorld;
+
+    public ProjectileSystem(GameWorld gameWorld) {
+        super(Components.PROJECTILES, SystemOrder.PROJECTILES);
+        this.gameWorld = gameWorld;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Projectile projectile = Components.PROJECTILE.get(entity);
+        if (projectile.isScheduledForRemoval() || Components.LIFETIME.get(entity).isExpired()) {
+            gameWorld.releaseProjectile(projectile); // the entity leaves the engine after this system
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Picks the entities whose bounds touch the camera view, in a stable draw order: static ones from a
+ * {@link RenderGrid}, moving ones from the world's {@link SpatialHash}.
+ */
+public class RenderCuller {
+    public static final float CELL_SIZE_PIXELS = 128f;
+    // the hash only knows entity centers: half the largest sprite plus a step of movement
+    private static final float DYNAMIC_MARGIN_PIXELS = 48f;
+    private static final float KEY_SIZE_PIXELS = 8f;
+
+    private static final int COIN = 0;
+    private static final int SHOOTER = 1;
+    private static final int DOOR = 2;
+    private static final int KEY = 3;
+
+    private RenderGrid grid;
+    private final Array<Object> staticOwners = new Array<>();
+    private final IntArray staticKinds = new IntArray();
+    private final IntArray ids = new IntArray();
+    private int builtGeneration = -1;
+    private GameWorld builtWorld;
+
+    private final Rectangle view = new Rectangle();
+    private final Array<Coin> visibleCoins = new Array<>();
+    private final Array<Enemy> visibleEnemies = new Array<>();
+    private final Array<ShootingEnemy> visibleShooters = new Array<>();
+    private final Array<Projectile> visibleProjectiles = new Array<>();
+    private final Array<GameWorld.DoorData> visibleDoors = new Array<>();
+    private boolean keyVisible = false;
+    private final Array<Entity> visibleEntities = new Array<>();
+    private int visibleCount = 0;
+    private int totalCount = 0;
+
+    /** Fills the visible lists for the camera's current view. Call after gameCamera.update(). */
+    public void cull(GameWorld world, OrthographicCamera camera) {
+        if (world != builtWorld || world.getLevelGeneration() != builtGeneration) build(world);
+
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        view.set(camera.position.x - width / 2f, camera.position.y - height / 2f, width, height);
+        float right = view.x + view.width;
+        float top = view.y + view.height;
+
+        visibleCoins.clear();
+        visibleShooters.clear();
+        visibleDoors.clear();
+        keyVisible = false;
+        grid.query(view.x, view.y, right, top, ids);
+        for (int i = 0; i < ids.size; i++) {
+            int id = ids.get(i);
+            Object owner = staticOwners.get(id);
+            switch (staticKinds.get(id)) {
+                case COIN:
+                    // collected coins leave the SlotArray; their bodies are gone, so skip them here
+                    if (((Coin) owner).getSlot() >= 0) visibleCoins.add((Coin) owner);
+                    break;
+                case SHOOTER:
+                    visibleShooters.add((ShootingEnemy) owner);
+                    break;
+                case DOOR:
+                    visibleDoors.add((GameWorld.DoorData) owner);
+                    break;
+                case KEY:
+                    keyVisible = world.keyBody == owner;
+                    break;
+            }
+        }
+
+        SpatialHash hash = world.getSpatialHash();
+        float margin = DYNAMIC_MARGIN_PIXELS;
+        float minX = (view.x - margin) / GameWorld.PPM, minY = (view.y - margin) / GameWorld.PPM;
+        float maxX = (right + margin) / GameWorld.PPM, maxY = (top + margin) / GameWorld.PPM;
+
+        visibleEnemies.clear();
+        hash.queryAabb(minX, minY, maxX, maxY, CollisionLayers.category(FixtureTag.ENEMY), ids);
+        ids.sort();
+        for (int i = 0; i < ids.size; i++) visibleEnemies.add((Enemy) hash.getOwner(ids.get(i)));
+
+        visibleProjectiles.clear();
+        hash.queryAabb(minX, minY, maxX, maxY, CollisionLayers.category(FixtureTag.PROJECTILE), ids);
+        ids.sort();
+        for (int i = 0; i < ids.size; i++) visibleProjectiles.add((Projectile) hash.getOwner(ids.get(i)));
+
+        visibleCount = visibleCoins.size + visibleShooters.size + visibleDoors.size + (keyVisible ? 1 : 0)
+            + visibleEnemies.size + visibleProjectiles.size;
+        totalCount = world.getCoins().size + world.getShootingEnemies().size + world.getDoors().size
+            + (world.keyBody != null ? 1 : 0) + world.getEnemies().size + world.getProjectiles().size;
+
+        // back to front: coins, enemies, shooters, projectiles, the player, the key, then the doors
+        visibleEntities.clear();
+        for (int i = 0; i < visibleCoins.size; i++) visibleEntities.add(visibleCoins.get(i).entity);
+        for (int i = 0; i < visibleEnemies.size; i++) visibleEntities.add(visibleEnemies.get(i).entity);
+        for (int i = 0; i < visibleShooters.size; i++) visibleEntities.add(visibleShooters.get(i).entity);
+        for (int i = 0; i < visibleProjectiles.size; i++) visibleEntities.add(visibleProjectiles.get(i).entity);
+        if (world.getPlayer() != null) visibleEntities.add(world.getPlayer().entity);
+        if (keyVisible && world.getKeyEntity() != null) visibleEntities.add(world.getKeyEntity());
+        for (int i = 0; i < visibleDoors.size; i++) visibleEntities.add(visibleDoors.get(i).entity);
+    }
+
+    private void build(GameWorld world) {
+        LevelData level = world.getLevel();
+        if (grid == null || world != builtWorld) {
+            grid = new RenderGrid(level.getWidthPixels(), level.getHeightPixels(), CELL_SIZE_PIXELS);
+        }
+        grid.clear();
+        staticOwners.clear();
+        staticKinds.clear();
+        SpatialHash hash = world.getSpatialHash();
+
+        float coinSize = Coin.VISUAL_COIN_SIZE;
+        for (Coin coin : world.getCoins()) {
+            int id = coin.getSpatialId();
+            if (id < 0) continue;
+            add(coin, COIN, hash.getX(id) * GameWorld.PPM - coinSize / 2f, hash.getY(id) * GameWorld.PPM - coinSize / 2f,
+                coinSize, coinSize);
+        }
+        for (ShootingEnemy shooter : world.getShootingEnemies()) {
+            int id = shooter.getSpatialId();
+            if (id < 0) continue;
+            float width = shooter.getVisualWidth(), height = shooter.getVisualHeight();
+            add(shooter, SHOOTER, hash.getX(id) * GameWorld.PPM - width / 2f, hash.getY(id) * GameWorld.PPM - height / 2f,
+                width, height);
+        }
+        for (GameWorld.DoorData door : world.getDoors()) {
+            Rectangle bounds = door.boundsPixels;
+            add(door, DOOR, bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+        Body keyBody = world.keyBody;
+        if (keyBody != null) {
+            float x = keyBody.getPosition().x * GameWorld.PPM, y = keyBody.getPosition().y * GameWorld.PPM;
+            add(keyBody, KEY, x - KEY_SIZE_PIXELS / 2f, y - KEY_SIZE_PIXELS / 2f, KEY_SIZE_PIXELS, KEY_SIZE_PIXELS);
+        }
+
+        builtWorld = world;
+        builtGeneration = world.getLevelGeneration();
+    }
+
+    private void add(Object owner, int kind, float x, float y, float width, float height) {
+        grid.add(x, y, width, height);
+        staticOwners.add(owner);
+        staticKinds.add(kind);
+    }
+
+    public Array<Coin> getVisibleCoins() {
+        return visibleCoins;
+    }
+
+    public Array<Enemy> getVisibleEnemies() {
+        return visibleEnemies;
+    }
+
+    public Array<ShootingEnemy> getVisibleShooters() {
+        return visibleShooters;
+    }
+
+    public Array<Projectile> getVisibleProjectiles() {
+        return visibleProjectiles;
+    }
+
+    public Array<GameWorld.DoorData> getVisibleDoors() {
+        return visibleDoors;
+    }
+
+    public boolean isKeyVisible() {
+        return keyVisible;
+    }
+
+    /** Every entity to draw this frame, the player always, in draw order. */
+    public Array<Entity> getVisibleEntities() {
+        return visibleEntities;
+    }
+
+    /** Entities drawn this frame, not counting the player. */
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+
+    /** Entities that would have been drawn without culling, not counting the player. */
+    public int getTotalCount() {
+        return totalCount;
+    }
+}
@@ -0,0 +1,134 @@
+package com.caw.game;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Dense grid over the level for things that do not move, built once per level. Every entry is listed in each
+ * cell its bounds touch, all cells packed into one int array, so a view query only walks the cells on screen
+ * and never allocates. Bounds are in pixels; entries outside the grid are kept in its border cells.
+ * <p>
+ * Query results are sorted by entry id, which is the order the entries were added in.
+ */
+public class RenderGrid {
+    private final float inverseCellSize;
+    private final int columns;
+    private final int rows;
+
+    private float[] bounds = new float[64]; // x, y, width, height per entry
+    private int count = 0;
+    private int[] cellStart = new int[0];
+    private int[] cellEntries = new int[0];
+    private int[] cursor = new int[0];
+    private int[] stamps = new int[0];
+    private int stamp = 0;
+    private boolean built = false;
+
+    public RenderGrid(float widthPixels, float heightPixels, float cellSize) {
+        this.inverseCellSize = 1f / cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(widthPixels / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(heightPixels / cellSize));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Adds an entry and returns its id. The grid is rebuilt on the next query. */
+    public int add(float x, float y, float width, float height) {
+        if (count * 4 == bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        int i = count * 4;
+        bounds[i] = x;
+        bounds[i + 1] = y;
+        bounds[i + 2] = width;
+        bounds[i + 3] = height;
+        built = false;
+        return count++;
+    }
+
+    public void clear() {
+        count = 0;
+        built = false;
+    }
+
+    /**
+     * Clears out and fills it with the ids of the entries overlapping [minX, maxX] x [minY, maxY], each once.
+     * Returns how many were found.
+     */
+    public int query(float minX, float minY, float maxX, float maxY, IntArray out) {
+        out.clear();
+        if (!built) build();
+        if (count == 0) return 0;
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0); // wrapped around, old stamps could match again
+            stamp = 1;
+        }
+
+        int minColumn = column(minX), maxColumn = column(maxX);
+        int minRow = row(minY), maxRow = row(maxY);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    int id = cellEntries[i];
+                    if (stamps[id] == stamp) continue; // spans several cells, already looked at
+                    stamps[id] = stamp;
+                    int b = id * 4;
+                    if (bounds[b] <= maxX && bounds[b] + bounds[b + 2] >= minX
+                        && bounds[b + 1] <= maxY && bounds[b + 1] + bounds[b + 3] >= minY) {
+                        out.add(id);
+                    }
+                }
+            }
+        }
+        if (out.size > 1) out.sort();
+        return out.size;
+    }
+
+    private void build() {
+        int cells = columns * rows;
+        if (cellStart.length != cells + 1) {
+            cellStart = new int[cells + 1];
+            cursor = new int[cells];
+        } else {
+            Arrays.fill(cellStart, 0);
+        }
+
+        // counting pass, then prefix sums, then each entry written into the cells it touches
+        int total = 0;
+        for (int id = 0; id < count; id++) {
+            int b = id * 4;
+            for (int row = row(bounds[b + 1]); row <= row(bounds[b + 1] + bounds[b + 3]); row++) {
+                for (int column = column(bounds[b]); column <= column(bounds[b] + bounds[b + 2]); column++) {
+                    cellStart[row * columns + column + 1]++;
+                    total++;
+                }
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) cellStart[cell + 1] += cellStart[cell];
+        if (cellEntries.length < total) cellEntries = new int[total];
+        System.arraycopy(cellStart, 0, cursor, 0, cells);
+        for (int id = 0; id < count; id++) {
+            int b = id * 4;
+            for (int row = row(bounds[b + 1]); row <= row(bounds[b + 1] + bounds[b + 3]); row++) {
+                for (int column = column(bounds[b]); column <= column(bounds[b] + bounds[b + 2]); column++) {
+                    cellEntries[cursor[row * columns + column]++] = id;
+                }
+            }
+        }
+
+        if (stamps.length < count) stamps = new int[Math.max(count, stamps.length * 2)];
+        else Arrays.fill(stamps, 0);
+        stamp = 0;
+        built = true;
+    }
+
+    private int column(float x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x * inverseCellSize)));
+    }
+
+    private int row(float y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y * inverseCellSize)));
+    }
+}
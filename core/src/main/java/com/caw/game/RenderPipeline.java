@@ -0,0 +1,87 @@
+package com.caw.game;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A frame's drawing as an ordered list of passes. Consecutive batched passes share a single SpriteBatch
+ * begin/end, and the projection is only set again where the camera changes, so the batch flushes at camera
+ * changes, texture changes and around unbatched passes (a SpriteCache, a scene2d Stage that begins the batch
+ * itself) and nowhere else. Counts the batch flushes of the last frame.
+ */
+public class RenderPipeline {
+    public interface Pass {
+        void draw(SpriteBatch batch);
+
+        /** Inactive passes are skipped entirely, so an idle unbatched pass does not split the batch. */
+        default boolean isActive() {
+            return true;
+        }
+    }
+
+    private final Array<Pass> passes = new Array<>();
+    private final Array<Camera> cameras = new Array<>(); // null for unbatched passes
+    private int flushes = 0;
+    private int segments = 0;
+
+    /** Adds a pass drawn inside the shared batch, with the camera's projection. */
+    public void add(Camera camera, Pass pass) {
+        passes.add(pass);
+        cameras.add(camera);
+    }
+
+    /** Adds a pass that draws on its own; the batch is ended before it and begun again after it. */
+    public void addUnbatched(Pass pass) {
+        passes.add(pass);
+        cameras.add(null);
+    }
+
+    /** Runs the active passes in order. Cameras must already be updated. */
+    public void render(SpriteBatch batch) {
+        flushes = 0;
+        segments = 0;
+        Camera current = null;
+        for (int i = 0; i < passes.size; i++) {
+            Pass pass = passes.get(i);
+            if (!pass.isActive()) continue;
+            Camera camera = cameras.get(i);
+
+            if (camera == null) {
+                if (batch.isDrawing()) {
+                    batch.end();
+                    flushes += batch.renderCalls;
+                }
+                current = null;
+                batch.renderCalls = 0; // a Stage drawing through this batch counts its own flushes
+                pass.draw(batch);
+                flushes += batch.renderCalls;
+                continue;
+            }
+
+            if (camera != current) {
+                batch.setProjectionMatrix(camera.combined); // flushes when the batch is drawing
+                current = camera;
+            }
+            if (!batch.isDrawing()) {
+                batch.begin();
+                segments++;
+            }
+            pass.draw(batch);
+        }
+        if (batch.isDrawing()) {
+            batch.end();
+            flushes += batch.renderCalls;
+        }
+    }
+
+    /** SpriteBatch flushes (draw calls) of the last {@link #render}; SpriteCache draws are not included. */
+    public int getFlushes() {
+        return flushes;
+    }
+
+    /** How many times the last {@link #render} had to begin the batch. */
+    public int getSegments() {
+        return segments;
+    }
+}
@@ -0,0 +1,35 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Draws entities' sprites at their interpolated transforms, in the order given; GameScreen passes what
+ * {@link RenderCuller} found in view. Any entity with a transform and a sprite can be drawn, whatever its type.
+ */
+public class RenderSystem extends TimedSystem {
+    private final Vector2 drawPosition = new Vector2();
+
+    public RenderSystem() {
+        super(SystemOrder.RENDER);
+    }
+
+    /** Call inside batch.begin()/end(), with the world camera's projection. */
+    public void draw(SpriteBatch batch, float alpha, Array<Entity> entities) {
+        long start = System.nanoTime();
+        for (int i = 0; i < entities.size; i++) {
+            Entity entity = entities.get(i);
+            SpriteComponent sprite = Components.SPRITE.get(entity);
+            if (sprite == null || !sprite.visible || sprite.region == null || Components.DORMANT.has(entity)) continue;
+            TransformComponent transform = Components.TRANSFORM.get(entity);
+            transform.interpolate(alpha, drawPosition);
+            batch.draw(sprite.region,
+                drawPosition.x * GameWorld.PPM - transform.originX,
+                drawPosition.y * GameWorld.PPM - transform.originY,
+                transform.width, transform.height);
+        }
+        record(start);
+    }
+}
@@ -1,44 +1,47 @@
 package com.caw.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
-import com.badlogic.gdx.utils.Array;
 
-public class ShootingEnemy {
+public class ShootingEnemy implements Component, SpatialHash.Tracked {
     public Body body;
-    // private TextureRegion textureRegion;
-    private Animation<TextureRegion> activeAnimation;
-    private float stateTime;
+    // this shooter with its transform, sprite, animation and behaviour tree (see EnemyTasks)
+    public final Entity entity = new Entity();
+    private final AnimationComponent animation;
     private boolean facingRight = true;
 
     private World world;
-    private GameScreen gameScreen;
+    private GameWorld gameWorld;
 
     private float visualWidth, visualHeight;
 
     private float shootCooldownTimer = 0f;
     public static final float SHOOT_COOLDOWN = 3.0f;
     public static final float DETECTION_RADIUS = 5f;
+    // the cannon turns towards the player a little before it is in range (playerNear scale:1.2 in turret.tree)
+    public static final float FACING_RANGE_SCALE = 1.2f;
+    // after waking up it waits at least this long before the first shot, so it never fires from off-screen
+    public static final float WAKE_SHOOT_DELAY = 0.5f;
+    private boolean dormant = false;
+    private final int lineOfSightId;
+    // id in GameWorld's SpatialHash, -1 when not tracked
+    private int spatialId = -1;
 
     private float instanceShootCooldown;
     private float instanceDetectionRadiusMeters;
-    private Texture projectileTexture;
 
     public static final int SPRITESHEET_FRAME_WIDTH = 16;
     public static final int SPRITESHEET_FRAME_HEIGHT = 16;
 
-    public float PROJECTILE_WIDTH_PIXELS = 6f;
-    public float PROJECTILE_HEIGHT_PIXELS = 6f;
+    public static final float PROJECTILE_WIDTH_PIXELS = 6f;
+    public static final float PROJECTILE_HEIGHT_PIXELS = 6f;
 
 
-    public ShootingEnemy(World world, GameScreen gameScreen,
-                         Texture shootingEnemySheetTexture,
-                         Texture projectileTexture,
+    public ShootingEnemy(World world, GameWorld gameWorld,
+                         FacingAnimation animation,
                          float x_pixels,
                          float y_pixels,
                          float visualWidth_pixels,
@@ -47,22 +50,18 @@ public class ShootingEnemy {
                          float shootCooldown_seconds) {
 
         this.world = world;
-        this.gameScreen = gameScreen;
-        this.projectileTexture = projectileTexture;
+        this.gameWorld = gameWorld;
+        this.lineOfSightId = gameWorld.getLineOfSight().register();
         this.visualWidth = visualWidth_pixels;
         this.visualHeight = visualHeight_pixels;
 
         this.instanceDetectionRadiusMeters = detectionRadius_pixels / GameScreen.PPM;
         this.instanceShootCooldown = shootCooldown_seconds;
-        this.shootCooldownTimer = this.instanceShootCooldown * (float) Math.random(); // a bit random
+        this.shootCooldownTimer = this.instanceShootCooldown * gameWorld.getRandom().nextFloat(); // a bit random
 
-        loadAnimation(shootingEnemySheetTexture);
-
-        if (activeAnimation != null) {
-            this.stateTime = (float)(Math.random() * activeAnimation.getAnimationDuration());
-        } else {
-            this.stateTime = 0f;
-        }
+        // drawn even without an animation, so headless runs use the RNG exactly like the game does
+        float phase = gameWorld.getRandom().nextFloat();
+        this.animation = new AnimationComponent(animation, animation != null ? phase * animation.getAnimationDuration() : 0f);
 
         BodyDef bodyDef = new BodyDef();
         bodyDef.type = BodyDef.BodyType.StaticBody;
@@ -76,103 +75,78 @@ public class ShootingEnemy {
 
         FixtureDef fixtureDef = new FixtureDef();
         fixtureDef.shape = shape;
-        body.createFixture(fixtureDef).setUserData(this);
+        gameWorld.getCollisionLayers().tag(body.createFixture(fixtureDef), FixtureTag.SHOOTING_ENEMY);
+        body.setUserData(this);
         shape.dispose();
+
+        TransformComponent transform = new TransformComponent(visualWidth_pixels, visualHeight_pixels).snap(body.getPosition());
+        entity.add(this).add(transform).add(new SpriteComponent(null)).add(this.animation);
     }
 
-    private void loadAnimation(Texture animationSheet) {
-        if (animationSheet == null) {
-            Gdx.app.error("ShootingEnemyAnim", "Animation sheet is null!");
-            Texture dummyTexture = new Texture(Gdx.files.internal("assets/shooting_enemy.png")); // old texture (zaglushlka)
-            activeAnimation = new Animation<>(1f, new TextureRegion(dummyTexture));
-            return;
-        }
+    /** The animation of the shooter sheet, shared by all shooters; null without a sheet (headless). */
+    public static FacingAnimation animation(TextureRegion animationSheet) {
+        return FacingAnimation.fromSheetRow(animationSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT, 4, 0.2f);
+    }
 
-        int frameCount = 4;
-        TextureRegion[][] tmpFrames = TextureRegion.split(animationSheet, SPRITESHEET_FRAME_WIDTH, SPRITESHEET_FRAME_HEIGHT);
-        Array<TextureRegion> frames = new Array<>(frameCount);
-        for (int i = 0; i < frameCount; i++) {
-            frames.add(tmpFrames[0][i]);
-        }
-        activeAnimation = new Animation<>(0.2f, frames, Animation.PlayMode.LOOP);
+    public FacingAnimation getActiveAnimation() {
+        return animation.animation;
     }
 
-    public Animation<TextureRegion> getActiveAnimation() {
-        return activeAnimation;
+    public void tickCooldown(float elapsed) {
+        shootCooldownTimer -= elapsed;
     }
 
-    public void update(float dt, Player player) {
-        stateTime += dt; // update animate time
+    public boolean isCooldownReady() {
+        return shootCooldownTimer <= 0;
+    }
 
-        // shootin logic
-        shootCooldownTimer -= dt;
-        if (shootCooldownTimer <= 0 && player != null && !player.isDead() && body != null && body.isActive()) {
-            Vector2 enemyPos = body.getPosition();
-            Vector2 playerPos = player.getPositionMeters();
-            float distanceToPlayer = enemyPos.dst(playerPos);
+    public float getShootCooldownTimer() {
+        return shootCooldownTimer;
+    }
 
-            if (distanceToPlayer <= this.instanceDetectionRadiusMeters) {
-                if (hasLineOfSight(player)) {
-                    shoot(playerPos);
-                    shootCooldownTimer = this.instanceShootCooldown;
-                }
-            }
-        }
+    /** Whether a player this far away (squared meters) is within scale times the detection radius. */
+    public boolean isWithinDetection(float distanceSquared, float scale) {
+        float radius = instanceDetectionRadiusMeters * scale;
+        return distanceSquared <= radius * radius;
+    }
 
-        // right left for "canon"
-        if (player != null && !player.isDead() && body != null && body.isActive()) {
-            Vector2 enemyPos = body.getPosition();
-            if (enemyPos.dst(player.getPositionMeters()) <= instanceDetectionRadiusMeters * 1.2f) {
-                boolean shouldFaceRight = player.getPositionMeters().x > enemyPos.x;
-                facingRight = shouldFaceRight;
-            }
-        }
+    public boolean canSeePlayer() {
+        return hasLineOfSight(gameWorld.getPlayer());
     }
 
-    private void flipCurrentFrame(TextureRegion frame) {
-        if (frame == null) return;
-        if (!facingRight && !frame.isFlipX()) {
-            frame.flip(true, false);
-        } else if (facingRight && frame.isFlipX()) {
-            frame.flip(true, false);
-        }
+    public void shootAtPlayer() {
+        Player player = gameWorld.getPlayer();
+        if (player == null || body == null) return;
+        shoot(player.getPositionMeters());
+        shootCooldownTimer = this.instanceShootCooldown;
     }
 
-    public void draw(SpriteBatch batch) {
-        if (body == null || !body.isActive() || activeAnimation == null) return;
+    // right left for "canon"
+    public void facePlayer() {
+        Player player = gameWorld.getPlayer();
+        if (player == null || body == null) return;
+        facingRight = player.getPositionMeters().x > body.getPosition().x;
+        animation.facingRight = facingRight;
+    }
 
-        TextureRegion currentFrame = activeAnimation.getKeyFrame(stateTime, true);
-        flipCurrentFrame(currentFrame);
+    public float getVisualWidth() {
+        return visualWidth;
+    }
 
-        batch.draw(currentFrame,
-            body.getPosition().x * GameScreen.PPM - visualWidth / 2f,
-            body.getPosition().y * GameScreen.PPM - visualHeight / 2f,
-            visualWidth,
-            visualHeight);
+    public float getVisualHeight() {
+        return visualHeight;
     }
 
     private void shoot(Vector2 targetPosition) {
-        Gdx.app.log("SHOOTING_ENEMY", "Shooting towards " + targetPosition);
-
         // set point of aim, with direction
         float firePointOffsetX = visualWidth / GameScreen.PPM / 2f + 0.1f; // from center
         if (!facingRight) { // if lookin left
             firePointOffsetX *= -1;
         }
-        Vector2 firePoint = body.getPosition().cpy().add(firePointOffsetX, 0); // zsuv po X
-
-        Vector2 direction = targetPosition.cpy().sub(firePoint).nor();
-
-        if (gameScreen != null) gameScreen.playShootSound();
-
-        Projectile projectile = new Projectile(world, projectileTexture,
-            firePoint.x, firePoint.y,
-            PROJECTILE_WIDTH_PIXELS, PROJECTILE_HEIGHT_PIXELS,
-            direction);
-        gameScreen.addProjectile(projectile);
-
-
+        float fireX = body.getPosition().x + firePointOffsetX; // zsuv po X
+        float fireY = body.getPosition().y;
 
+        gameWorld.fireProjectile(fireX, fireY, targetPosition.x - fireX, targetPosition.y - fireY);
     }
 
     private boolean hasLineOfSight(Player player) {
@@ -181,24 +155,25 @@ public class ShootingEnemy {
         }
         Vector2 enemyPos = body.getPosition();
         Vector2 playerPos = player.getPositionMeters();
-        final boolean[] hitPlayer = {false};
-        final Fixture[] hitFixture = {null};
-        RayCastCallback callback = new RayCastCallback() {
-            @Override
-            public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
-                if (fixture.getBody() == ShootingEnemy.this.body) return 1;
-                hitFixture[0] = fixture;
-                if (fixture.getUserData() instanceof Player || (fixture.getUserData() instanceof String && "player".equals(fixture.getUserData())) ) {
-                    hitPlayer[0] = true;
-                    return 0;
-                } else if (fixture.getUserData() instanceof String && "ground".equals(fixture.getUserData())) {
-                    return 0;
-                }
-                return 1;
-            }
-        };
-        world.rayCast(callback, enemyPos, playerPos);
-        return hitPlayer[0] && hitFixture[0] != null && (hitFixture[0].getUserData() instanceof Player || "player".equals(hitFixture[0].getUserData()));
+        return gameWorld.getLineOfSight().canSee(lineOfSightId,
+            enemyPos.x * GameScreen.PPM, enemyPos.y * GameScreen.PPM,
+            playerPos.x * GameScreen.PPM, playerPos.y * GameScreen.PPM);
+    }
+
+    /** Puts the shooter to sleep or wakes it; the cooldown is frozen while it sleeps. */
+    public void setDormant(boolean dormant) {
+        if (this.dormant == dormant || body == null) return;
+        this.dormant = dormant;
+        body.setActive(!dormant);
+        if (dormant) entity.add(DormantComponent.INSTANCE);
+        else entity.remove(DormantComponent.class);
+        if (!dormant && shootCooldownTimer < WAKE_SHOOT_DELAY) {
+            shootCooldownTimer = WAKE_SHOOT_DELAY;
+        }
+    }
+
+    public boolean isDormant() {
+        return dormant;
     }
 
     public Body getBody() {
@@ -207,4 +182,14 @@ public class ShootingEnemy {
 
     public void dispose() {
     }
+
+    @Override
+    public int getSpatialId() {
+        return spatialId;
+    }
+
+    @Override
+    public void setSpatialId(int id) {
+        this.spatialId = id;
+    }
 }
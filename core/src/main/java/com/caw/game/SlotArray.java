@@ -0,0 +1,50 @@
+package com.caw.game;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Unordered Array whose elements remember their own index, so removeValue is an O(1) swap with the last
+ * element instead of a scan and shift. Only add, removeValue and clear keep the slots right; the other
+ * Array mutators must not be used on it.
+ */
+public class SlotArray<T extends SlotArray.Slotted> extends Array<T> {
+    public interface Slotted {
+        int getSlot();
+
+        void setSlot(int slot);
+    }
+
+    public SlotArray() {
+        super(false, 16);
+    }
+
+    @Override
+    public void add(T value) {
+        value.setSlot(size);
+        super.add(value);
+    }
+
+    @Override
+    public boolean removeValue(T value, boolean identity) {
+        int slot = value.getSlot();
+        if (slot < 0 || slot >= size || items[slot] != value) return false;
+        T last = items[size - 1];
+        items[slot] = last;
+        last.setSlot(slot);
+        items[--size] = null;
+        value.setSlot(-1);
+        return true;
+    }
+
+    @Override
+    public boolean contains(T value, boolean identity) {
+        int slot = value.getSlot();
+        return slot >= 0 && slot < size && items[slot] == value;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) items[i].setSlot(-1);
+        super.clear();
+    }
+}
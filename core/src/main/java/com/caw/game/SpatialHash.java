@@ -0,0 +1,237 @@
+package com.caw.game;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid of square cells, hashed into a fixed power-of-two bucket table, for "what is near X" queries.
+ * Every tracked entity gets an int id; its position, cell, category and bucket links live in parallel
+ * primitive arrays, and the entities of one bucket form an intrusive doubly linked list, so moving an entity
+ * to another cell is O(1) and moving it within its cell is just two stores.
+ * <p>
+ * Categories are the {@link FixtureTag} bits from {@link CollisionLayers#category}, so a query can ask for e.g.
+ * only shooting enemies. Queries append ids to a caller-owned IntArray and never allocate once it has grown.
+ * Positions are in meters, like body positions.
+ */
+public class SpatialHash {
+    /** Implemented by whatever is stored, so it can find its own id again. */
+    public interface Tracked {
+        int getSpatialId();
+
+        void setSpatialId(int id);
+    }
+
+    private static final int NONE = -1;
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private final int bucketMask;
+    private final int[] bucketHead;
+
+    private int capacity;
+    private Tracked[] owners;
+    private float[] xs, ys;
+    private int[] cellXs, cellYs;
+    private int[] categories;
+    private int[] next, previous;
+    private int[] freeIds;
+    private int freeCount = 0;
+    private int highWater = 0;
+    private int size = 0;
+
+    /** bucketCount is rounded up to a power of two; a few times the number of occupied cells is plenty. */
+    public SpatialHash(float cellSize, int bucketCount, int initialCapacity) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+        int buckets = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+        this.bucketMask = buckets - 1;
+        this.bucketHead = new int[buckets];
+        Arrays.fill(bucketHead, NONE);
+
+        capacity = Math.max(16, initialCapacity);
+        owners = new Tracked[capacity];
+        xs = new float[capacity];
+        ys = new float[capacity];
+        cellXs = new int[capacity];
+        cellYs = new int[capacity];
+        categories = new int[capacity];
+        next = new int[capacity];
+        previous = new int[capacity];
+        freeIds = new int[capacity];
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Starts tracking owner at (x, y). Does nothing if it is already tracked. */
+    public void add(Tracked owner, FixtureTag tag, float x, float y) {
+        if (owner.getSpatialId() != NONE) return;
+        int id = freeCount > 0 ? freeIds[--freeCount] : highWater++;
+        if (id >= capacity) grow();
+
+        owners[id] = owner;
+        categories[id] = CollisionLayers.category(tag);
+        xs[id] = x;
+        ys[id] = y;
+        cellXs[id] = cell(x);
+        cellYs[id] = cell(y);
+        link(id);
+        owner.setSpatialId(id);
+        size++;
+    }
+
+    /** Updates owner's position, relinking it only when it crossed into another cell. */
+    public void move(Tracked owner, float x, float y) {
+        int id = owner.getSpatialId();
+        if (id == NONE) return;
+        xs[id] = x;
+        ys[id] = y;
+        int cellX = cell(x);
+        int cellY = cell(y);
+        if (cellX == cellXs[id] && cellY == cellYs[id]) return;
+
+        unlink(id);
+        cellXs[id] = cellX;
+        cellYs[id] = cellY;
+        link(id);
+    }
+
+    public void remove(Tracked owner) {
+        int id = owner.getSpatialId();
+        if (id == NONE) return;
+        unlink(id);
+        owners[id] = null;
+        freeIds[freeCount++] = id;
+        owner.setSpatialId(NONE);
+        size--;
+    }
+
+    /** Forgets every entity; their ids are reset as well. */
+    public void clear() {
+        for (int id = 0; id < highWater; id++) {
+            if (owners[id] != null) owners[id].setSpatialId(NONE);
+            owners[id] = null;
+        }
+        Arrays.fill(bucketHead, NONE);
+        highWater = 0;
+        freeCount = 0;
+        size = 0;
+    }
+
+    public Tracked getOwner(int id) {
+        return owners[id];
+    }
+
+    public float getX(int id) {
+        return xs[id];
+    }
+
+    public float getY(int id) {
+        return ys[id];
+    }
+
+    /**
+     * Clears out and fills it with the ids of the entities within radius of (x, y) whose category is in
+     * categoryMask. Returns how many were found.
+     */
+    public int queryRadius(float x, float y, float radius, int categoryMask, IntArray out) {
+        out.clear();
+        float radiusSquared = radius * radius;
+        int minX = cell(x - radius), maxX = cell(x + radius);
+        int minY = cell(y - radius), maxY = cell(y + radius);
+
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > bucketHead.length) {
+            // the area covers more cells than there are buckets, one pass over everything is cheaper
+            for (int id = 0; id < highWater; id++) {
+                if (owners[id] == null || (categories[id] & categoryMask) == 0) continue;
+                float dx = xs[id] - x, dy = ys[id] - y;
+                if (dx * dx + dy * dy <= radiusSquared) out.add(id);
+            }
+            return out.size;
+        }
+
+        for (int cellY = minY; cellY <= maxY; cellY++) {
+            for (int cellX = minX; cellX <= maxX; cellX++) {
+                for (int id = bucketHead[bucket(cellX, cellY)]; id != NONE; id = next[id]) {
+                    // other cells can share the bucket; checking the cell also keeps results unique
+                    if (cellXs[id] != cellX || cellYs[id] != cellY || (categories[id] & categoryMask) == 0) continue;
+                    float dx = xs[id] - x, dy = ys[id] - y;
+                    if (dx * dx + dy * dy <= radiusSquared) out.add(id);
+                }
+            }
+        }
+        return out.size;
+    }
+
+    /** Like {@link #queryRadius}, for the axis-aligned box [minX, maxX] x [minY, maxY]. */
+    public int queryAabb(float minX, float minY, float maxX, float maxY, int categoryMask, IntArray out) {
+        out.clear();
+        int minCellX = cell(minX), maxCellX = cell(maxX);
+        int minCellY = cell(minY), maxCellY = cell(maxY);
+
+        if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > bucketHead.length) {
+            for (int id = 0; id < highWater; id++) {
+                if (owners[id] == null || (categories[id] & categoryMask) == 0) continue;
+                if (xs[id] >= minX && xs[id] <= maxX && ys[id] >= minY && ys[id] <= maxY) out.add(id);
+            }
+            return out.size;
+        }
+
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int id = bucketHead[bucket(cellX, cellY)]; id != NONE; id = next[id]) {
+                    if (cellXs[id] != cellX || cellYs[id] != cellY || (categories[id] & categoryMask) == 0) continue;
+                    if (xs[id] >= minX && xs[id] <= maxX && ys[id] >= minY && ys[id] <= maxY) out.add(id);
+                }
+            }
+        }
+        return out.size;
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private int bucket(int cellX, int cellY) {
+        return (cellX * 73856093 ^ cellY * 19349663) & bucketMask;
+    }
+
+    private void link(int id) {
+        int bucket = bucket(cellXs[id], cellYs[id]);
+        int head = bucketHead[bucket];
+        next[id] = head;
+        previous[id] = NONE;
+        if (head != NONE) previous[head] = id;
+        bucketHead[bucket] = id;
+    }
+
+    private void unlink(int id) {
+        int before = previous[id];
+        int after = next[id];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            bucketHead[bucket(cellXs[id], cellYs[id])] = after;
+        }
+        if (after != NONE) previous[after] = before;
+    }
+
+    private void grow() {
+        capacity *= 2;
+        owners = Arrays.copyOf(owners, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        cellXs = Arrays.copyOf(cellXs, capacity);
+        cellYs = Arrays.copyOf(cellYs, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        freeIds = Arrays.copyOf(freeIds, capacity);
+    }
+}
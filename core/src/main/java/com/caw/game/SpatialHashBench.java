@@ -0,0 +1,109 @@
+package com.caw.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Locale;
+
+/**
+ * Scaling benchmark for {@link SpatialHash}, run from the core benchSpatialHash Gradle task. For 100 up to 100k
+ * entities at a constant density (about one per 4 square meters, so the world grows with the count) every
+ * entity moves a little per frame, then 100 radius queries of shooter range are made. "brute" is the scan over
+ * every entity that a distance check per enemy amounts to; "hash" is the grid query. "move" is the per-frame
+ * incremental update of all entities.
+ */
+public class SpatialHashBench {
+    private static final int[] COUNTS = {100, 1_000, 10_000, 100_000};
+    private static final int QUERIES = 100;
+    private static final float QUERY_RADIUS = ShootingEnemy.DETECTION_RADIUS * ShootingEnemy.FACING_RANGE_SCALE;
+    private static final float AREA_PER_ENTITY = 4f;
+    private static final float STEP = 0.05f;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 30;
+
+    public static void main(String[] args) {
+        System.out.println(String.format(Locale.ROOT, "%8s %14s %14s %14s %10s",
+            "entities", "brute us/query", "hash us/query", "move ms/frame", "found/q"));
+        long sink = 0;
+        for (int count : COUNTS) sink += run(count);
+        System.out.println(String.format(Locale.ROOT, "(checksum %d)", sink));
+    }
+
+    private static long run(int count) {
+        RandomXS128 random = new RandomXS128(count);
+        float side = (float) Math.sqrt(count * AREA_PER_ENTITY);
+        SpatialHash hash = new SpatialHash(ShootingEnemy.DETECTION_RADIUS / 2f, count, count);
+        Entity[] entities = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            Entity entity = new Entity();
+            entity.x = random.nextFloat() * side;
+            entity.y = random.nextFloat() * side;
+            entities[i] = entity;
+            hash.add(entity, i % 10 == 0 ? FixtureTag.SHOOTING_ENEMY : FixtureTag.ENEMY, entity.x, entity.y);
+        }
+        int mask = CollisionLayers.category(FixtureTag.SHOOTING_ENEMY) | CollisionLayers.category(FixtureTag.ENEMY);
+        IntArray out = new IntArray(256);
+        float[] queryX = new float[QUERIES];
+        float[] queryY = new float[QUERIES];
+
+        long sink = 0;
+        long bruteNanos = 0, hashNanos = 0, moveNanos = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            for (int q = 0; q < QUERIES; q++) {
+                queryX[q] = random.nextFloat() * side;
+                queryY[q] = random.nextFloat() * side;
+            }
+
+            long start = System.nanoTime();
+            for (Entity entity : entities) {
+                entity.x += (random.nextFloat() - 0.5f) * STEP;
+                entity.y += (random.nextFloat() - 0.5f) * STEP;
+                hash.move(entity, entity.x, entity.y);
+            }
+            long moved = System.nanoTime();
+
+            for (int q = 0; q < QUERIES; q++) sink += brute(entities, queryX[q], queryY[q]);
+            long bruted = System.nanoTime();
+
+            for (int q = 0; q < QUERIES; q++) sink += hash.queryRadius(queryX[q], queryY[q], QUERY_RADIUS, mask, out);
+            long hashed = System.nanoTime();
+
+            if (round >= WARMUP_ROUNDS) {
+                moveNanos += moved - start;
+                bruteNanos += bruted - moved;
+                hashNanos += hashed - bruted;
+            }
+        }
+
+        double queries = (double) QUERIES * ROUNDS;
+        System.out.println(String.format(Locale.ROOT, "%8d %14.2f %14.2f %14.3f %10.1f", count,
+            bruteNanos / queries / 1e3, hashNanos / queries / 1e3, moveNanos / (double) ROUNDS / 1e6,
+            sink / (2 * (double) QUERIES * (WARMUP_ROUNDS + ROUNDS))));
+        return sink;
+    }
+
+    private static int brute(Entity[] entities, float x, float y) {
+        float radiusSquared = QUERY_RADIUS * QUERY_RADIUS;
+        int found = 0;
+        for (Entity entity : entities) {
+            float dx = entity.x - x, dy = entity.y - y;
+            if (dx * dx + dy * dy <= radiusSquared) found++;
+        }
+        return found;
+    }
+
+    private static final class Entity implements SpatialHash.Tracked {
+        float x, y;
+        int spatialId = -1;
+
+        @Override
+        public int getSpatialId() {
+            return spatialId;
+        }
+
+        @Override
+        public void setSpatialId(int id) {
+            this.spatialId = id;
+        }
+    }
+}
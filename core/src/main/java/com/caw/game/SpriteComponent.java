@@ -0,0 +1,17 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * What {@link RenderSystem} draws at the entity's transform. The region is shared and never changed; animated
+ * entities get a new one from {@link AnimationSystem} every frame. Null (headless) or hidden draws nothing.
+ */
+public class SpriteComponent implements Component {
+    public TextureRegion region;
+    public boolean visible = true;
+
+    public SpriteComponent(TextureRegion region) {
+        this.region = region;
+    }
+}
@@ -0,0 +1,24 @@
+package com.caw.game;
+
+/**
+ * Priorities of the entity systems, lowest first. The fixed-step systems run through Engine.update in
+ * {@link GameWorld#step}; the per-frame ones are switched off there and run by
+ * {@link GameWorld#updateVisuals} and GameScreen instead.
+ */
+public final class SystemOrder {
+    // fixed step: gameplay reads the state of the last step, physics moves everything, transforms follow
+    public static final int PLAYER = 0;
+    public static final int AI = 1;
+    public static final int PATHS = 2;
+    public static final int LIFETIME = 3;
+    public static final int PROJECTILES = 4;
+    public static final int PHYSICS = 5;
+    public static final int TRANSFORM_SYNC = 6;
+
+    // per frame
+    public static final int ANIMATION = 10;
+    public static final int RENDER = 11;
+
+    private SystemOrder() {
+    }
+}
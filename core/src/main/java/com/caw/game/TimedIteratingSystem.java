@@ -0,0 +1,47 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+
+/** Ashley's IteratingSystem with the timing of {@link TimedSystem}: processes every entity of a family per update. */
+public abstract class TimedIteratingSystem extends TimedSystem {
+    private final Family family;
+    private ImmutableArray<Entity> entities;
+
+    protected TimedIteratingSystem(Family family, int priority) {
+        super(priority);
+        this.family = family;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(family);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        entities = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        long start = System.nanoTime();
+        begin(deltaTime);
+        for (int i = 0; i < entities.size(); i++) {
+            processEntity(entities.get(i), deltaTime);
+        }
+        record(start);
+    }
+
+    /** Runs before the entities of an update are processed, inside the timing. */
+    protected void begin(float deltaTime) {
+    }
+
+    protected abstract void processEntity(Entity entity, float deltaTime);
+
+    public ImmutableArray<Entity> getEntities() {
+        return entities;
+    }
+}
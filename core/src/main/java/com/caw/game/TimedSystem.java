@@ -0,0 +1,35 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.EntitySystem;
+
+/**
+ * An EntitySystem that keeps the time it spends, so each system can be profiled on its own (GameWorld logs
+ * them with -Dcaw.systemStats=true). Subclasses call {@link #record} at the end of each run.
+ */
+public abstract class TimedSystem extends EntitySystem {
+    private long nanos = 0;
+    private int runs = 0;
+
+    protected TimedSystem(int priority) {
+        super(priority);
+    }
+
+    /** Counts one run that started at start, a System.nanoTime() value. */
+    protected void record(long start) {
+        nanos += System.nanoTime() - start;
+        runs++;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public void resetTimes() {
+        nanos = 0;
+        runs = 0;
+    }
+}
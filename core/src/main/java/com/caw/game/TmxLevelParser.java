@@ -0,0 +1,262 @@
+package com.caw.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads a Tiled .tmx file straight into {@link LevelData} without touching GL, so it can run inside the
+ * level compiler as well as at runtime. Object groups are resolved with the same rules GameScreen used on
+ * the TmxMapLoader objects: first playerStart spawn, "Collision" rectangles with surface_type,
+ * "Collectibles" coins and key, "Enemies" and "Interactables" doors.
+ */
+public class TmxLevelParser {
+    public static final String LAYER_SPAWN_POINTS = "SpawnPoints";
+    public static final String LAYER_COLLISION = "Collision";
+    public static final String LAYER_COLLECTIBLES = "Collectibles";
+    public static final String LAYER_ENEMIES = "Enemies";
+    public static final String LAYER_INTERACTABLES = "Interactables";
+
+    private TmxLevelParser() { }
+
+    public static LevelData parse(FileHandle tmxFile) {
+        Element root = new XmlReader().parse(tmxFile);
+        LevelData level = new LevelData();
+
+        level.width = root.getIntAttribute("width", 0);
+        level.height = root.getIntAttribute("height", 0);
+        level.tileWidth = root.getIntAttribute("tilewidth", 0);
+        level.tileHeight = root.getIntAttribute("tileheight", 0);
+        readProperties(root, level.properties);
+
+        for (Element tileset : root.getChildrenByName("tileset")) {
+            LevelData.TilesetInfo info = readTileset(tmxFile, tileset);
+            if (info != null) level.tilesets.add(info);
+        }
+
+        readLayers(root, level);
+        return level;
+    }
+
+    private static void readLayers(Element parent, LevelData level) {
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            Element child = parent.getChild(i);
+            if ("layer".equals(child.getName())) {
+                level.tileLayers.add(readTileLayer(child, level));
+            } else if ("objectgroup".equals(child.getName())) {
+                readObjectGroup(child, level);
+            } else if ("group".equals(child.getName())) {
+                readLayers(child, level);
+            }
+        }
+    }
+
+    private static LevelData.TilesetInfo readTileset(FileHandle tmxFile, Element tileset) {
+        int firstGid = tileset.getIntAttribute("firstgid", 1);
+        String source = tileset.getAttribute("source", null);
+        String baseDir = "";
+
+        if (source != null) {
+            FileHandle tsxFile = tmxFile.parent().child(source);
+            if (!tsxFile.exists()) {
+                warn("Tileset '" + source + "' referenced by " + tmxFile.name() + " not found, skipping it");
+                return null;
+            }
+            tileset = new XmlReader().parse(tsxFile);
+            int slash = source.lastIndexOf('/');
+            baseDir = slash >= 0 ? source.substring(0, slash + 1) : "";
+        }
+
+        Element image = tileset.getChildByName("image");
+        if (image == null) {
+            warn("Tileset '" + tileset.getAttribute("name", "?") + "' is an image collection, skipping it");
+            return null;
+        }
+
+        LevelData.TilesetInfo info = new LevelData.TilesetInfo();
+        info.firstGid = firstGid;
+        info.name = tileset.getAttribute("name", "");
+        info.imagePath = resolvePath(baseDir, image.getAttribute("source"));
+        info.tileWidth = tileset.getIntAttribute("tilewidth", 0);
+        info.tileHeight = tileset.getIntAttribute("tileheight", 0);
+        info.spacing = tileset.getIntAttribute("spacing", 0);
+        info.margin = tileset.getIntAttribute("margin", 0);
+        info.columns = tileset.getIntAttribute("columns", 0);
+        info.tileCount = tileset.getIntAttribute("tilecount", 0);
+        return info;
+    }
+
+    private static LevelData.TileLayerData readTileLayer(Element layer, LevelData level) {
+        LevelData.TileLayerData data = new LevelData.TileLayerData();
+        data.name = layer.getAttribute("name", "");
+        data.visible = layer.getIntAttribute("visible", 1) == 1;
+        data.opacity = layer.getFloatAttribute("opacity", 1f);
+
+        int width = layer.getIntAttribute("width", level.width);
+        int height = layer.getIntAttribute("height", level.height);
+        data.gids = readGids(layer.getChildByName("data"), width * height);
+        return data;
+    }
+
+    private static int[] readGids(Element data, int count) {
+        int[] gids = new int[count];
+        if (data == null) return gids;
+
+        String encoding = data.getAttribute("encoding", null);
+        if (encoding == null) {
+            Array<Element> tiles = data.getChildrenByName("tile");
+            for (int i = 0; i < tiles.size && i < count; i++) {
+                gids[i] = (int) Long.parseLong(tiles.get(i).getAttribute("gid", "0"));
+            }
+        } else if ("csv".equals(encoding)) {
+            String[] values = data.getText().split(",");
+            for (int i = 0; i < values.length && i < count; i++) {
+                gids[i] = (int) Long.parseLong(values[i].trim());
+            }
+        } else if ("base64".equals(encoding)) {
+            byte[] bytes = Base64.getMimeDecoder().decode(data.getText().trim());
+            String compression = data.getAttribute("compression", null);
+            InputStream in = new ByteArrayInputStream(bytes);
+            try {
+                if ("zlib".equals(compression)) in = new InflaterInputStream(in);
+                else if ("gzip".equals(compression)) in = new GZIPInputStream(in);
+                else if (compression != null) throw new GdxRuntimeException("Unsupported tile layer compression: " + compression);
+
+                DataInputStream dataIn = new DataInputStream(in);
+                for (int i = 0; i < count; i++) {
+                    gids[i] = Integer.reverseBytes(dataIn.readInt()); // tiled stores little-endian
+                }
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Could not decode tile layer data", e);
+            }
+        } else {
+            throw new GdxRuntimeException("Unsupported tile layer encoding: " + encoding);
+        }
+        return gids;
+    }
+
+    private static void readObjectGroup(Element group, LevelData level) {
+        String name = group.getAttribute("name", "");
+        Rectangle rect = new Rectangle();
+        ObjectMap<String, String> props = new ObjectMap<>();
+
+        for (Element object : group.getChildrenByName("object")) {
+            props.clear();
+            String type = object.getAttribute("type", object.getAttribute("class", null));
+            if (type != null) props.put("type", type);
+            readProperties(object, props);
+            boolean isRectangle = readBounds(object, level.getHeightPixels(), rect);
+
+            if (LAYER_SPAWN_POINTS.equals(name)) {
+                if (!level.hasPlayerSpawn && Boolean.parseBoolean(props.get("playerStart", "false"))) {
+                    level.hasPlayerSpawn = true;
+                    level.playerSpawnPixels.set(rect.x + rect.width / 2f, rect.y + rect.height / 2f);
+                }
+            } else if (LAYER_COLLISION.equals(name)) {
+                if (isRectangle) {
+                    level.collisionRects.add(new LevelData.CollisionRect(new Rectangle(rect), props.get("surface_type", "ground")));
+                }
+            } else if (LAYER_COLLECTIBLES.equals(name)) {
+                if ("coin".equals(props.get("type"))) {
+                    level.coinPositionsPixels.add(rect.getCenter(new Vector2()));
+                } else if ("key".equals(props.get("type")) && level.keyBoundsPixels == null) {
+                    level.keyBoundsPixels = new Rectangle(rect);
+                }
+            } else if (LAYER_ENEMIES.equals(name)) {
+                String enemyType = props.get("type");
+                if (enemyType == null) continue;
+
+                LevelData.EnemySpawn spawn = new LevelData.EnemySpawn();
+                spawn.type = enemyType;
+                spawn.xPixels = rect.x + rect.width / 2f;
+                spawn.yPixels = rect.y + rect.height / 2f;
+                spawn.patrolDistancePixels = parseFloat(props.get("patrolDistance"), 64f);
+                spawn.detectionRadiusPixels = parseFloat(props.get("detectionRadius"), ShootingEnemy.DETECTION_RADIUS * GameScreen.PPM);
+                spawn.shootCooldownSeconds = parseFloat(props.get("shootCooldown"), ShootingEnemy.SHOOT_COOLDOWN);
+                spawn.properties.putAll(props);
+                level.enemies.add(spawn);
+            } else if (LAYER_INTERACTABLES.equals(name)) {
+                if ("door".equals(props.get("type")) && isRectangle) {
+                    level.doors.add(new LevelData.DoorSpawn(new Rectangle(rect),
+                        props.get("nextLevel", "main_menu"),
+                        Boolean.parseBoolean(props.get("initiallyLocked", "true"))));
+                }
+            }
+        }
+    }
+
+    /** Fills out with the y-up bounds of the object. Returns false for ellipses, polygons, polylines and text. */
+    private static boolean readBounds(Element object, float mapHeightPixels, Rectangle out) {
+        float x = object.getFloatAttribute("x", 0f);
+        float y = object.getFloatAttribute("y", 0f);
+        float width = object.getFloatAttribute("width", 0f);
+        float height = object.getFloatAttribute("height", 0f);
+
+        if (object.getAttribute("gid", null) != null) {
+            out.set(x, mapHeightPixels - y, width, height); // tile objects are anchored at their bottom-left corner
+            return false;
+        }
+        out.set(x, mapHeightPixels - y - height, width, height);
+        return object.getChildByName("ellipse") == null
+            && object.getChildByName("polygon") == null
+            && object.getChildByName("polyline") == null
+            && object.getChildByName("text") == null;
+    }
+
+    private static void readProperties(Element parent, ObjectMap<String, String> out) {
+        Element properties = parent.getChildByName("properties");
+        if (properties == null) return;
+        for (Element property : properties.getChildrenByName("property")) {
+            String name = property.getAttribute("name", null);
+            String value = property.getAttribute("value", null);
+            if (value == null) value = property.getText();
+            if (name != null && value != null) out.put(name, value);
+        }
+    }
+
+    private static float parseFloat(String value, float defaultValue) {
+        if (value == null) return defaultValue;
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /** Joins a path relative to baseDir and folds ".." segments, e.g. ("tiles/", "../a.png") gives "a.png". */
+    static String resolvePath(String baseDir, String relative) {
+        String[] parts = (baseDir + relative).replace('\\', '/').split("/");
+        Array<String> result = new Array<>();
+        for (String part : parts) {
+            if (part.isEmpty() || ".".equals(part)) continue;
+            if ("..".equals(part) && result.size > 0 && !"..".equals(result.peek())) {
+                result.pop();
+            } else {
+                result.add(part);
+            }
+        }
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < result.size; i++) {
+            if (i > 0) path.append('/');
+            path.append(result.get(i));
+        }
+        return path.toString();
+    }
+
+    static void warn(String message) {
+        Log.error(Log.Category.MAP, message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Where an entity is and how big it is drawn. Positions are in meters like body positions: {@link #position}
+ * after the last fixed step and {@link #previousPosition} before it, so rendering can interpolate between
+ * them. The origin is the offset in pixels from the position to the sprite's lower left corner.
+ */
+public class TransformComponent implements Component {
+    public final Vector2 position = new Vector2();
+    public final Vector2 previousPosition = new Vector2();
+    public final float width;
+    public final float height;
+    public float originX;
+    public float originY;
+
+    /** Drawn width x height pixels, centered on the position. */
+    public TransformComponent(float width, float height) {
+        this.width = width;
+        this.height = height;
+        this.originX = width / 2f;
+        this.originY = height / 2f;
+    }
+
+    /** Moves without interpolating from the old position, e.g. after a teleport or a respawn. */
+    public TransformComponent snap(float x, float y) {
+        position.set(x, y);
+        previousPosition.set(x, y);
+        return this;
+    }
+
+    public TransformComponent snap(Vector2 position) {
+        return snap(position.x, position.y);
+    }
+
+    /** Position between the previous and the current step; alpha 1 is the current one. */
+    public Vector2 interpolate(float alpha, Vector2 out) {
+        return out.set(previousPosition.x + (position.x - previousPosition.x) * alpha,
+            previousPosition.y + (position.y - previousPosition.y) * alpha);
+    }
+}
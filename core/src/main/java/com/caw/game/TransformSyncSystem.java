@@ -0,0 +1,20 @@
+package com.caw.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/** Copies moving bodies' positions into their transforms after the step, keeping the old one to interpolate from. */
+public class TransformSyncSystem extends TimedIteratingSystem {
+    public TransformSyncSystem() {
+        super(Components.MOVING, SystemOrder.TRANSFORM_SYNC);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Body body = Components.BODY.get(entity).body;
+        if (body == null || !body.isActive()) return;
+        TransformComponent transform = Components.TRANSFORM.get(entity);
+        transform.previousPosition.set(transform.position);
+        transform.position.set(body.getPosition());
+    }
+}
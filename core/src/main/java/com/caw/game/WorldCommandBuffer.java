@@ -0,0 +1,79 @@
+package com.caw.game;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/**
+ * World changes requested while Box2D is locked (contact callbacks) or mid-update. Requests are deduplicated
+ * by identity in O(1) and applied together by {@link #apply} right after world.step. A sensor change on a
+ * body that is being destroyed in the same batch is dropped.
+ */
+public class WorldCommandBuffer {
+    /** Told about each body just before it is destroyed, while its userData is still readable. */
+    public interface Listener {
+        void bodyDestroyed(Body body, Object userData);
+    }
+
+    private final World world;
+    private final Array<Body> bodiesToDestroy = new Array<>(false, 64);
+    private final ObjectSet<Body> bodiesToDestroySet = new ObjectSet<>();
+    private final Array<Fixture> fixturesToMakeSensor = new Array<>(false, 16);
+    private final ObjectSet<Fixture> fixturesToMakeSensorSet = new ObjectSet<>();
+
+    public WorldCommandBuffer(World world) {
+        this.world = world;
+    }
+
+    /** Queues the body for destruction; false if it already was. */
+    public boolean destroyBody(Body body) {
+        if (body == null || !bodiesToDestroySet.add(body)) return false;
+        bodiesToDestroy.add(body);
+        return true;
+    }
+
+    public boolean makeSensor(Fixture fixture) {
+        if (fixture == null || !fixturesToMakeSensorSet.add(fixture)) return false;
+        fixturesToMakeSensor.add(fixture);
+        return true;
+    }
+
+    public boolean isQueuedForDestruction(Body body) {
+        return bodiesToDestroySet.contains(body);
+    }
+
+    public int size() {
+        return bodiesToDestroy.size + fixturesToMakeSensor.size;
+    }
+
+    public void apply(Listener listener) {
+        if (world.isLocked() || size() == 0) return;
+
+        for (int i = 0; i < fixturesToMakeSensor.size; i++) {
+            Fixture fixture = fixturesToMakeSensor.get(i);
+            Body body = fixture.getBody();
+            if (bodiesToDestroySet.contains(body) || !body.isActive()) continue;
+            fixture.setSensor(true);
+            Object bodyUserData = body.getUserData();
+            Log.debug(Log.Category.WORLD, "Fixture on body ({}) made sensor.",
+                bodyUserData instanceof GameWorld.DoorData ? "Door" : bodyUserData);
+        }
+
+        for (int i = 0; i < bodiesToDestroy.size; i++) {
+            Body body = bodiesToDestroy.get(i);
+            if (listener != null) listener.bodyDestroyed(body, body.getUserData());
+            world.destroyBody(body);
+        }
+        clear();
+    }
+
+    /** Drops every pending command, e.g. when the caller destroys the bodies itself. */
+    public void clear() {
+        bodiesToDestroy.clear();
+        bodiesToDestroySet.clear(32);
+        fixturesToMakeSensor.clear();
+        fixturesToMakeSensorSet.clear(16);
+    }
+}
@@ -1,423 +1,365 @@
 package com.caw.game;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.physics.box2d.ContactListener;
 import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
 
+/**
+ * Routes every contact through a table indexed by the two {@link FixtureTag}s, so a contact costs two
+ * array lookups and runs at most one {@link CollisionHandler}. Pairs without a handler (enemy - ground,
+ * player - wall, ...) return straight away.
+ */
 public class WorldContactListener implements ContactListener {
     private int footContacts = 0;
     private boolean playerIsOnGround = false;
-    private GameScreen gameScreen;
+    private final GameWorld gameWorld;
     private Player player;
+    // pickups and doors found in the callbacks, applied by applyContacts() once the step is over
+    private final ContactEventQueue contacts = new ContactEventQueue(ContactEventQueue.DEFAULT_CAPACITY);
 
     public static final float ENEMY_DAMAGE = 25f;
     public static final float PROJECTILE_DAMAGE = 25f;
 
-    public WorldContactListener(GameScreen gameScreen) {
-        this.gameScreen = gameScreen;
+    private final CollisionHandler[][] handlers = new CollisionHandler[FixtureTag.VALUES.length][FixtureTag.VALUES.length];
+    // true where the handler was registered for (b, a), so the fixtures have to be swapped back
+    private final boolean[][] swapped = new boolean[FixtureTag.VALUES.length][FixtureTag.VALUES.length];
+
+    public WorldContactListener(GameWorld gameWorld) {
+        this.gameWorld = gameWorld;
+        registerGameHandlers();
     }
 
     public void setPlayer(Player player) {
         this.player = player;
     }
 
-    private boolean isType(Fixture fixture, String type) {
-        return fixture != null && fixture.getUserData() != null && fixture.getUserData().equals(type);
+    /** Sets the handler for contacts between fixtures tagged a and b, replacing any earlier one. */
+    public void register(FixtureTag a, FixtureTag b, CollisionHandler handler) {
+        handlers[a.ordinal()][b.ordinal()] = handler;
+        swapped[a.ordinal()][b.ordinal()] = false;
+        if (a != b) {
+            handlers[b.ordinal()][a.ordinal()] = handler;
+            swapped[b.ordinal()][a.ordinal()] = true;
+        }
     }
 
-    private boolean isPlayerFixture(Fixture fixture) {
-        return fixture != null && fixture.getUserData() != null && "player".equals(fixture.getUserData().toString());
+    /** Registers the handler for tag against every tag that has no handler of its own yet. */
+    public void registerFallback(FixtureTag tag, CollisionHandler handler) {
+        for (FixtureTag other : FixtureTag.VALUES) {
+            if (handlers[tag.ordinal()][other.ordinal()] == null) register(tag, other, handler);
+        }
     }
 
-    private boolean isSurfaceType(Fixture fixture, String type) {
-        return fixture != null && fixture.getUserData() != null && type.equals(fixture.getUserData().toString());
+    private void registerGameHandlers() {
+        CollisionHandler playerProjectile = new PlayerProjectileHandler();
+        CollisionHandler playerCoin = new PlayerCoinHandler();
+        CollisionHandler playerKey = new PlayerKeyHandler();
+        CollisionHandler playerDoor = new PlayerDoorHandler();
+        CollisionHandler playerEnemy = new PlayerEnemyHandler();
+        for (FixtureTag playerTag : new FixtureTag[]{FixtureTag.PLAYER, FixtureTag.PLAYER_FEET}) {
+            register(playerTag, FixtureTag.PROJECTILE, playerProjectile);
+            register(playerTag, FixtureTag.COIN, playerCoin);
+            register(playerTag, FixtureTag.KEY, playerKey);
+            register(playerTag, FixtureTag.DOOR, playerDoor);
+            register(playerTag, FixtureTag.ENEMY, playerEnemy);
+        }
+        register(FixtureTag.PLAYER_FEET, FixtureTag.GROUND, new FootGroundHandler());
+        register(FixtureTag.PROJECTILE, FixtureTag.GROUND, new ProjectileGroundHandler());
+        registerFallback(FixtureTag.PROJECTILE, new ProjectileHandler());
     }
 
-    private boolean isPlayerFeetFixture(Fixture fixture) {
-        return fixture != null && fixture.getUserData() != null && fixture.getUserData().equals("playerFeet");
+    @Override
+    public void beginContact(Contact contact) {
+        Fixture fixA = contact.getFixtureA();
+        Fixture fixB = contact.getFixtureB();
+        int a = FixtureTag.of(fixA).ordinal();
+        int b = FixtureTag.of(fixB).ordinal();
+        CollisionHandler handler = handlers[a][b];
+        if (handler == null) return;
+        if (swapped[a][b]) handler.beginContact(contact, fixB, fixA);
+        else handler.beginContact(contact, fixA, fixB);
     }
 
-    private boolean isGroundFixture(Fixture fixture) {
-        return fixture != null && fixture.getUserData() != null && fixture.getUserData().equals("ground");
+    @Override
+    public void endContact(Contact contact) {
+        Fixture fixA = contact.getFixtureA();
+        Fixture fixB = contact.getFixtureB();
+        int a = FixtureTag.of(fixA).ordinal();
+        int b = FixtureTag.of(fixB).ordinal();
+        CollisionHandler handler = handlers[a][b];
+        if (handler == null) return;
+        if (swapped[a][b]) handler.endContact(contact, fixB, fixA);
+        else handler.endContact(contact, fixA, fixB);
     }
 
-    private boolean isWallFixture(Fixture fixture) {
-        return fixture != null && fixture.getUserData() != null && "wall".equals(fixture.getUserData().toString());
+    @Override
+    public void preSolve(Contact contact, Manifold oldManifold) {
+        Fixture fixA = contact.getFixtureA();
+        Fixture fixB = contact.getFixtureB();
+        int a = FixtureTag.of(fixA).ordinal();
+        int b = FixtureTag.of(fixB).ordinal();
+        CollisionHandler handler = handlers[a][b];
+        if (handler == null) return;
+        if (swapped[a][b]) handler.preSolve(contact, fixB, fixA);
+        else handler.preSolve(contact, fixA, fixB);
     }
 
-    private boolean isCoinFixture(Fixture fixture) {
-        return fixture != null && fixture.getUserData() != null &&
-            "coin_fixture".equals(fixture.getUserData().toString());
+    @Override
+    public void postSolve(Contact contact, ContactImpulse impulse) {}
+
+    public boolean isPlayerOnGround() {
+        return playerIsOnGround;
     }
 
-    private boolean isEnemyFixture(Fixture fixture) {
-        if (fixture == null) return false;
-        return fixture.getBody() != null && fixture.getBody().getUserData() instanceof Enemy;
+    /**
+     * Applies the coin, key and door contacts of the last step; called after world.step, so the callbacks
+     * themselves never write game state.
+     */
+    public void applyContacts() {
+        ContactEventQueue.Event event;
+        while ((event = contacts.poll()) != null) {
+            switch (event.type) {
+                case COIN_TOUCHED:
+                    coinTouched((Coin) event.subject);
+                    break;
+                case KEY_TOUCHED:
+                    keyTouched(event.fixture);
+                    break;
+                case DOOR_REACHED:
+                    doorReached((GameWorld.DoorData) event.subject, event.fixture);
+                    break;
+            }
+            event.subject = null;
+            event.fixture = null;
+        }
     }
 
-    private boolean isProjectileFixture(Fixture fixture) {
-        return fixture != null && fixture.getUserData() instanceof Projectile;
+    /** Drops the contacts not applied yet, for a restart between steps. */
+    public void clearContacts() {
+        contacts.clear();
     }
 
+    private void coinTouched(Coin coin) {
+        // both player fixtures can touch the same coin in one step
+        if (coin.isScheduledForRemoval()) return;
+        Log.debug(Log.Category.CONTACT, "Player touched an animated coin!");
+        gameWorld.collectCoin();
+        coin.scheduleForRemoval();
+        gameWorld.scheduleBodyForRemoval(coin.getBody());
+    }
 
-    @Override
-    public void beginContact(Contact contact) {
-        Fixture fixA = contact.getFixtureA();
-        Fixture fixB = contact.getFixtureB();
+    private void keyTouched(Fixture keyFixture) {
+        if (gameWorld.keyBody == null || keyFixture.getBody() != gameWorld.keyBody) return;
+        Log.info(Log.Category.CONTACT, "Player picked up the key!");
+        gameWorld.playerHasKey = true;
+        gameWorld.getEvents().keyPickedUp();
+        gameWorld.scheduleBodyForRemoval(gameWorld.keyBody);
+        gameWorld.keyBody = null;
+    }
 
-        // Player - Projectile Collision
-        Projectile projectile = null;
-        Fixture playerContactFixture = null; // The fixture of the player that made contact
+    private void doorReached(GameWorld.DoorData door, Fixture doorFixture) {
+        if (player == null || player.isDead()) return;
 
-        if (isProjectileFixture(fixA) && (isPlayerFixture(fixB) || isPlayerFeetFixture(fixB))) {
-            projectile = (Projectile) fixA.getUserData();
-            playerContactFixture = fixB;
-        } else if (isProjectileFixture(fixB) && (isPlayerFixture(fixA) || isPlayerFeetFixture(fixA))) {
-            projectile = (Projectile) fixB.getUserData();
-            playerContactFixture = fixA;
-        }
+        Log.debug(Log.Category.DOOR, "Player at door. Door locked: {}, player has key: {}, door fixture is sensor: {}",
+            door.isLocked, gameWorld.playerHasKey, doorFixture.isSensor());
 
-        if (projectile != null && playerContactFixture != null) {
-            if (player != null && !player.isDead() && !projectile.isScheduledForRemoval()) {
-                // Check for player immune
-                if (player.getInvulnerabilityTimer() > 0) {
-                    Gdx.app.log("CONTACT", "Player invulnerable, projectile hit ignored by player.");
-                } else {
-                    Gdx.app.log("CONTACT", "Player (" + playerContactFixture.getUserData() + ") hit by projectile.");
-                    player.takeDamage(PROJECTILE_DAMAGE, projectile.getBody());
-                    projectile.scheduleForRemoval(); // mark projectile for removal
-                }
-                contact.setEnabled(false);
-            } else if (projectile.isScheduledForRemoval()) {
-                // If projectile is already marked for removal
-                contact.setEnabled(false);
-            } else if (player != null && player.isDead() && !projectile.isScheduledForRemoval()) {
-                contact.setEnabled(false); // prevent interaction with dead player's body
+        if (doorFixture.isSensor()) {
+            Log.debug(Log.Category.DOOR, "Player contacting SENSOR door. Transitioning.");
+            if (!door.isOpen) {
+                door.open();
             }
+            loadNextLevel(door.nextLevelAsset);
+        } else if (door.isLocked) {
+            if (gameWorld.playerHasKey) {
+                Log.info(Log.Category.DOOR, "Player has key for SOLID/LOCKED door. Unlocking.");
+                door.unlock();
+                gameWorld.updateNavBlocking(); // paths through the door open up
+
+                gameWorld.scheduleFixtureToMakeSensor(doorFixture);
+                Log.debug(Log.Category.DOOR, "Door fixture on body for DoorData ({}) scheduled to become SENSOR.",
+                    door.nextLevelAsset);
+            } else {
+                Log.debug(Log.Category.DOOR, "Player at SOLID/LOCKED door, NO KEY. Player bumps.");
+            }
+        } else if (!door.isOpen) { // an open solid door was unlocked this step and becomes a sensor next
+            Log.error(Log.Category.DOOR,
+                "Door fixture is SOLID, but DoorData.isLocked is FALSE. Scheduling to become sensor.");
+            door.open();
+            gameWorld.scheduleFixtureToMakeSensor(doorFixture);
         }
+    }
 
-        // player - ground
-        if ((isPlayerFeetFixture(fixA) && isGroundFixture(fixB)) ||
-            (isPlayerFeetFixture(fixB) && isGroundFixture(fixA))) {
+    private void loadNextLevel(String levelAsset) {
+        Log.info(Log.Category.DOOR, "Loading next level: {}", levelAsset);
+        gameWorld.getEvents().levelExited(levelAsset);
+    }
+
+    // player feet - ground
+    private class FootGroundHandler implements CollisionHandler {
+        @Override
+        public void beginContact(Contact contact, Fixture feet, Fixture ground) {
             footContacts++;
             playerIsOnGround = true;
         }
 
-        // player - coin
-        Fixture coinBodyFixture = null;
-
-        if ((isPlayerFixture(fixA) || isPlayerFeetFixture(fixA)) && isCoinFixture(fixB)) {
-            playerContactFixture = fixA;
-            coinBodyFixture = fixB;
-        } else if ((isPlayerFixture(fixB) || isPlayerFeetFixture(fixB)) && isCoinFixture(fixA)) {
-            playerContactFixture = fixB;
-            coinBodyFixture = fixA;
+        @Override
+        public void endContact(Contact contact, Fixture feet, Fixture ground) {
+            if (footContacts > 0) {
+                footContacts--;
+            }
+            if (footContacts == 0) {
+                playerIsOnGround = false;
+            }
         }
+    }
 
-        if (playerContactFixture != null && coinBodyFixture != null) {
-            Object coinBodyUserData = coinBodyFixture.getBody().getUserData();
-            if (coinBodyUserData instanceof Coin) {
-                Coin contactedCoin = (Coin) coinBodyUserData;
-                if (!contactedCoin.isScheduledForRemoval()) {
-                    Gdx.app.log("CONTACT", "Player touched an animated coin!");
-                    gameScreen.collectCoin();
-                    // coin sound
-                    if (gameScreen != null) gameScreen.playCoinPickupSound();
-                    contactedCoin.scheduleForRemoval();
-                    gameScreen.scheduleBodyForRemoval(contactedCoin.getBody());
+    // player - projectile
+    private class PlayerProjectileHandler implements CollisionHandler {
+        @Override
+        public void beginContact(Contact contact, Fixture playerFixture, Fixture projectileFixture) {
+            Projectile projectile = (Projectile) projectileFixture.getBody().getUserData();
+            if (player != null && !player.isDead() && !projectile.isScheduledForRemoval()) {
+                // Check for player immune
+                if (player.getInvulnerabilityTimer() > 0) {
+                    Log.debug(Log.Category.CONTACT, "Player invulnerable, projectile hit ignored by player.");
+                } else {
+                    Log.debug(Log.Category.CONTACT, "Player ({}) hit by projectile.", playerFixture.getUserData());
+                    player.takeDamage(PROJECTILE_DAMAGE, projectile.getBody());
+                    projectile.scheduleForRemoval(); // mark projectile for removal
                 }
+                contact.setEnabled(false);
             } else {
-                Gdx.app.error("CoinContact", "Coin fixture detected, but body UserData is not a Coin object: " + coinBodyUserData);
-                if (coinBodyFixture.getBody().getUserData() != null && "coin_body".equals(coinBodyFixture.getBody().getUserData().toString())) {
-                    Gdx.app.log("CONTACT", "Player touched a legacy coin_body!");
-                    gameScreen.collectCoin();
-                    gameScreen.scheduleBodyForRemoval(coinBodyFixture.getBody());
-                }
+                // already used up, or the player is dead
+                contact.setEnabled(false);
             }
         }
 
-        // player - key
-        if (checkContact(fixA, fixB, "player", "key") || checkContact(fixA, fixB, "playerFeet", "key")) {
-            Fixture keyFixture = getFixtureByUserData(fixA, fixB, "key");
-            if (keyFixture != null && keyFixture.getBody() == gameScreen.keyBody) {
-                Gdx.app.log("CONTACT", "Player picked up the key!");
-                gameScreen.playerHasKey = true;
-                if (gameScreen != null) gameScreen.playKeyPickupSound();
-                if (gameScreen.keyBody != null) {
-                    gameScreen.scheduleBodyForRemoval(gameScreen.keyBody);
-                    gameScreen.keyBody = null;
-                }
+        @Override
+        public void preSolve(Contact contact, Fixture playerFixture, Fixture projectileFixture) {
+            Projectile projectile = (Projectile) projectileFixture.getBody().getUserData();
+            if (projectile.isScheduledForRemoval()) {
+                contact.setEnabled(false);
             }
         }
+    }
 
-        //player - door
-        Object userDataBodyA = fixA.getBody().getUserData();
-        Object userDataBodyB = fixB.getBody().getUserData();
-        GameScreen.DoorData contactedDoor = null;
-        Fixture playerFixture = null;
-        Fixture doorContactedFixture = null;
-
-        if (userDataBodyA instanceof GameScreen.DoorData) {
-            contactedDoor = (GameScreen.DoorData) userDataBodyA;
-            doorContactedFixture = fixA;
-            playerFixture = fixB;
-            if (contactedDoor.body != fixA.getBody()) {
-                Gdx.app.error("DOOR_ASSERTION_FAIL", "DoorData on bodyA, but contactedDoor.body != fixA.getBody()");
-            }
-        } else if (userDataBodyB instanceof GameScreen.DoorData) {
-            contactedDoor = (GameScreen.DoorData) userDataBodyB;
-            doorContactedFixture = fixB;
-            playerFixture = fixA;
-            if (contactedDoor.body != fixB.getBody()) {
-                Gdx.app.error("DOOR_ASSERTION_FAIL", "DoorData on bodyB, but contactedDoor.body != fixB.getBody()");
+    // projectile - ground
+    private class ProjectileGroundHandler implements CollisionHandler {
+        @Override
+        public void preSolve(Contact contact, Fixture projectileFixture, Fixture ground) {
+            Projectile projectile = (Projectile) projectileFixture.getBody().getUserData();
+            if (!projectile.isScheduledForRemoval()) {
+                projectile.scheduleForRemoval();
             }
+            contact.setEnabled(false);
         }
+    }
 
-        // is other object a player?
-        if (contactedDoor != null && playerFixture != null &&
-            !(isPlayerFixture(playerFixture) || isPlayerFeetFixture(playerFixture))) {
-            Gdx.app.log("DOOR_CONTACT_DEBUG", "Door contact detected, but other fixture is not player. Other fixture UserData: " + (playerFixture.getUserData() != null ? playerFixture.getUserData().toString() : "null"));
-            contactedDoor = null;
-            doorContactedFixture = null;
-        }
-
-
-        if (contactedDoor != null && player != null && !player.isDead() && doorContactedFixture != null) {
-            Gdx.app.log("CONTACT_DOOR", "Player at door. Door Locked: " + contactedDoor.isLocked +
-                ", Player HasKey: " + gameScreen.playerHasKey +
-                ", Door Fixture IsSensor (at beginContact): " + doorContactedFixture.isSensor());
-
-            if (doorContactedFixture.isSensor()) {
-                Gdx.app.log("DOOR_PATH", "Path A: Door is SENSOR.");
-                Gdx.app.log("DOOR_INTERACTION", "Player contacting SENSOR door. Transitioning.");
-                if (!contactedDoor.isOpen) {
-                    contactedDoor.isOpen = true;
-                }
-                loadNextLevel(contactedDoor.nextLevelAsset);
-            } else {
-                Gdx.app.log("DOOR_PATH", "Path B: Door is SOLID.");
-                if (contactedDoor.isLocked) {
-                    Gdx.app.log("DOOR_PATH", "Path B1: Door is SOLID and LOCKED.");
-                    if (gameScreen.playerHasKey) {
-                        Gdx.app.log("DOOR_PATH", "Path B1a: Door is SOLID, LOCKED, and PLAYER HAS KEY.");
-                        Gdx.app.log("DOOR_INTERACTION", "Player has key for SOLID/LOCKED door. Unlocking.");
-                        contactedDoor.isLocked = false;
-                        contactedDoor.isOpen = true;
-
-                        gameScreen.scheduleFixtureToMakeSensor(doorContactedFixture);
-                        Gdx.app.log("DOOR_PHYSICS", "Door fixture on body for DoorData (" + contactedDoor.nextLevelAsset +
-                            ") scheduled to become SENSOR.");
-                    } else {
-                        Gdx.app.log("DOOR_PATH", "Path B1b: Door is SOLID, LOCKED, but PLAYER NO KEY.");
-                        Gdx.app.log("DOOR_INTERACTION", "Player at SOLID/LOCKED door, NO KEY. Player bumps.");
-                    }
-                } else {
-                    Gdx.app.log("DOOR_PATH", "Path B2: Door is SOLID but NOT LOCKED (isLocked=false).");
-                    Gdx.app.error("DOOR_LOGIC_ERROR", "Door fixture is SOLID, but DoorData.isLocked is FALSE. Scheduling to become sensor.");
-                    if (!contactedDoor.isOpen) contactedDoor.isOpen = true;
-                    gameScreen.scheduleFixtureToMakeSensor(doorContactedFixture);
-                }
-            }
+    // projectile - anything else
+    private class ProjectileHandler implements CollisionHandler {
+        @Override
+        public void preSolve(Contact contact, Fixture projectileFixture, Fixture other) {
+            Projectile projectile = (Projectile) projectileFixture.getBody().getUserData();
+            if (projectile.isScheduledForRemoval()) {
+                contact.setEnabled(false);
             }
-
-        // player - enemy
-        Fixture playerSensorForEnemy = null;
-        Fixture playerMainForEnemy = null;
-        Fixture enemyBodyFixture = null;
-
-        if (isEnemyFixture(fixA)) {
-            enemyBodyFixture = fixA;
-            if (isPlayerFeetFixture(fixB)) playerSensorForEnemy = fixB;
-            if (isPlayerFixture(fixB)) playerMainForEnemy = fixB;
-        } else if (isEnemyFixture(fixB)) {
-            enemyBodyFixture = fixB;
-            if (isPlayerFeetFixture(fixA)) playerSensorForEnemy = fixA;
-            if (isPlayerFixture(fixA)) playerMainForEnemy = fixA;
         }
+    }
 
-        if (enemyBodyFixture != null && player != null && !player.isDead()) {
-            Object enemyUserData = enemyBodyFixture.getBody().getUserData();
-            if (enemyUserData instanceof Enemy) {
-                Enemy enemy = (Enemy) enemyUserData;
-
-                if (enemy.isStomped() || enemy.isScheduledForRemoval()) {
-                    if (playerSensorForEnemy != null || playerMainForEnemy != null) {
-                        contact.setEnabled(false);
-                    }
-                    return;
-                }
-
-                // player immune check for enemy contact
-                if (player.getInvulnerabilityTimer() > 0) {
-                    Gdx.app.log("CONTACT", "Player invulnerable to enemy, contact ignored.");
-                    contact.setEnabled(false); // disable contact if player is immune
-                    return;
-                }
-
-                // jump on enemy
-                if (playerSensorForEnemy != null) {
-                    float playerVelocityY = player.getBody().getLinearVelocity().y;
-                    float feetSensorOffsetY = -Player.FRAME_HEIGHT / 2f / Player.PPM - (3 / Player.PPM);
-                    float playerFeetActualY = player.getBody().getPosition().y + feetSensorOffsetY;
-                    float enemyTopY = enemy.getBody().getPosition().y + (enemy.getVisualHeight() / 2f / GameScreen.PPM * 0.7f);
-
-                    // check if player is fallin and is above the enemy's main body
-                    if (playerVelocityY < -0.1f && playerFeetActualY > enemyTopY - (enemy.getVisualHeight() / 2f / GameScreen.PPM * 0.3f)) {
-                        Gdx.app.log("STOMP_SUCCESS", "Player stomped enemy!");
-                        enemy.onStomped();
-                        player.getBody().setLinearVelocity(player.getBody().getLinearVelocity().x, 4.0f); // bounce
-                        contact.setEnabled(false); // disable next interaction in this contact
-                        return;
-                    }
-                }
-
-                // if regular contact => damage to player
-                if (playerMainForEnemy != null || playerSensorForEnemy != null) {
-                    Gdx.app.log("CONTACT", "Player normal collision with enemy.");
-                    player.takeDamage(ENEMY_DAMAGE, enemy.getBody());
-                }
+    // player - coin
+    private class PlayerCoinHandler implements CollisionHandler {
+        @Override
+        public void beginContact(Contact contact, Fixture playerFixture, Fixture coinFixture) {
+            Object coinBodyUserData = coinFixture.getBody().getUserData();
+            if (!(coinBodyUserData instanceof Coin)) {
+                Log.error(Log.Category.CONTACT, "Coin fixture detected, but body UserData is not a Coin object: {}",
+                    coinBodyUserData);
+                return;
             }
+            contacts.publish(ContactEventQueue.Type.COIN_TOUCHED, coinBodyUserData, coinFixture);
         }
-    }
 
-    private boolean checkContact(Fixture a, Fixture b, String userDataA, String userDataB) {
-        return (a.getUserData() != null && a.getUserData().equals(userDataA) && b.getUserData() != null && b.getUserData().equals(userDataB)) ||
-            (a.getUserData() != null && a.getUserData().equals(userDataB) && b.getUserData() != null && b.getUserData().equals(userDataA));
-    }
-
-    private Fixture getFixtureByUserData(Fixture a, Fixture b, String userDataToFind) {
-        if (a.getUserData() != null && a.getUserData().equals(userDataToFind)) return a;
-        if (b.getUserData() != null && b.getUserData().equals(userDataToFind)) return b;
-        return null;
-    }
-
-    private void loadNextLevel(String levelAsset) {
-        Gdx.app.log("LEVEL_TRANSITION", "Loading next level: " + levelAsset);
-        if ("main_menu".equals(levelAsset)) {
-            gameScreen.game.setScreen(new MainMenuScreen(gameScreen.game));
-        } else if (levelAsset.endsWith(".tmx")) {
-            Gdx.app.log("LEVEL_TRANSITION", "Next level logic not fully implemented yet. Asset: " + levelAsset);
-            // back to main menu for now
-            gameScreen.game.setScreen(new MainMenuScreen(gameScreen.game));
+        @Override
+        public void preSolve(Contact contact, Fixture playerFixture, Fixture coinFixture) {
+            contact.setEnabled(false);
         }
     }
 
-    @Override
-    public void endContact(Contact contact) {
-        Fixture fixA = contact.getFixtureA();
-        Fixture fixB = contact.getFixtureB();
-
-        if ((isPlayerFeetFixture(fixA) && isGroundFixture(fixB)) ||
-            (isPlayerFeetFixture(fixB) && isGroundFixture(fixA))) {
-            if (footContacts > 0) {
-                footContacts--;
-            }
-            if (footContacts == 0) {
-                playerIsOnGround = false;
-            }
+    // player - key
+    private class PlayerKeyHandler implements CollisionHandler {
+        @Override
+        public void beginContact(Contact contact, Fixture playerFixture, Fixture keyFixture) {
+            contacts.publish(ContactEventQueue.Type.KEY_TOUCHED, keyFixture.getBody(), keyFixture);
         }
     }
 
-    @Override
-    public void preSolve(Contact contact, Manifold oldManifold) {
-        Fixture fixA = contact.getFixtureA();
-        Fixture fixB = contact.getFixtureB();
-
-        boolean playerIsA = isPlayerFixture(fixA);
-        boolean playerIsB = isPlayerFixture(fixB);
-
-        // Player-Coin
-        if (((isPlayerFixture(fixA) || isPlayerFeetFixture(fixA)) && isCoinFixture(fixB)) ||
-            ((isPlayerFixture(fixB) || isPlayerFeetFixture(fixB)) && isCoinFixture(fixA))) {
-            contact.setEnabled(false);
+    // player - door
+    private class PlayerDoorHandler implements CollisionHandler {
+        @Override
+        public void beginContact(Contact contact, Fixture playerFixture, Fixture doorFixture) {
+            contacts.publish(ContactEventQueue.Type.DOOR_REACHED, doorFixture.getBody().getUserData(), doorFixture);
         }
 
-        // Player-Enemy
-        Fixture pF_enemy = null;
-        Fixture eF_enemy = null;
-
-        if (isEnemyFixture(fixA)) { eF_enemy = fixA; pF_enemy = fixB; }
-        else if (isEnemyFixture(fixB)) { eF_enemy = fixB; pF_enemy = fixA; }
-
-        if (pF_enemy != null && eF_enemy != null && (isPlayerFixture(pF_enemy) || isPlayerFeetFixture(pF_enemy))) {
-            Object enemyData = eF_enemy.getBody().getUserData();
-            if (enemyData instanceof Enemy) {
-                Enemy enemy = (Enemy) enemyData;
-                if (enemy.isStomped() || enemy.isScheduledForRemoval()) {
-                    contact.setEnabled(false);
-                } else if (player != null && player.getInvulnerabilityTimer() > 0) {
-                    contact.setEnabled(false);
-                }
+        @Override
+        public void preSolve(Contact contact, Fixture playerFixture, Fixture doorFixture) {
+            GameWorld.DoorData door = (GameWorld.DoorData) doorFixture.getBody().getUserData();
+            if (doorFixture.isSensor() || (!door.isLocked && door.isOpen)) {
+                contact.setEnabled(false);
             }
         }
+    }
 
-        // projectile interactions in preSolve
-        Projectile projectileInstance = null;
+    // player - enemy
+    private class PlayerEnemyHandler implements CollisionHandler {
+        @Override
+        public void beginContact(Contact contact, Fixture playerFixture, Fixture enemyFixture) {
+            if (player == null || player.isDead()) return;
+            Enemy enemy = (Enemy) enemyFixture.getBody().getUserData();
 
-        if (isProjectileFixture(fixA)) {
-            projectileInstance = (Projectile) fixA.getUserData();
-        } else if (isProjectileFixture(fixB)) {
-            projectileInstance = (Projectile) fixB.getUserData();
-        }
-
-        if (projectileInstance != null) {
-            if (projectileInstance.isScheduledForRemoval()) {
+            if (enemy.isStomped() || enemy.isScheduledForRemoval()) {
                 contact.setEnabled(false);
                 return;
             }
 
-             Fixture other = (projectileInstance == fixA.getUserData()) ? fixB : fixA;
-             if (isGroundFixture(other)) {
-                projectileInstance.scheduleForRemoval();
-                contact.setEnabled(false);
-             }
-        }
-
-        Fixture doorFixtureInPreSolve = null;
-        GameScreen.DoorData doorDataForPreSolve = null;
-        Fixture otherFixtureInPreSolve = null;
-
-        Object bodyUserDataA_ps = fixA.getBody().getUserData();
-        Object bodyUserDataB_ps = fixB.getBody().getUserData();
-
-        if (bodyUserDataA_ps instanceof GameScreen.DoorData) {
-            doorDataForPreSolve = (GameScreen.DoorData) bodyUserDataA_ps;
-            if (doorDataForPreSolve.body == fixA.getBody()) {
-                doorFixtureInPreSolve = fixA;
-                otherFixtureInPreSolve = fixB;
-            }
-        } else if (bodyUserDataB_ps instanceof GameScreen.DoorData) {
-            doorDataForPreSolve = (GameScreen.DoorData) bodyUserDataB_ps;
-            if (doorDataForPreSolve.body == fixB.getBody()) {
-                doorFixtureInPreSolve = fixB;
-                otherFixtureInPreSolve = fixA;
+            // player immune check for enemy contact
+            if (player.getInvulnerabilityTimer() > 0) {
+                Log.debug(Log.Category.CONTACT, "Player invulnerable to enemy, contact ignored.");
+                contact.setEnabled(false); // disable contact if player is immune
+                return;
             }
-        }
 
-        if (doorDataForPreSolve != null && doorFixtureInPreSolve != null && otherFixtureInPreSolve != null) {
-            boolean otherIsPlayer = isPlayerFixture(otherFixtureInPreSolve) || isPlayerFeetFixture(otherFixtureInPreSolve);
-
-            if (otherIsPlayer) {
-                if (doorFixtureInPreSolve.isSensor() || (!doorDataForPreSolve.isLocked && doorDataForPreSolve.isOpen)) {
-                    contact.setEnabled(false);
+            // jump on enemy
+            if (FixtureTag.of(playerFixture) == FixtureTag.PLAYER_FEET) {
+                float playerVelocityY = player.getBody().getLinearVelocity().y;
+                float feetSensorOffsetY = -Player.FRAME_HEIGHT / 2f / Player.PPM - (3 / Player.PPM);
+                float playerFeetActualY = player.getBody().getPosition().y + feetSensorOffsetY;
+                float enemyTopY = enemy.getBody().getPosition().y + (enemy.getVisualHeight() / 2f / GameScreen.PPM * 0.7f);
+
+                // check if player is fallin and is above the enemy's main body
+                if (playerVelocityY < -0.1f && playerFeetActualY > enemyTopY - (enemy.getVisualHeight() / 2f / GameScreen.PPM * 0.3f)) {
+                    Log.debug(Log.Category.CONTACT, "Player stomped enemy!");
+                    enemy.onStomped();
+                    player.getBody().setLinearVelocity(player.getBody().getLinearVelocity().x, 4.0f); // bounce
+                    contact.setEnabled(false); // disable next interaction in this contact
+                    return;
                 }
             }
-        }
 
-        if (((playerIsA || (fixA.getUserData() != null && fixA.getUserData().equals("playerFeet"))) && isSurfaceType(fixB, "coin_fixture")) ||
-            ((playerIsB || (fixB.getUserData() != null && fixB.getUserData().equals("playerFeet"))) && isSurfaceType(fixA, "coin_fixture"))) {
-            contact.setEnabled(false);
+            // if regular contact => damage to player
+            Log.debug(Log.Category.CONTACT, "Player normal collision with enemy.");
+            player.takeDamage(ENEMY_DAMAGE, enemy.getBody());
         }
 
-    }
-
-    @Override
-    public void postSolve(Contact contact, ContactImpulse impulse) {}
-
-    public boolean isPlayerOnGround() {
-        return playerIsOnGround;
+        @Override
+        public void preSolve(Contact contact, Fixture playerFixture, Fixture enemyFixture) {
+            Enemy enemy = (Enemy) enemyFixture.getBody().getUserData();
+            if (enemy.isStomped() || enemy.isScheduledForRemoval()) {
+                contact.setEnabled(false);
+            } else if (player != null && player.getInvulnerabilityTimer() > 0) {
+                contact.setEnabled(false);
+            }
+        }
     }
 }
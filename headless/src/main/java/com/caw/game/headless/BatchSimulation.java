@@ -0,0 +1,214 @@
+package com.caw.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.caw.game.BotInput;
+import com.caw.game.EntitySprites;
+import com.caw.game.GameEvents;
+import com.caw.game.GameScreen;
+import com.caw.game.GameWorld;
+import com.caw.game.LevelData;
+import com.caw.game.LevelLoader;
+import com.caw.game.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays a level many times at once for balance checks and physics regression runs. Every run is its own
+ * {@link GameWorld}, so its own Box2D world, contact listener and level state, driven by a random-walk
+ * {@link BotInput} with the run's seed; runs are spread over a fixed thread pool. A run ends when the bot
+ * leaves the level through a door or after maxSteps; deaths restart the level and are counted.
+ * <p>
+ * Given several thread counts, the same runs are played once per count and the speedup over the first count
+ * is reported. Outcomes only depend on the seeds, so the checksum of the final state hashes has to be the
+ * same for every count; if it is not, worlds are leaking state into each other and the batch exits with 1.
+ */
+public class BatchSimulation extends ApplicationAdapter {
+    private static final float STEP = 1f / GameScreen.DEFAULT_PHYSICS_HZ;
+    private static final long BASE_SEED = 1L;
+
+    private final String levelAsset;
+    private final int runs;
+    private final int[] threadCounts;
+    private final long maxSteps;
+
+    public BatchSimulation(String levelAsset, int runs, int[] threadCounts, long maxSteps) {
+        this.levelAsset = levelAsset;
+        this.runs = runs;
+        this.threadCounts = threadCounts;
+        this.maxSteps = maxSteps;
+    }
+
+    /** 1, 2, 4, ... up to and including the number of available cores. */
+    public static int[] scalingThreadCounts() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] counts = new int[32];
+        int size = 0;
+        for (int threads = 1; threads < cores; threads *= 2) counts[size++] = threads;
+        counts[size++] = cores;
+        return Arrays.copyOf(counts, size);
+    }
+
+    @Override
+    public void create() {
+        if (!Boolean.getBoolean("caw.headlessLog")) Log.setLevel(Log.ERROR);
+        Box2D.init();
+
+        // GameWorld only reads the level data, so every run shares one copy
+        LevelData level = LevelLoader.load(levelAsset);
+        System.out.println(String.format(Locale.ROOT, "%s: %d runs of up to %d steps (%.0f s), %d cores",
+            levelAsset, runs, maxSteps, maxSteps * STEP, Runtime.getRuntime().availableProcessors()));
+
+        double baselineStepsPerSecond = 0;
+        long baselineChecksum = 0;
+        boolean consistent = true;
+        for (int i = 0; i < threadCounts.length; i++) {
+            Batch batch = runBatch(level, threadCounts[i]);
+            if (i == 0) {
+                baselineStepsPerSecond = batch.stepsPerSecond();
+                baselineChecksum = batch.checksum;
+            }
+            double speedup = batch.stepsPerSecond() / baselineStepsPerSecond;
+            double efficiency = speedup * threadCounts[0] / batch.threads;
+            System.out.println(String.format(Locale.ROOT,
+                "threads %2d: %.2f s, %.0f steps/s (%.0f per thread), speedup %.2fx, efficiency %.0f%%",
+                batch.threads, batch.nanos / 1e9, batch.stepsPerSecond(), batch.stepsPerSecond() / batch.threads,
+                speedup, efficiency * 100));
+            if (i == 0) printOutcomes(batch);
+            if (batch.checksum != baselineChecksum) {
+                System.out.println(String.format(Locale.ROOT,
+                    "  checksum %016x differs from %016x with %d threads, runs are not independent",
+                    batch.checksum, baselineChecksum, threadCounts[0]));
+                consistent = false;
+            }
+        }
+
+        if (!consistent) {
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+
+    private Batch runBatch(final LevelData level, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Run>> futures = new ArrayList<>(runs);
+        Batch batch = new Batch(threads);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < runs; i++) {
+                final long seed = BASE_SEED + i;
+                futures.add(pool.submit(new Callable<Run>() {
+                    @Override
+                    public Run call() {
+                        return play(level, seed);
+                    }
+                }));
+            }
+            for (Future<Run> future : futures) batch.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Batch run failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        batch.nanos = System.nanoTime() - start;
+        return batch;
+    }
+
+    /** One run on the calling thread; the world is created, stepped and disposed there. */
+    private Run play(LevelData level, long seed) {
+        final Run run = new Run();
+        GameWorld world = new GameWorld(levelAsset, level, EntitySprites.NONE, new GameEvents() {
+            @Override
+            public void playerDied() {
+                run.deaths++;
+            }
+
+            @Override
+            public void levelExited(String nextLevelAsset) {
+                run.completed = true;
+            }
+        }, seed);
+        BotInput bot = new BotInput(world, seed);
+
+        while (!run.completed && world.getStepCount() < maxSteps) {
+            if (world.getPlayer().isDead()) world.restart();
+            world.handleInput(bot);
+            world.step(STEP);
+            world.dispatchEvents();
+        }
+        run.steps = world.getStepCount();
+        run.stateHash = world.stateHash();
+        world.dispose();
+        return run;
+    }
+
+    private void printOutcomes(Batch batch) {
+        float[] times = Arrays.copyOf(batch.completionSeconds, batch.completed);
+        Arrays.sort(times);
+        if (times.length > 0) {
+            System.out.println(String.format(Locale.ROOT,
+                "  completed %d/%d, time to exit avg %.1f s, p50 %.1f s, p90 %.1f s, best %.1f s",
+                batch.completed, runs, batch.completionSum / times.length, percentile(times, 0.5f),
+                percentile(times, 0.9f), times[0]));
+        } else {
+            System.out.println(String.format(Locale.ROOT, "  completed 0/%d", runs));
+        }
+        System.out.println(String.format(Locale.ROOT, "  deaths %d (%.2f per run), timed out %d, checksum %016x",
+            batch.deaths, batch.deaths / (double) runs, runs - batch.completed, batch.checksum));
+    }
+
+    private static float percentile(float[] sorted, float fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (fraction * sorted.length))];
+    }
+
+    private static final class Run {
+        int deaths;
+        boolean completed;
+        long steps;
+        long stateHash;
+    }
+
+    /** Totals over every run of one thread count; filled on the submitting thread in run order. */
+    private final class Batch {
+        final int threads;
+        final float[] completionSeconds = new float[runs];
+        int completed;
+        double completionSum;
+        long deaths;
+        long steps;
+        long checksum = 17;
+        long nanos;
+
+        Batch(int threads) {
+            this.threads = threads;
+        }
+
+        void add(Run run) {
+            deaths += run.deaths;
+            steps += run.steps;
+            checksum = checksum * 31 + run.stateHash;
+            if (run.completed) {
+                float seconds = run.steps * STEP;
+                completionSeconds[completed++] = seconds;
+                completionSum += seconds;
+            }
+        }
+
+        double stepsPerSecond() {
+            return steps / Math.max(1e-9, nanos / 1e9);
+        }
+    }
+}
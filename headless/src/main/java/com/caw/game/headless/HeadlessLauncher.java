@@ -0,0 +1,45 @@
+package com.caw.game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.caw.game.Log;
+
+/**
+ * Runs a level without a window or GL context, as fast as the CPU allows, and prints simulation steps per
+ * second. For build machines: benchmarking, fuzzing and gameplay regression runs.
+ * <pre>
+ * HeadlessLauncher [level.tmx] [steps]
+ * HeadlessLauncher --replay &lt;input log&gt; [runs]
+ * HeadlessLauncher --batch &lt;level.tmx&gt; [runs] [threads|scaling] [max steps per run]
+ * </pre>
+ * Without a thread count the batch is repeated for 1, 2, 4, ... threads up to the core count to report scaling.
+ * Input logs are recorded in the game with -Dcaw.record=&lt;file&gt;.
+ * -Dcaw.headlessLog=true keeps the game's info logging, which is otherwise turned down to errors; a crash dumps
+ * the last log messages (see {@link Log}).
+ */
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        Log.installCrashHandler();
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // no render loop, the simulation runs inside create()
+
+        if (args.length > 1 && "--replay".equals(args[0])) {
+            int runs = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            new HeadlessApplication(new ReplaySimulation(args[1], runs), config);
+            return;
+        }
+        if (args.length > 1 && "--batch".equals(args[0])) {
+            int runs = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+            int[] threads = args.length > 3 && !"scaling".equals(args[3])
+                ? new int[]{Integer.parseInt(args[3])}
+                : BatchSimulation.scalingThreadCounts();
+            long maxSteps = args.length > 4 ? Long.parseLong(args[4]) : 18_000L;
+            new HeadlessApplication(new BatchSimulation(args[1], runs, threads, maxSteps), config);
+            return;
+        }
+
+        String level = args.length > 0 ? args[0] : "assets/lvl1_final.tmx";
+        long steps = args.length > 1 ? Long.parseLong(args[1]) : 36_000L;
+        new HeadlessApplication(new HeadlessSimulation(level, steps), config);
+    }
+}
@@ -0,0 +1,83 @@
+package com.caw.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.caw.game.BotInput;
+import com.caw.game.EntitySprites;
+import com.caw.game.GameEvents;
+import com.caw.game.GameScreen;
+import com.caw.game.GameWorld;
+import com.caw.game.LevelData;
+import com.caw.game.LevelLoader;
+import com.caw.game.Log;
+
+import java.util.Locale;
+
+/**
+ * Steps a {@link GameWorld} for a fixed number of steps with a {@link BotInput}, restarting the level when
+ * the bot dies, then reports steps per second and the time each entity system took per step, and exits.
+ */
+public class HeadlessSimulation extends ApplicationAdapter {
+    private static final float STEP = 1f / GameScreen.DEFAULT_PHYSICS_HZ;
+
+    private final String levelAsset;
+    private final long steps;
+
+    private int deaths = 0;
+    private int shots = 0;
+    private int coins = 0;
+
+    public HeadlessSimulation(String levelAsset, long steps) {
+        this.levelAsset = levelAsset;
+        this.steps = steps;
+    }
+
+    @Override
+    public void create() {
+        if (!Boolean.getBoolean("caw.headlessLog")) Log.setLevel(Log.ERROR);
+        Box2D.init();
+
+        long loadStart = System.nanoTime();
+        LevelData level = LevelLoader.load(levelAsset);
+        GameWorld world = new GameWorld(levelAsset, level, EntitySprites.NONE, new GameEvents() {
+            @Override
+            public void playerDied() {
+                deaths++;
+            }
+
+            @Override
+            public void shotFired() {
+                shots++;
+            }
+
+            @Override
+            public void coinCollected(int score) {
+                coins++;
+            }
+        }, Long.getLong("caw.seed", 1L));
+        BotInput bot = new BotInput(world);
+        long loadNanos = System.nanoTime() - loadStart;
+
+        long start = System.nanoTime();
+        for (long i = 0; i < steps; i++) {
+            if (world.getPlayer().isDead()) world.restart();
+            world.handleInput(bot);
+            world.step(STEP);
+            world.dispatchEvents();
+        }
+        long nanos = System.nanoTime() - start;
+
+        double seconds = nanos / 1e9;
+        System.out.println(String.format(Locale.ROOT, "%s: %d steps (%.0f s of game time) in %.2f s, level load %.1f ms",
+            levelAsset, steps, steps * STEP, seconds, loadNanos / 1e6));
+        System.out.println(String.format(Locale.ROOT, "%.0f steps/s, %.1f us/step, %.0fx real time",
+            steps / seconds, nanos / 1e3 / steps, steps * STEP / seconds));
+        System.out.println(String.format(Locale.ROOT, "bodies %d, deaths %d, shots %d, coins %d",
+            world.getWorld().getBodyCount(), deaths, shots, coins));
+        System.out.println("systems " + world.systemTimesReport());
+
+        world.dispose();
+        Gdx.app.exit();
+    }
+}
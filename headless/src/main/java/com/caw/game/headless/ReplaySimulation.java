@@ -0,0 +1,64 @@
+package com.caw.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.caw.game.EntitySprites;
+import com.caw.game.GameEvents;
+import com.caw.game.GameWorld;
+import com.caw.game.InputReplay;
+import com.caw.game.LevelData;
+import com.caw.game.LevelLoader;
+import com.caw.game.Log;
+
+import java.util.Locale;
+
+/**
+ * Replays an input log at full speed, verifies the recorded state hashes and reports steps per second.
+ * With runs &gt; 1 the same log is played again in a fresh world each time, as a repeatable benchmark
+ * workload. Exits with status 1 on a hash mismatch.
+ */
+public class ReplaySimulation extends ApplicationAdapter {
+    private final String logPath;
+    private final int runs;
+
+    public ReplaySimulation(String logPath, int runs) {
+        this.logPath = logPath;
+        this.runs = runs;
+    }
+
+    @Override
+    public void create() {
+        if (!Boolean.getBoolean("caw.headlessLog")) Log.setLevel(Log.ERROR);
+        Box2D.init();
+
+        InputReplay replay = new InputReplay(Gdx.files.local(logPath));
+        LevelData level = LevelLoader.load(replay.getLevelAsset());
+        System.out.println(String.format(Locale.ROOT, "%s: level %s, seed %d, step %.4f s, hash every %d steps",
+            logPath, replay.getLevelAsset(), replay.getSeed(), replay.getPhysicsStep(), replay.getHashInterval()));
+
+        boolean matched = true;
+        for (int run = 1; run <= runs; run++) {
+            GameWorld world = new GameWorld(replay.getLevelAsset(), level, EntitySprites.NONE, new GameEvents() { },
+                replay.getSeed());
+            InputReplay.Result result = replay.play(world, false);
+            world.dispose();
+
+            double seconds = result.nanos / 1e9;
+            System.out.println(String.format(Locale.ROOT,
+                "run %d: %d frames, %d steps in %.3f s, %.0f steps/s, %d hashes checked, %s",
+                run, result.frames, result.steps, seconds, result.steps / Math.max(1e-9, seconds), result.hashesChecked,
+                result.matched() ? "state matches" : "MISMATCH at step " + result.firstMismatchStep));
+            if (!result.matched()) {
+                matched = false;
+                break;
+            }
+        }
+
+        if (!matched) {
+            // no Gdx.app.exit() here: exit() only ends the loop, the status code has to come from the JVM
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+}
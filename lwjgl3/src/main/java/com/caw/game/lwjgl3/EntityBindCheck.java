@@ -0,0 +1,112 @@
+package com.caw.game.lwjgl3;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.Array;
+import com.caw.game.Components;
+import com.caw.game.EntitySprites;
+import com.caw.game.GameEvents;
+import com.caw.game.GameScreen;
+import com.caw.game.GameStart;
+import com.caw.game.GameWorld;
+import com.caw.game.LevelData;
+import com.caw.game.LevelLoader;
+import com.caw.game.MainMenuScreen;
+
+import java.util.Locale;
+
+/**
+ * Draws every entity of a level in one entity pass and checks, with GLProfiler, that the pass binds at most
+ * a budget of textures: all sprites should come from the one atlas page. Exits with status 1 if any frame
+ * went over. Needs a window, hence lwjgl3.
+ * <pre>
+ * EntityBindCheck [budget] [frames]
+ * </pre>
+ */
+public class EntityBindCheck extends GameStart {
+    private final int budget;
+    private final int frames;
+    private GameWorld world;
+    private final Array<Entity> drawn = new Array<>();
+    private final OrthographicCamera camera = new OrthographicCamera();
+    private GLProfiler profiler;
+    private int measured = 0;
+    private int maxBindings = 0;
+    private int overBudgetFrames = 0;
+
+    public EntityBindCheck(int budget, int frames) {
+        this.budget = budget;
+        this.frames = frames;
+    }
+
+    public static void main(String[] args) {
+        int budget = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
+        configuration.setTitle("EntityBindCheck");
+        configuration.setWindowedMode(640, 480);
+        configuration.useVsync(false);
+        configuration.setForegroundFPS(0);
+        new Lwjgl3Application(new EntityBindCheck(budget, frames), configuration);
+    }
+
+    @Override
+    public void render() {
+        if (world == null) {
+            super.render();
+            // build the level once loading is done, instead of the menu
+            if (getScreen() instanceof MainMenuScreen) start();
+            return;
+        }
+
+        world.step(1f / GameScreen.DEFAULT_PHYSICS_HZ);
+        world.dispatchEvents();
+        world.updateVisuals(Gdx.graphics.getDeltaTime());
+
+        Gdx.gl.glClearColor(0f, 0f, 0f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        profiler.reset();
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        world.getRenderSystem().draw(batch, 1f, drawn);
+        batch.end();
+
+        int bindings = profiler.getTextureBindings();
+        maxBindings = Math.max(maxBindings, bindings);
+        if (bindings > budget) overBudgetFrames++;
+        if (++measured < frames) return;
+
+        System.out.println(String.format(Locale.ROOT,
+            "%d frames, %d entities, budget %d: texture bindings max %d, %d frames over budget",
+            measured, drawn.size, budget, maxBindings, overBudgetFrames));
+        world.dispose();
+        if (overBudgetFrames > 0) {
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+
+    private void start() {
+        setScreen(null);
+        Box2D.init();
+        LevelData level = LevelLoader.load(GameScreen.LEVEL_ASSET);
+        world = new GameWorld(GameScreen.LEVEL_ASSET, level, EntitySprites.from(assets), new GameEvents() { }, 1L);
+        ImmutableArray<Entity> entities = world.getEngine().getEntitiesFor(Components.DRAWN);
+        for (int i = 0; i < entities.size(); i++) drawn.add(entities.get(i));
+
+        // the whole level in view, so nothing is left out of the pass
+        float width = level.width * level.tileWidth;
+        float height = level.height * level.tileHeight;
+        camera.setToOrtho(false, width, height);
+        profiler = new GLProfiler(Gdx.graphics);
+        profiler.enable();
+    }
+}
@@ -0,0 +1,95 @@
+package com.caw.game.lwjgl3;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.caw.game.GameScreen;
+import com.caw.game.Hud;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Checks that a steady-state {@link Hud} frame allocates nothing, with a real SpriteBatch drawing to a window.
+ * Counts the bytes the render thread allocates over many frames with the player alive and then dead (game-over
+ * text up), after a few warm-up frames, minus what the measuring itself costs.
+ * Exits with status 1 if anything was allocated. Needs a window, hence lwjgl3.
+ */
+public class HudAllocationCheck extends ApplicationAdapter {
+    private static final int WARMUP_FRAMES = 100;
+    private static final int FRAMES = 5_000;
+
+    public static void main(String[] args) {
+        Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
+        configuration.setTitle("HudAllocationCheck");
+        configuration.setWindowedMode(640, 480);
+        configuration.useVsync(false);
+        configuration.setForegroundFPS(0);
+        new Lwjgl3Application(new HudAllocationCheck(), configuration);
+    }
+
+    @Override
+    public void create() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        BitmapFont scoreFont = new BitmapFont();
+        BitmapFont titleFont = new BitmapFont();
+        SpriteBatch batch = new SpriteBatch();
+        Pixmap pixel = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixel.setColor(1f, 1f, 1f, 1f);
+        pixel.fill();
+        Texture white = new Texture(pixel);
+        pixel.dispose();
+        OrthographicCamera camera = new OrthographicCamera();
+        camera.setToOrtho(false, GameScreen.WORLD_WIDTH_PIXELS, GameScreen.WORLD_HEIGHT_PIXELS);
+        Hud hud = new Hud(scoreFont, titleFont, null, new TextureRegion(white));
+        hud.setScore(1234);
+        hud.setHealth(60f, 100f);
+        hud.setHasKey(true);
+
+        // what asking for the counter costs, so it can be taken off the totals
+        long before = threads.getThreadAllocatedBytes(thread);
+        long overhead = threads.getThreadAllocatedBytes(thread) - before;
+
+        long alive = measure(threads, thread, hud, batch, camera) - overhead;
+        hud.setPlayerDead(true);
+        long dead = measure(threads, thread, hud, batch, camera) - overhead;
+
+        System.out.println(String.format(Locale.ROOT, "HUD, %d steady frames: %d bytes allocated alive, %d bytes dead",
+            FRAMES, alive, dead));
+
+        batch.dispose();
+        white.dispose();
+        scoreFont.dispose();
+        titleFont.dispose();
+        if (alive > 0 || dead > 0) {
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+
+    private static long measure(com.sun.management.ThreadMXBean threads, long thread, Hud hud, SpriteBatch batch,
+                                OrthographicCamera camera) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) frame(hud, batch, camera);
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < FRAMES; i++) frame(hud, batch, camera);
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+    private static void frame(Hud hud, SpriteBatch batch, OrthographicCamera camera) {
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        hud.draw(batch, camera, false);
+        batch.end();
+    }
+}
@@ -0,0 +1,116 @@
+package com.caw.game.lwjgl3;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.World;
+import com.caw.game.CollisionGeometryBuilder;
+import com.caw.game.CollisionLayers;
+import com.caw.game.FixtureTag;
+import com.caw.game.GameScreen;
+import com.caw.game.LevelData;
+import com.caw.game.LineOfSight;
+import com.caw.game.TmxLevelParser;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * 1,000 shooters checking line of sight to the player on a real map: the old per-shooter Box2D raycast
+ * (new callback and holder arrays per call, one box body per collision rect) against {@link LineOfSight}'s
+ * tile DDA, single and batched. Lives here rather than in core because it needs the Box2D natives.
+ * <pre>
+ * LineOfSightBench &lt;map.tmx&gt; [shooters]
+ * </pre>
+ */
+public class LineOfSightBench {
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 100;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: LineOfSightBench <map.tmx> [shooters]");
+            System.exit(1);
+        }
+        int shooters = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        LevelData level = TmxLevelParser.parse(new FileHandle(new File(args[0])));
+
+        Box2D.init();
+        World world = new World(new Vector2(0, -10f), true);
+        CollisionGeometryBuilder.build(world, level, CollisionGeometryBuilder.Mode.BOXES, new CollisionLayers(), GameScreen.PPM);
+        LineOfSight lineOfSight = new LineOfSight(level);
+
+        RandomXS128 random = new RandomXS128(7);
+        float[] origins = new float[shooters * 2];
+        Vector2[] originsMeters = new Vector2[shooters];
+        for (int i = 0; i < shooters; i++) {
+            origins[i * 2] = random.nextFloat() * level.getWidthPixels();
+            origins[i * 2 + 1] = random.nextFloat() * level.getHeightPixels();
+            originsMeters[i] = new Vector2(origins[i * 2] / GameScreen.PPM, origins[i * 2 + 1] / GameScreen.PPM);
+        }
+        float targetX = level.hasPlayerSpawn ? level.playerSpawnPixels.x : level.getWidthPixels() / 2f;
+        float targetY = level.hasPlayerSpawn ? level.playerSpawnPixels.y : level.getHeightPixels() / 2f;
+        Vector2 targetMeters = new Vector2(targetX / GameScreen.PPM, targetY / GameScreen.PPM);
+        boolean[] visible = new boolean[shooters];
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += runRaycast(world, originsMeters, targetMeters);
+            sink += runGrid(lineOfSight, origins, shooters, targetX, targetY);
+            sink += lineOfSight.canSeeBatch(origins, shooters, targetX, targetY, visible);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += runRaycast(world, originsMeters, targetMeters);
+        long raycastNanos = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += runGrid(lineOfSight, origins, shooters, targetX, targetY);
+        long gridNanos = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += lineOfSight.canSeeBatch(origins, shooters, targetX, targetY, visible);
+        long batchNanos = (System.nanoTime() - start) / ROUNDS;
+
+        System.out.println(String.format(Locale.ROOT, "%d shooters on %s, per frame:", shooters, args[0]));
+        System.out.println(String.format(Locale.ROOT, "%-8s %10.3f ms", "raycast", raycastNanos / 1e6));
+        System.out.println(String.format(Locale.ROOT, "%-8s %10.3f ms", "grid", gridNanos / 1e6));
+        System.out.println(String.format(Locale.ROOT, "%-8s %10.3f ms", "batch", batchNanos / 1e6));
+        System.out.println(String.format(Locale.ROOT, "speedup %.1fx (checksum %d)", raycastNanos / (double) Math.max(1, batchNanos), sink));
+        world.dispose();
+    }
+
+    private static int runGrid(LineOfSight lineOfSight, float[] origins, int count, float targetX, float targetY) {
+        int visible = 0;
+        for (int i = 0; i < count; i++) {
+            if (lineOfSight.isClear(origins[i * 2], origins[i * 2 + 1], targetX, targetY)) visible++;
+        }
+        return visible;
+    }
+
+    // what ShootingEnemy.hasLineOfSight used to do for every shooter
+    private static int runRaycast(World world, Vector2[] origins, Vector2 target) {
+        int visible = 0;
+        for (Vector2 origin : origins) {
+            final boolean[] hitGround = {false};
+            final Fixture[] hitFixture = {null};
+            RayCastCallback callback = new RayCastCallback() {
+                @Override
+                public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
+                    hitFixture[0] = fixture;
+                    if (FixtureTag.of(fixture) == FixtureTag.GROUND) {
+                        hitGround[0] = true;
+                        return 0;
+                    }
+                    return 1;
+                }
+            };
+            world.rayCast(callback, origin, target);
+            if (!hitGround[0]) visible++;
+        }
+        return visible;
+    }
+}
@@ -4,11 +4,13 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.caw.game.GameScreen;
 import com.caw.game.GameStart;
+import com.caw.game.Log;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
+        Log.installCrashHandler(); // a crash prints the last log messages first
         createApplication();
     }
 
@@ -28,6 +30,11 @@ public class Lwjgl3Launcher {
         //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
+        //// -Dcaw.uncappedFps=true does exactly that; physics keeps its own fixed rate (see -Dcaw.physicsHz).
+        if (Boolean.getBoolean("caw.uncappedFps")) {
+            configuration.useVsync(false);
+            configuration.setForegroundFPS(0);
+        }
 
         configuration.setWindowedMode(640, 480);
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
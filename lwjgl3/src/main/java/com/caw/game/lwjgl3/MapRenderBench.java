@@ -0,0 +1,132 @@
+package com.caw.game.lwjgl3;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.caw.game.Assets;
+import com.caw.game.ChunkedMapRenderer;
+import com.caw.game.GameScreen;
+import com.caw.game.LevelData;
+import com.caw.game.LevelLoader;
+
+import java.util.Locale;
+
+/**
+ * Tile layer rendering on a real map: OrthogonalTiledMapRenderer against {@link ChunkedMapRenderer}, with the
+ * game's camera panning across the whole level. Reports CPU time per frame (including glFinish, so the GPU
+ * work is counted too), draw calls and vertices from {@link GLProfiler}. Needs a window, hence lwjgl3.
+ * <pre>
+ * MapRenderBench &lt;level.tmx&gt; [frames]
+ * </pre>
+ */
+public class MapRenderBench extends ApplicationAdapter {
+    private static final int WARMUP_FRAMES = 200;
+
+    private final String levelAsset;
+    private final int frames;
+
+    public MapRenderBench(String levelAsset, int frames) {
+        this.levelAsset = levelAsset;
+        this.frames = frames;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: MapRenderBench <level.tmx> [frames]");
+            System.exit(1);
+        }
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
+        configuration.setTitle("MapRenderBench");
+        configuration.setWindowedMode(640, 480);
+        configuration.useVsync(false);
+        configuration.setForegroundFPS(0);
+        new Lwjgl3Application(new MapRenderBench(args[0], frames), configuration);
+    }
+
+    @Override
+    public void create() {
+        Assets assets = new Assets();
+        assets.queueAll();
+        while (!assets.update()) {
+            // block, the bench has nothing to show meanwhile
+        }
+        LevelData level = LevelLoader.load(levelAsset);
+        TiledMap map = LevelLoader.buildTiledMap(level, assets);
+
+        OrthographicCamera camera = new OrthographicCamera();
+        camera.setToOrtho(false, GameScreen.WORLD_WIDTH_PIXELS, GameScreen.WORLD_HEIGHT_PIXELS);
+        GLProfiler profiler = new GLProfiler(Gdx.graphics);
+        profiler.enable();
+
+        OrthogonalTiledMapRenderer tiledRenderer = new OrthogonalTiledMapRenderer(map, 1);
+        long bakeStart = System.nanoTime();
+        ChunkedMapRenderer chunkedRenderer = new ChunkedMapRenderer(map);
+        long bakeNanos = System.nanoTime() - bakeStart;
+
+        System.out.println(String.format(Locale.ROOT, "%s: %dx%d tiles, %d layers, %d frames at %.0fx%.0f",
+            levelAsset, level.width, level.height, level.tileLayers.size, frames,
+            camera.viewportWidth, camera.viewportHeight));
+        System.out.println(String.format(Locale.ROOT, "chunked: baked %d tiles in %.1f ms, skipped %d, %d layers dropped",
+            chunkedRenderer.getBakedTiles(), bakeNanos / 1e6, chunkedRenderer.getSkippedTiles(),
+            chunkedRenderer.getDroppedLayers()));
+        System.out.println(String.format(Locale.ROOT, "%-8s %10s %12s %12s", "renderer", "ms/frame", "calls/frame", "verts/frame"));
+
+        run("tiled", level, camera, profiler, tiledRenderer, null);
+        run("chunked", level, camera, profiler, null, chunkedRenderer);
+
+        tiledRenderer.dispose();
+        chunkedRenderer.dispose();
+        map.dispose();
+        assets.dispose();
+        Gdx.app.exit();
+    }
+
+    private void run(String name, LevelData level, OrthographicCamera camera, GLProfiler profiler,
+                     OrthogonalTiledMapRenderer tiledRenderer, ChunkedMapRenderer chunkedRenderer) {
+        long nanos = 0;
+        long calls = 0;
+        long vertices = 0;
+        for (int frame = 0; frame < WARMUP_FRAMES + frames; frame++) {
+            pan(camera, level, frame);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            Gdx.gl.glFinish();
+            profiler.reset();
+
+            long start = System.nanoTime();
+            if (tiledRenderer != null) {
+                tiledRenderer.setView(camera);
+                tiledRenderer.render();
+            } else {
+                chunkedRenderer.render(camera);
+            }
+            Gdx.gl.glFinish();
+            if (frame >= WARMUP_FRAMES) {
+                nanos += System.nanoTime() - start;
+                calls += profiler.getDrawCalls();
+                vertices += (long) profiler.getVertexCount().total;
+            }
+        }
+        System.out.println(String.format(Locale.ROOT, "%-8s %10.3f %12.1f %12.0f", name,
+            nanos / 1e6 / frames, calls / (double) frames, vertices / (double) frames));
+    }
+
+    /** Sweeps the camera left to right and back, at a height that changes every pass. */
+    private static void pan(OrthographicCamera camera, LevelData level, int frame) {
+        float halfWidth = camera.viewportWidth / 2f, halfHeight = camera.viewportHeight / 2f;
+        float rangeX = Math.max(0f, level.getWidthPixels() - camera.viewportWidth);
+        float rangeY = Math.max(0f, level.getHeightPixels() - camera.viewportHeight);
+        int sweep = 600;
+        float t = (frame % sweep) / (float) sweep;
+        float x = (frame / sweep) % 2 == 0 ? t : 1f - t;
+        float y = ((frame / sweep) * 0.37f) % 1f;
+        camera.position.set(halfWidth + rangeX * x, halfHeight + rangeY * y, 0f);
+        camera.update();
+    }
+}
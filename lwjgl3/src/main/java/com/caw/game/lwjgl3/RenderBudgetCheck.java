@@ -0,0 +1,75 @@
+package com.caw.game.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.caw.game.GameScreen;
+import com.caw.game.GameStart;
+import com.caw.game.MainMenuScreen;
+
+import java.util.Locale;
+
+/**
+ * Runs the real game straight into a level and checks that no frame goes over a draw-call budget (map, world,
+ * HUD and, when up, the pause menu). Reports the average and worst draw calls and batch flushes per frame.
+ * Exits with status 1 if any frame went over. Needs a window, hence lwjgl3.
+ * <pre>
+ * RenderBudgetCheck [budget] [frames]
+ * </pre>
+ */
+public class RenderBudgetCheck extends GameStart {
+    private final int frames;
+    private GameScreen gameScreen;
+    private int measured = 0;
+    private long drawCallSum = 0;
+    private long flushSum = 0;
+    private int maxDrawCalls = 0;
+    private int maxFlushes = 0;
+
+    public RenderBudgetCheck(int frames) {
+        this.frames = frames;
+    }
+
+    public static void main(String[] args) {
+        int budget = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        // read by GameScreen when it is first loaded, so this has to come before the game starts
+        System.setProperty("caw.drawCallBudget", Integer.toString(budget));
+
+        Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
+        configuration.setTitle("RenderBudgetCheck");
+        configuration.setWindowedMode(640, 480);
+        configuration.useVsync(false);
+        configuration.setForegroundFPS(0);
+        new Lwjgl3Application(new RenderBudgetCheck(frames), configuration);
+    }
+
+    @Override
+    public void render() {
+        super.render();
+        if (gameScreen == null) {
+            // skip the menu once loading is done
+            if (getScreen() instanceof MainMenuScreen) {
+                gameScreen = new GameScreen(this);
+                setScreen(gameScreen);
+            }
+            return;
+        }
+
+        measured++;
+        drawCallSum += gameScreen.getLastDrawCalls();
+        flushSum += gameScreen.getLastFlushes();
+        maxDrawCalls = Math.max(maxDrawCalls, gameScreen.getLastDrawCalls());
+        maxFlushes = Math.max(maxFlushes, gameScreen.getLastFlushes());
+        if (measured < frames) return;
+
+        System.out.println(String.format(Locale.ROOT,
+            "%d frames, budget %d: draw calls avg %.1f max %d, batch flushes avg %.1f max %d, %d frames over budget",
+            measured, GameScreen.DRAW_CALL_BUDGET, drawCallSum / (double) measured, maxDrawCalls,
+            flushSum / (double) measured, maxFlushes, gameScreen.getOverBudgetFrames()));
+        if (gameScreen.getOverBudgetFrames() > 0) {
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+}